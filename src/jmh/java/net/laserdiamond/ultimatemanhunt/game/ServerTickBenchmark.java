@@ -0,0 +1,230 @@
+package net.laserdiamond.ultimatemanhunt.game;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.laserdiamond.ultimatemanhunt.UMGame;
+import net.laserdiamond.ultimatemanhunt.capability.UMRoleIndex;
+import net.laserdiamond.ultimatemanhunt.network.packet.game.RemainingPlayerCountS2CPacket;
+import net.minecraft.network.FriendlyByteBuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the work done on the SERVER every tick for every player in a Manhunt game, run against a {@linkplain SyntheticRoster synthetic roster}.
+ * <p>Each benchmark is one whole server tick's worth of a hot path, so the scores read directly as tick cost. Where the hot path was rewritten,
+ * the old approach is kept next to it as a baseline. Run with "gradlew jmh", which also attaches the GC profiler to report the allocation rate.</p>
+ * <p>Player entities need a running server, so the roster's {@linkplain SyntheticRoster.StandIn stand-ins} are indexed and snapshotted in their place,
+ * through the same {@linkplain net.laserdiamond.ultimatemanhunt.capability.UMRoleIndex role index} and {@linkplain UMMatchSnapshot snapshot} code the game uses.
+ * The packets and sounds the per-player tick sends are not included; the load GameTests cover them.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServerTickBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int players;
+
+    /**
+     * The share of the players that are hunters
+     */
+    @Param({"0.25", "0.5"})
+    public double hunterShare;
+
+    /**
+     * How many dimensions the players are spread across
+     */
+    @Param({"1", "3"})
+    public int dimensions;
+
+    /**
+     * The width in blocks of the square the players start within
+     */
+    @Param({"2000"})
+    public double spread;
+
+    private SyntheticRoster roster;
+    private UMMatchSnapshot snapshot;
+    private ByteBuf buffer;
+    private long gameTime;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        this.roster = new SyntheticRoster(this.players, this.hunterShare, this.dimensions, this.spread, 42L);
+        this.buffer = Unpooled.buffer(16);
+        UMMatchScheduler.reset(0);
+        for (int runner : this.roster.runners)
+        {
+            // One grace period expiry per speed runner, spread across the next minute, as after a wave of deaths
+            UMMatchScheduler.scheduleIn(1 + runner % 1200, () -> {});
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        this.buffer.release();
+        UMMatchScheduler.reset(0);
+    }
+
+    @Setup(Level.Iteration)
+    public void move()
+    {
+        this.roster.step();
+        this.snapshot = this.roster.capture(this.gameTime);
+    }
+
+    /**
+     * Capturing the {@linkplain UMMatchSnapshot match snapshot} at the start of the tick, including the hunter grid and every speed runner's nearest hunter
+     */
+    @Benchmark
+    public UMMatchSnapshot matchSnapshotCapture()
+    {
+        return this.roster.capture(this.gameTime);
+    }
+
+    /**
+     * What {@linkplain UMGame#onPlayerServerTick(net.minecraftforge.event.TickEvent.PlayerTickEvent.Post) the per-player tick} reads for every player in the game:
+     * the speed runner's slot, whether it is hunted and detected and how close the nearest hunter is, and the speed runner each hunter's compass points at
+     */
+    @Benchmark
+    public void playerServerTick(Blackhole blackhole)
+    {
+        UMMatchSnapshot snapshot = this.snapshot;
+        SyntheticRoster.StandIn[] standIns = this.roster.standIns;
+        for (int i = 0; i < standIns.length; i++)
+        {
+            SyntheticRoster.StandIn standIn = standIns[i];
+            if (this.roster.hunter[i])
+            {
+                int hunter = snapshot.hunterIndexOf(standIn.slot);
+                int runner = snapshot.trackableRunner(hunter, standIn.tracking);
+                if (runner != -1)
+                {
+                    blackhole.consume(snapshot.distance(runner, hunter));
+                }
+                continue;
+            }
+            int runner = snapshot.runnerIndexOf(standIn.slot);
+            if (!snapshot.isRunnerHunted(runner))
+            {
+                continue;
+            }
+            int hunter = snapshot.getNearestHunter(runner);
+            if (hunter != -1)
+            {
+                blackhole.consume(snapshot.getNearestHunterDistance(runner));
+                blackhole.consume(snapshot.isRunnerDetected(runner));
+            }
+        }
+    }
+
+    /**
+     * Every hunter looking up the {@linkplain UMRoleIndex#getAvailableSpeedRunners(Object, Object, boolean) speed runners available} to track,
+     * as when each of them presses the tracking key in the same tick
+     */
+    @Benchmark
+    public void availableSpeedRunners(Blackhole blackhole)
+    {
+        SyntheticRoster roster = this.roster;
+        IntArrayList hunters = roster.hunters;
+        for (int i = 0; i < hunters.size(); i++)
+        {
+            int hunter = hunters.getInt(i);
+            List<SyntheticRoster.StandIn> available = roster.roles.getAvailableSpeedRunners(roster.standIns[hunter], roster.dimensionKeys[roster.dimension[hunter]], false);
+            blackhole.consume(available.size());
+        }
+    }
+
+    /**
+     * The nearest-hunter and detection check of every speed runner's tick, using the hunter grid the snapshot builds once per tick
+     */
+    @Benchmark
+    public void speedRunnerDetection(Blackhole blackhole)
+    {
+        SyntheticRoster roster = this.roster;
+        UMSpatialGrid hunterGrid = roster.hunterGrid();
+        IntArrayList runners = roster.runners;
+        for (int i = 0; i < runners.size(); i++)
+        {
+            int runner = runners.getInt(i);
+            int hunter = hunterGrid.nearest(roster.dimension[runner], roster.x[runner], roster.y[runner], roster.z[runner]);
+            if (hunter != -1)
+            {
+                blackhole.consume(roster.distance(runner, hunter) < UMGame.HUNTER_DETECTION_RANGE);
+            }
+        }
+    }
+
+    /**
+     * Baseline for {@link #speedRunnerDetection(Blackhole)}: every speed runner compares against every hunter, as before the snapshot
+     */
+    @Benchmark
+    public void speedRunnerDetectionLinear(Blackhole blackhole)
+    {
+        SyntheticRoster roster = this.roster;
+        IntArrayList runners = roster.runners, hunters = roster.hunters;
+        for (int i = 0; i < runners.size(); i++)
+        {
+            int runner = runners.getInt(i);
+            double nearest = Double.MAX_VALUE;
+            for (int j = 0; j < hunters.size(); j++)
+            {
+                int hunter = hunters.getInt(j);
+                if (roster.alive[hunter] && roster.dimension[hunter] == roster.dimension[runner])
+                {
+                    nearest = Math.min(nearest, roster.distance(runner, hunter));
+                }
+            }
+            blackhole.consume(nearest < UMGame.HUNTER_DETECTION_RANGE);
+        }
+    }
+
+    /**
+     * Counting the roles and encoding the {@linkplain RemainingPlayerCountS2CPacket remaining player count} sent to every client
+     */
+    @Benchmark
+    public void remainingPlayerCount(Blackhole blackhole)
+    {
+        FriendlyByteBuf buf = new FriendlyByteBuf(this.buffer.clear());
+        UMRoleIndex<SyntheticRoster.StandIn, ?> roles = this.roster.roles;
+        new RemainingPlayerCountS2CPacket(roles.get(UMRoleIndex.Category.SPEED_RUNNER).size(), roles.get(UMRoleIndex.Category.HUNTER).size()).toBytes(buf);
+        blackhole.consume(buf.writerIndex());
+    }
+
+    /**
+     * One tick of the {@linkplain UMMatchScheduler match scheduler} with a grace period pending for every speed runner
+     */
+    @Benchmark
+    public void matchScheduler()
+    {
+        UMMatchScheduler.advance(++this.gameTime);
+        if (this.gameTime % 1200 == 0) // Refill the wheel once every scheduled action has fired
+        {
+            for (int runner : this.roster.runners)
+            {
+                UMMatchScheduler.scheduleIn(1 + runner % 1200, () -> {});
+            }
+        }
+    }
+}
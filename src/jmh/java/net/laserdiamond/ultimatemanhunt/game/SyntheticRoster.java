@@ -0,0 +1,225 @@
+package net.laserdiamond.ultimatemanhunt.game;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.laserdiamond.ultimatemanhunt.capability.UMRoleIndex;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Lightweight stand-in for the online players and their {@linkplain net.laserdiamond.ultimatemanhunt.capability.UMPlayer capabilities} used by the benchmarks.
+ * <p>Holds only what the tick hot path reads: a role, a dimension, a position and an alive flag per player. Positions are kept in the same primitive
+ * array layout the {@linkplain UMMatchSnapshot match snapshot} uses, so the real {@linkplain UMSpatialGrid spatial grid} can be built from them.</p>
+ * <p>Every player also has a {@linkplain StandIn stand-in} object, indexed in a {@linkplain UMRoleIndex role index} the same way the role registry indexes players,
+ * and read into real {@linkplain UMMatchSnapshot match snapshots}.</p>
+ */
+final class SyntheticRoster {
+
+    /**
+     * Largest distance a stand-in player moves on an axis in one tick, roughly a sprint jump
+     */
+    private static final double MAX_STEP = 0.6;
+
+    final int size;
+    final int dimensionCount;
+    final double[] x, y, z;
+    final int[] dimension;
+    final boolean[] hunter, alive;
+    final IntArrayList runners, hunters;
+    final StandIn[] standIns;
+    final ResourceKey<Level>[] dimensionKeys;
+    final UMRoleIndex<StandIn, ResourceKey<Level>> roles = new UMRoleIndex<>();
+
+    private final SplittableRandom random;
+    private final UMSpatialGrid hunterGrid = new UMSpatialGrid();
+    private final boolean[] livingHunter;
+    private final UMMatchSnapshot.ParticipantReader<StandIn> reader = new UMMatchSnapshot.ParticipantReader<>()
+    {
+        @Override
+        public Player player(StandIn participant)
+        {
+            return null;
+        }
+
+        @Override
+        public int id(StandIn participant)
+        {
+            return participant.slot;
+        }
+
+        @Override
+        public UUID uuid(StandIn participant)
+        {
+            return participant.uuid;
+        }
+
+        @Override
+        public double x(StandIn participant)
+        {
+            return SyntheticRoster.this.x[participant.slot];
+        }
+
+        @Override
+        public double y(StandIn participant)
+        {
+            return SyntheticRoster.this.y[participant.slot];
+        }
+
+        @Override
+        public double z(StandIn participant)
+        {
+            return SyntheticRoster.this.z[participant.slot];
+        }
+
+        @Override
+        public ResourceKey<Level> dimension(StandIn participant)
+        {
+            return SyntheticRoster.this.dimensionKeys[SyntheticRoster.this.dimension[participant.slot]];
+        }
+
+        @Override
+        public boolean isAlive(StandIn participant)
+        {
+            return SyntheticRoster.this.alive[participant.slot];
+        }
+
+        @Override
+        public long graceExpiry(StandIn participant)
+        {
+            return 0;
+        }
+
+        @Override
+        public boolean wasLastKilledByHunter(StandIn participant)
+        {
+            return false;
+        }
+    };
+
+    /**
+     * @param size The number of players
+     * @param hunterShare The share of the players that are hunters, between 0 and 1. Everyone else is a speed runner.
+     * @param dimensionCount How many dimensions the players are spread across
+     * @param spread The width in blocks of the square every player starts within
+     * @param seed Seed of the random positions, so every run sees the same match
+     */
+    @SuppressWarnings("unchecked")
+    SyntheticRoster(int size, double hunterShare, int dimensionCount, double spread, long seed)
+    {
+        this.size = size;
+        this.dimensionCount = dimensionCount;
+        this.x = new double[size];
+        this.y = new double[size];
+        this.z = new double[size];
+        this.dimension = new int[size];
+        this.hunter = new boolean[size];
+        this.alive = new boolean[size];
+        this.livingHunter = new boolean[size];
+        this.runners = new IntArrayList();
+        this.hunters = new IntArrayList();
+        this.random = new SplittableRandom(seed);
+        this.standIns = new StandIn[size];
+        this.dimensionKeys = new ResourceKey[dimensionCount];
+        for (int dim = 0; dim < dimensionCount; dim++)
+        {
+            this.dimensionKeys[dim] = ResourceKey.create(Registries.DIMENSION, ResourceLocation.fromNamespaceAndPath("benchmark", "dimension_" + dim));
+        }
+
+        int hunterCount = (int) Math.round(size * hunterShare);
+        for (int i = 0; i < size; i++)
+        {
+            this.x[i] = (this.random.nextDouble() - 0.5) * spread;
+            this.y[i] = 64 + this.random.nextDouble() * 16;
+            this.z[i] = (this.random.nextDouble() - 0.5) * spread;
+            this.dimension[i] = i % dimensionCount;
+            this.alive[i] = true;
+            this.standIns[i] = new StandIn(i, new UUID(seed, i));
+            if (i < hunterCount)
+            {
+                this.hunter[i] = true;
+                this.hunters.add(i);
+            } else
+            {
+                this.runners.add(i);
+            }
+            this.roles.add(this.standIns[i], this.hunter[i] ? UMRoleIndex.Category.HUNTER : UMRoleIndex.Category.SPEED_RUNNER, this.dimensionKeys[this.dimension[i]]);
+        }
+        for (int i = 0; i < this.hunters.size() && !this.runners.isEmpty(); i++)
+        {
+            // Hunters spread their compasses over the speed runners, as after a few presses of the tracking key
+            this.standIns[this.hunters.getInt(i)].tracking = this.standIns[this.runners.getInt(i % this.runners.size())].uuid;
+        }
+    }
+
+    /**
+     * Moves every player a small random step, as a tick of play would
+     */
+    void step()
+    {
+        for (int i = 0; i < this.size; i++)
+        {
+            this.x[i] += (this.random.nextDouble() * 2 - 1) * MAX_STEP;
+            this.z[i] += (this.random.nextDouble() * 2 - 1) * MAX_STEP;
+        }
+    }
+
+    /**
+     * @return The grid of the living hunters, rebuilt the same way the match snapshot rebuilds it every tick
+     */
+    UMSpatialGrid hunterGrid()
+    {
+        for (int i = 0; i < this.size; i++)
+        {
+            this.livingHunter[i] = this.hunter[i] && this.alive[i];
+        }
+        this.hunterGrid.rebuild(this.dimensionCount, this.x, this.y, this.z, this.dimension, this.livingHunter);
+        return this.hunterGrid;
+    }
+
+    /**
+     * Captures a real {@linkplain UMMatchSnapshot match snapshot} of the stand-ins, from the role index the same way the game captures one from the role registry
+     * @param gameTime The game time to capture the snapshot at
+     * @return The snapshot
+     */
+    UMMatchSnapshot capture(long gameTime)
+    {
+        return new UMMatchSnapshot(gameTime, false, this.roles.get(UMRoleIndex.Category.SPEED_RUNNER), this.roles.get(UMRoleIndex.Category.HUNTER), this.reader);
+    }
+
+    double distance(int a, int b)
+    {
+        double dx = this.x[a] - this.x[b];
+        double dy = this.y[a] - this.y[b];
+        double dz = this.z[a] - this.z[b];
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Stands in for one player entity and its Manhunt player data
+     */
+    static final class StandIn
+    {
+        /**
+         * Index of the player in the roster's arrays. Also used as its entity id
+         */
+        final int slot;
+        final UUID uuid;
+
+        /**
+         * UUID of the speed runner a hunter is tracking
+         */
+        UUID tracking;
+
+        private StandIn(int slot, UUID uuid)
+        {
+            this.slot = slot;
+            this.uuid = uuid;
+            this.tracking = uuid;
+        }
+    }
+}
@@ -1,34 +1,47 @@
 package net.laserdiamond.ultimatemanhunt;
 
 import net.laserdiamond.ultimatemanhunt.api.event.HuntersReleasedEvent;
+import net.laserdiamond.ultimatemanhunt.api.event.RoleTransitionCompleteEvent;
 import net.laserdiamond.ultimatemanhunt.api.event.UltimateManhuntGameStateEvent;
 import net.laserdiamond.ultimatemanhunt.capability.UMPlayer;
 import net.laserdiamond.ultimatemanhunt.capability.UMPlayerCapability;
+import net.laserdiamond.ultimatemanhunt.capability.UMRoleRegistry;
+import net.laserdiamond.ultimatemanhunt.game.UMAttackPolicy;
+import net.laserdiamond.ultimatemanhunt.game.UMGameSettings;
+import net.laserdiamond.ultimatemanhunt.game.UMMatchJournal;
+import net.laserdiamond.ultimatemanhunt.game.UMMatchScheduler;
+import net.laserdiamond.ultimatemanhunt.game.UMMatchSnapshot;
+import net.laserdiamond.ultimatemanhunt.game.UMRoleTransition;
+import net.laserdiamond.ultimatemanhunt.game.UMSpawnResolver;
 import net.laserdiamond.ultimatemanhunt.item.UMItems;
 import net.laserdiamond.ultimatemanhunt.network.UMPackets;
+import net.laserdiamond.ultimatemanhunt.network.UMTrackingStream;
 import net.laserdiamond.ultimatemanhunt.network.packet.game.GameStateS2CPacket;
 import net.laserdiamond.ultimatemanhunt.network.packet.game.GameTimeS2CPacket;
-import net.laserdiamond.ultimatemanhunt.network.packet.game.HardcoreUpdateS2CPacket;
-import net.laserdiamond.ultimatemanhunt.network.packet.hunter.HunterGracePeriodDurationS2CPacket;
-import net.laserdiamond.ultimatemanhunt.network.packet.hunter.TrackingSpeedRunnerS2CPacket;
+import net.laserdiamond.ultimatemanhunt.network.packet.game.GameSettingsS2CPacket;
+import net.laserdiamond.ultimatemanhunt.network.packet.game.RemainingPlayerCountS2CPacket;
 import net.laserdiamond.ultimatemanhunt.network.packet.speedrunner.SpeedRunnerDistanceFromHunterS2CPacket;
-import net.laserdiamond.ultimatemanhunt.network.packet.speedrunner.SpeedRunnerGracePeriodDurationS2CPacket;
-import net.laserdiamond.ultimatemanhunt.sound.UMSoundEvents;
+import net.laserdiamond.ultimatemanhunt.perf.UMPerf;
+import net.laserdiamond.ultimatemanhunt.sound.UMDetectionSound;
+import net.laserdiamond.ultimatemanhunt.sound.UMHeartbeat;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.nbt.Tag;
 import net.minecraft.network.chat.Component;
-import net.minecraft.network.protocol.game.ClientboundSoundPacket;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.ServerTickRateManager;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.GameType;
 import net.minecraft.world.level.Level;
 import net.minecraftforge.common.MinecraftForge;
-import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.LogicalSide;
 import net.minecraftforge.fml.common.Mod;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
@@ -46,14 +59,14 @@ public class UMGame {
     private static State currentGameState = State.NOT_STARTED;
 
     /**
-     * The time in ticks that speed runners have a head start before hunters are released
+     * The {@linkplain UMGameSettings settings} of the Manhunt game. Replaced as a whole whenever a setting changes, so it can be read from any thread.
      */
-    private static int hunterGracePeriodTicks = 1800; // 90 seconds
+    private static volatile UMGameSettings settings = UMGameSettings.DEFAULT;
 
     /**
-     * The time in ticks that speed runners cannot be harmed by a hunter after being killed by a hunter
+     * The {@linkplain UMAttackPolicy attack policy} of the current {@linkplain #settings settings}. Rebuilt whenever the settings are published
      */
-    private static int speedRunnerGracePeriodTicks = 600; // 30 seconds
+    private static volatile UMAttackPolicy attackPolicy = UMAttackPolicy.of(UMGameSettings.DEFAULT);
 
     /**
      * The x spawn coordinate of the Manhunt
@@ -66,52 +79,163 @@ public class UMGame {
     private static int zSpawnCoordinate = 0;
 
     /**
-     * Friendly fire
+     * A {@link Set} of player UUIDs for the people currently in an iteration of the game
      */
-    private static boolean friendlyFire = true; // Determines if speed runners can attack other speed runners, and if hunters can attack other hunters
+    private static final Set<UUID> LOGGED_PLAYER_UUIDS = new HashSet<>();
 
     /**
-     * Determines if speed runners lose a life if they die from a cause unrelated to a hunter
+     * @return The current {@linkplain State game state} of the Manhunt game
      */
-    private static boolean hardcore = false; // Determines if a speed runner loses a life if they die at all
+    public static State getCurrentGameState()
+    {
+        return currentGameState;
+    }
+
+    private static long currentGameTime = 0;
 
     /**
-     * Determines if the {@linkplain UMItems#WIND_TORCH Wind Torch} item is enabled
+     * How often, in ticks, the clients' game clocks are corrected while the game is running
      */
-    private static boolean windTorchEnabled = true; // Determines if the Wind Torch is enabled
+    private static final int GAME_TIME_SYNC_INTERVAL = 100; // 5 seconds
 
     /**
-     * The role the {@linkplain Player player} will be assigned when first joining the game
+     * The tick rate and freeze state of the server when the game time was last sent, used to resync clients after {@code /tick} commands
      */
-    private static PlayerRole newPlayerRole = PlayerRole.SPECTATOR;
+    private static float lastSyncedTickRate = -1;
+    private static boolean lastSyncedRunsNormally = true;
+    private static boolean lastSyncedSprinting = false;
 
     /**
-     * The role the {@linkplain Player player} will be assigned after losing all their lives as a speed runner
+     * Resets the current game time for the Manhunt
      */
-    private static PlayerRole deadSpeedRunnerRole = PlayerRole.HUNTER;
+    public static void resetGameTime()
+    {
+        currentGameTime = 0;
+        UMMatchScheduler.reset(0); // Scheduled actions belong to the previous game
+        UMMatchJournal.recordGameTime(0);
+        syncGameTime();
+    }
 
     /**
-     * A {@link Set} of player UUIDs for the people currently in an iteration of the game
+     * How often, in ticks, buffed hunters regenerate health
      */
-    private static final Set<UUID> LOGGED_PLAYER_UUIDS = new HashSet<>();
+    private static final int BUFFED_HUNTER_REGEN_INTERVAL = 200;
+
+    private static UMMatchScheduler.Task huntersReleaseTask;
 
     /**
-     * @return The current {@linkplain State game state} of the Manhunt game
+     * Why the game ends at the start of the next server tick, or null if no end has been requested
      */
-    public static State getCurrentGameState()
+    @Nullable
+    private static UltimateManhuntGameStateEvent.End.Reason pendingEndReason;
+
+    /**
+     * Schedules the timed events of a new game on the {@linkplain UMMatchScheduler match scheduler}. Called once the game has started.
+     */
+    public static void scheduleMatchEvents()
     {
-        return currentGameState;
+        scheduleHuntersRelease();
+        scheduleBuffedHunterRegen(BUFFED_HUNTER_REGEN_INTERVAL);
     }
 
-    private static long currentGameTime = 0;
+    /**
+     * Schedules the timed events of a game restored from disk on the {@linkplain UMMatchScheduler match scheduler}, picking up from the current game time.
+     * Events that already happened before the game was saved are not repeated.
+     */
+    public static void rescheduleMatchEvents()
+    {
+        UMMatchScheduler.reset(currentGameTime);
+        huntersReleaseTask = null;
+        pendingEndReason = null;
+        if (currentGameTime < settings.hunterGracePeriodTicks())
+        {
+            scheduleHuntersRelease();
+        }
+        scheduleBuffedHunterRegen((currentGameTime / BUFFED_HUNTER_REGEN_INTERVAL + 1) * BUFFED_HUNTER_REGEN_INTERVAL);
+    }
+
+    private static void scheduleBuffedHunterRegen(long firstGameTime)
+    {
+        UMMatchScheduler.scheduleRepeating(firstGameTime, BUFFED_HUNTER_REGEN_INTERVAL, () ->
+        {
+            for (Player hunter : UMPlayer.getHunters(true))
+            {
+                hunter.setHealth(hunter.getHealth() + 2);
+            }
+        });
+    }
+
+    private static void scheduleHuntersRelease()
+    {
+        if (huntersReleaseTask != null)
+        {
+            huntersReleaseTask.cancel();
+        }
+        huntersReleaseTask = UMMatchScheduler.schedule(settings.hunterGracePeriodTicks(), () -> MinecraftForge.EVENT_BUS.post(new HuntersReleasedEvent())); // Posted once, when the grace period ends
+    }
 
     /**
-     * Resets the current game time for the Manhunt
+     * Schedules the speed runner's grace period to end. Once it ends, the speed runner's grace period data is cleared and synced once.
+     * @param player The {@linkplain Player player} that is a speed runner
+     * @param gracePeriodTimeStamp The game time the grace period ends at
      */
-    public static void resetGameTime()
+    public static void scheduleSpeedRunnerGracePeriodEnd(Player player, long gracePeriodTimeStamp)
     {
-        currentGameTime = 0;
-        UMPackets.sendToAllClients(new GameTimeS2CPacket(0));
+        MinecraftServer server = player.getServer();
+        if (server == null)
+        {
+            return;
+        }
+        UUID uuid = player.getUUID();
+        UMMatchScheduler.schedule(gracePeriodTimeStamp, () ->
+        {
+            Player speedRunner = server.getPlayerList().getPlayer(uuid); // The player may have respawned since
+            if (speedRunner == null)
+            {
+                return;
+            }
+            speedRunner.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(umPlayer ->
+            {
+                if (umPlayer.getGracePeriodTimeStamp() != gracePeriodTimeStamp)
+                {
+                    return; // Grace period was replaced by a newer one
+                }
+                umPlayer.setWasLastKilledByHunter(false)
+                        .setGracePeriodTimeStamp(0)
+                        .sendUpdateFromServerToSelf(speedRunner);
+            });
+        });
+    }
+
+    /**
+     * Ends the game at the start of the next server tick. Any further requests made before then are ignored, so the game only ends once,
+     * even if several players meet an end condition in the same tick.
+     * The end runs on the server tick rather than the game time, so it is not held back while the game is paused or the server is frozen.
+     * @param reason The {@linkplain UltimateManhuntGameStateEvent.End.Reason reason} the game ended
+     */
+    public static void requestGameEnd(UltimateManhuntGameStateEvent.End.Reason reason)
+    {
+        if (pendingEndReason != null)
+        {
+            return; // Already ending
+        }
+        pendingEndReason = reason;
+    }
+
+    /**
+     * Sends the current game time to all clients so their game clocks are anchored to the server's
+     */
+    public static void syncGameTime()
+    {
+        UMPackets.sendToAllClients(createGameTimePacket());
+    }
+
+    /**
+     * @return A {@linkplain GameTimeS2CPacket packet} anchoring a client's game clock to the current game time
+     */
+    public static GameTimeS2CPacket createGameTimePacket()
+    {
+        return new GameTimeS2CPacket(currentGameTime, State.isGameRunning() && !UMRoleTransition.isInProgress()); // The clock stands still while players are being placed
     }
 
     /**
@@ -123,11 +247,11 @@ public class UMGame {
     }
 
     /**
-     * @return True if the {@linkplain #currentGameTime} is still less than the {@linkplain #hunterGracePeriodTicks hunter grace period time stamp}
+     * @return True if the {@linkplain #currentGameTime} is still less than the {@linkplain UMGameSettings#hunterGracePeriodTicks() hunter grace period time stamp}
      */
     public static boolean areHuntersOnGracePeriod()
     {
-        return currentGameTime < hunterGracePeriodTicks;
+        return currentGameTime < settings.hunterGracePeriodTicks();
     }
 
     /**
@@ -144,6 +268,7 @@ public class UMGame {
     public static void wipeLoggedPlayerUUIDs()
     {
         LOGGED_PLAYER_UUIDS.clear();
+        UMMatchJournal.recordLoggedPlayersWiped();
     }
 
     /**
@@ -152,7 +277,10 @@ public class UMGame {
      */
     public static void logPlayerUUID(Player player)
     {
-        LOGGED_PLAYER_UUIDS.add(player.getUUID());
+        if (LOGGED_PLAYER_UUIDS.add(player.getUUID()))
+        {
+            UMMatchJournal.recordLoggedPlayer(player.getUUID());
+        }
     }
 
     /**
@@ -165,6 +293,44 @@ public class UMGame {
         return LOGGED_PLAYER_UUIDS.contains(player.getUUID());
     }
 
+    /**
+     * @return The {@linkplain UMGameSettings settings} of the Manhunt game currently in effect
+     */
+    public static UMGameSettings getSettings()
+    {
+        return settings;
+    }
+
+    /**
+     * @return The {@linkplain UMAttackPolicy attack policy} of the settings currently in effect
+     */
+    public static UMAttackPolicy getAttackPolicy()
+    {
+        return attackPolicy;
+    }
+
+    /**
+     * Puts the {@linkplain UMGameSettings settings} into effect, replacing all the current settings at once, and sends them to all clients
+     * @param newSettings The new {@linkplain UMGameSettings settings}
+     */
+    public static void publishSettings(@NotNull UMGameSettings newSettings)
+    {
+        UMGameSettings oldSettings = settings;
+        if (oldSettings.equals(newSettings))
+        {
+            return;
+        }
+        settings = newSettings;
+        attackPolicy = UMAttackPolicy.of(newSettings);
+        UMMatchJournal.recordSettings();
+        UMPackets.sendToAllClients(new GameSettingsS2CPacket(newSettings));
+        if (oldSettings.hunterGracePeriodTicks() != newSettings.hunterGracePeriodTicks()
+                && State.hasGameBeenStarted() && huntersReleaseTask != null && huntersReleaseTask.isPending() && currentGameTime < newSettings.hunterGracePeriodTicks())
+        {
+            scheduleHuntersRelease(); // Hunters have not been released yet. Move the release to the new time
+        }
+    }
+
     /**
      * Sets the grace period for hunters at the start of the game
      * @param durationTicks The duration in ticks of the grace period.
@@ -176,8 +342,7 @@ public class UMGame {
         {
             return;
         }
-        UMGame.hunterGracePeriodTicks = durationTicks;
-        UMPackets.sendToAllClients(new HunterGracePeriodDurationS2CPacket(durationTicks));
+        publishSettings(settings.withHunterGracePeriodTicks(durationTicks));
     }
 
     /**
@@ -186,7 +351,7 @@ public class UMGame {
      */
     public static int getHunterGracePeriod()
     {
-        return UMGame.hunterGracePeriodTicks;
+        return settings.hunterGracePeriodTicks();
     }
 
     /**
@@ -200,8 +365,7 @@ public class UMGame {
         {
             return;
         }
-        UMGame.speedRunnerGracePeriodTicks = durationTicks;
-        UMPackets.sendToAllClients(new SpeedRunnerGracePeriodDurationS2CPacket(durationTicks));
+        publishSettings(settings.withSpeedRunnerGracePeriodTicks(durationTicks));
     }
 
     /**
@@ -210,7 +374,7 @@ public class UMGame {
      */
     public static int getSpeedRunnerGracePeriod()
     {
-        return UMGame.speedRunnerGracePeriodTicks;
+        return settings.speedRunnerGracePeriodTicks();
     }
 
     /**
@@ -219,7 +383,7 @@ public class UMGame {
      */
     public static void setFriendlyFire(boolean friendlyFire)
     {
-        UMGame.friendlyFire = friendlyFire;
+        publishSettings(settings.withFriendlyFire(friendlyFire));
     }
 
     /**
@@ -228,7 +392,7 @@ public class UMGame {
      */
     public static boolean isFriendlyFire()
     {
-        return UMGame.friendlyFire;
+        return settings.friendlyFire();
     }
 
     /**
@@ -238,8 +402,7 @@ public class UMGame {
      */
     public static void setHardcore(boolean hardcore)
     {
-        UMGame.hardcore = hardcore;
-        UMPackets.sendToAllClients(new HardcoreUpdateS2CPacket(hardcore));
+        publishSettings(settings.withHardcore(hardcore));
     }
 
     /**
@@ -248,7 +411,7 @@ public class UMGame {
      */
     public static boolean isHardcore()
     {
-        return UMGame.hardcore;
+        return settings.hardcore();
     }
 
     /**
@@ -260,6 +423,8 @@ public class UMGame {
     {
         xSpawnCoordinate = x;
         zSpawnCoordinate = z;
+        UMSpawnResolver.invalidate(); // Resolve the new spawn position the next time it is needed
+        UMMatchJournal.recordSettings();
     }
 
     public static int getXSpawnCoordinate()
@@ -278,22 +443,22 @@ public class UMGame {
      */
     public static void setWindTorchEnabled(boolean enabled)
     {
-        windTorchEnabled = enabled;
+        publishSettings(settings.withWindTorchEnabled(enabled));
     }
 
     public static boolean isWindTorchEnabled()
     {
-        return windTorchEnabled;
+        return settings.windTorchEnabled();
     }
 
     public static void setNewPlayerRole(@NotNull PlayerRole playerRole)
     {
-        newPlayerRole = playerRole;
+        publishSettings(settings.withNewPlayerRole(playerRole));
     }
 
     public static PlayerRole getNewPlayerRole()
     {
-        return newPlayerRole;
+        return settings.newPlayerRole();
     }
 
     public static boolean setDeadSpeedRunnerRole(@NotNull PlayerRole playerRole)
@@ -302,13 +467,13 @@ public class UMGame {
         {
             return false; // Cannot set dead speed runner players to be speed runners again
         }
-        deadSpeedRunnerRole = playerRole;
+        publishSettings(settings.withDeadSpeedRunnerRole(playerRole));
         return true;
     }
 
     public static PlayerRole getDeadSpeedRunnerRole()
     {
-        return deadSpeedRunnerRole;
+        return settings.deadSpeedRunnerRole();
     }
 
     public static void sendMessageToAllPlayers(MinecraftServer minecraftServer, Component component)
@@ -316,216 +481,206 @@ public class UMGame {
         minecraftServer.getPlayerList().getPlayers().forEach(serverPlayer -> serverPlayer.sendSystemMessage(component));
     }
 
+    @SubscribeEvent
+    public static void onRoleTransitionComplete(RoleTransitionCompleteEvent event)
+    {
+        if (!State.isGameRunning())
+        {
+            return;
+        }
+        syncGameTime(); // Every player has been placed. Start the clients' game clocks from where the game time stood still
+        if (event.getGameState() == State.STARTED)
+        {
+            UMPackets.sendToAllClients(new RemainingPlayerCountS2CPacket()); // Every player has been given their role by now
+        }
+    }
+
     @SubscribeEvent
     public static void onServerTickPre(TickEvent.ServerTickEvent.Pre event)
     {
-        if (State.isGameRunning())
+        UMPerf.begin(UMPerf.Handler.SERVER_TICK);
+        try
+        {
+            tickServer(event.getServer());
+        } finally
+        {
+            UMPerf.end(UMPerf.Handler.SERVER_TICK);
+        }
+    }
+
+    private static void tickServer(MinecraftServer server)
+    {
+        if (pendingEndReason != null) // Was an end condition met last tick?
+        {
+            UltimateManhuntGameStateEvent.End.Reason reason = pendingEndReason;
+            pendingEndReason = null;
+            if (State.hasGameBeenStarted())
+            {
+                MinecraftForge.EVENT_BUS.post(new UltimateManhuntGameStateEvent.End(reason));
+            }
+        }
+        ServerTickRateManager tickRateManager = server.tickRateManager();
+        boolean runsNormally = tickRateManager.runsNormally();
+        if (State.isGameRunning() && runsNormally && !UMRoleTransition.isInProgress()) // Game time does not advance while the server is frozen by /tick freeze, or while players are still being placed
         {
             currentGameTime++; // Increment the current game time for as long as the game is running
-            UMPackets.sendToAllClients(new GameTimeS2CPacket(currentGameTime)); // Send current time to all client
+            UMMatchScheduler.advance(currentGameTime); // Run the timed events of the match that are due this tick
+            if (currentGameTime % UMMatchJournal.GAME_TIME_RECORD_INTERVAL == 0)
+            {
+                UMMatchJournal.recordGameTime(currentGameTime);
+            }
+            if (currentGameTime % GAME_TIME_SYNC_INTERVAL == 0) // Clients run their own clocks. Only correct the drift every so often
+            {
+                syncGameTime();
+            }
+        }
+        if (tickRateManager.tickrate() != lastSyncedTickRate || runsNormally != lastSyncedRunsNormally || tickRateManager.isSprinting() != lastSyncedSprinting) // Has the tick rate been changed with /tick?
+        {
+            lastSyncedTickRate = tickRateManager.tickrate();
+            lastSyncedRunsNormally = runsNormally;
+            lastSyncedSprinting = tickRateManager.isSprinting();
+            syncGameTime();
+        }
+        if (State.hasGameBeenStarted())
+        {
+            UMMatchSnapshot.capture(currentGameTime); // Take one picture of all speed runners and hunters for every handler to read this tick
+        } else
+        {
+            UMMatchSnapshot.clear(); // No game. Handlers read an empty snapshot
         }
     }
 
     @SubscribeEvent
     public static void onPlayerServerTick(TickEvent.PlayerTickEvent.Post event)
     {
-        Player player = event.player;
-
         if (event.side == LogicalSide.CLIENT)
         {
             return;
         }
+        UMPerf.begin(UMPerf.Handler.PLAYER_TICK);
+        try
+        {
+            tickPlayer(event.player);
+        } finally
+        {
+            UMPerf.end(UMPerf.Handler.PLAYER_TICK);
+        }
+    }
 
+    private static void tickPlayer(Player player)
+    {
         Level level = player.level();
         if (level.isClientSide)
         {
             return;
         }
 
-        if (currentGameTime == hunterGracePeriodTicks) // Has the grace period just ended?
+        if (UMRoleTransition.isPending(player))
         {
-            MinecraftForge.EVENT_BUS.post(new HuntersReleasedEvent()); // Post release event
+            stopDetectionSounds(player);
+            if (player instanceof ServerPlayer serverPlayer)
+            {
+                UMRoleTransition.holdInPlace(serverPlayer); // Frozen until the role transition reaches them
+            }
+            return;
         }
-
-        player.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(umPlayer ->
+        UMPlayer umPlayer = UMRoleRegistry.getUMPlayer(player);
+        if (umPlayer == null)
+        {
+            return;
+        }
+        if (!umPlayer.isSpeedRunner() || !State.isGameRunning())
         {
-            if (umPlayer.isSpectator())
+            stopDetectionSounds(player); // Only speed runners in a running game hear hunters coming. Silences a paused game, or a speed runner that changed roles
+        }
+        if (umPlayer.isSpectator())
+        {
+            if (player instanceof ServerPlayer serverPlayer)
             {
-                if (player instanceof ServerPlayer serverPlayer)
-                {
-                    serverPlayer.setGameMode(GameType.SPECTATOR);
-                }
-            } else if (umPlayer.isHunter())
+                serverPlayer.setGameMode(GameType.SPECTATOR);
+            }
+        } else if (umPlayer.isSpeedRunner())
+        {
+            if (State.isGameRunning())
+            {
+                tickSpeedRunner(player, UMMatchSnapshot.get());
+            }
+        } else if (umPlayer.isHunter())
+        {
+            if (State.isGameRunning())
             {
-                if (State.isGameRunning())
+                player.getFoodData().eat(200, 1.0F); // Buffed hunter regeneration is scheduled on the match scheduler
+                if (currentGameTime < settings.hunterGracePeriodTicks())
                 {
-                    player.getFoodData().eat(200, 1.0F);
-
-                    if (umPlayer.isBuffedHunter())
-                    {
-                        if (player.tickCount % 200 == 0)
-                        {
-                            player.setHealth(player.getHealth() + 2);
-
-                        }
-                    }
-                    if (currentGameTime < hunterGracePeriodTicks)
-                    {
-                        player.teleportTo(xSpawnCoordinate, 1000, zSpawnCoordinate); // Hunters should be teleported to an unreachable place
-                        return;
-                    }
-                    // Track chosen player
-                    List<Player> speedRunners = UMPlayer.getAvailableSpeedRunners(player);
-                    if (speedRunners.isEmpty())
-                    {
-                        TrackingSpeedRunnerS2CPacket.sendNonTracking(player);
-                        return;
-                    }
-                    for (Player speedRunnerPlayer : speedRunners)
-                    {
-                        if (UMPlayer.isSpeedRunnerOnGracePeriodServer(player))
-                        {
-                            continue; // Speed runner is on grace period. Go to next iteration
-                        }
-                        if (!player.isAlive()) // Is the hunter dead?
-                        {
-                            SpeedRunnerDistanceFromHunterS2CPacket.sendNotNearHunterPlayer(speedRunnerPlayer); // Hunter is dead
-                            continue; // Skip to next iteration. Shouldn't notify player if hunter is dead
-                        }
-                        float distance = player.distanceTo(speedRunnerPlayer);
-                        UMPackets.sendToPlayer(new SpeedRunnerDistanceFromHunterS2CPacket(distance), speedRunnerPlayer);
-
-                        if (distance < HUNTER_DETECTION_RANGE) // Is the nearby player close enough to the hunter to be notified?
-                        {
-                            if (speedRunnerPlayer instanceof ServerPlayer nearServerPlayer)
-                            {
-                                if (speedRunnerPlayer.isAlive()) // Is the player alive?
-                                {
-                                    int rate = (int) ((distance / 12.5) + 6); // Rate ranges from 6 (closest) to 10 (furthest)
-                                    if (speedRunnerPlayer.tickCount % rate == 0) // ~180 bpm
-                                    {
-                                        nearServerPlayer.connection.send(new ClientboundSoundPacket(UMSoundEvents.HEART_BEAT.getHolder().get(), SoundSource.PLAYERS, player.getX(), player.getY(), player.getZ(), 100, 1.0F, level.getRandom().nextLong()));
-                                    }
-                                    UMSoundEvents.playDetectionSound(speedRunnerPlayer); // Play detection sound
-                                }
-                            }
-
-                        } else // Not close enough to notify hunter
-                        {
-                            UMSoundEvents.stopDetectionSound(speedRunnerPlayer);
-                        }
-                    }
-
-                    UUID trackedPlayerUUID = umPlayer.getTrackingPlayerUUID(); // UUID of player to track
-                    if (trackedPlayerUUID == player.getUUID())
-                    {
-                        UMPackets.sendToPlayer(new TrackingSpeedRunnerS2CPacket(false, player, 0F), player); // No player being tracked.
-                        return;
-                    }
-                    MinecraftServer mcServer = player.getServer();
-                    if (mcServer == null) // Is server null?
-                    {
-                        TrackingSpeedRunnerS2CPacket.sendNonTracking(player);
-                        return;
-                    }
-                    Player trackedPlayer = mcServer.getPlayerList().getPlayer(trackedPlayerUUID); // Player to track
-                    if (trackedPlayer == null) // Is there a player being tracked?
-                    {
-                        TrackingSpeedRunnerS2CPacket.sendNonTracking(player);
-                        return;
-                    }
-                    if (!trackedPlayer.level().isClientSide) // On server for tracked player?
-                    {
-                        if (!trackedPlayer.level().dimension().equals(player.level().dimension())) // Are players in different dimensions?
-                        {
-                            TrackingSpeedRunnerS2CPacket.sendNonTracking(player);
-                            return;
-                        }
-                        if (UMPlayer.isSpeedRunnerOnGracePeriodServer(trackedPlayer)) // Is the speed runner on grace period?
-                        {
-                            TrackingSpeedRunnerS2CPacket.sendNonTracking(player);
-                            return;
-                        }
-                        if (!trackedPlayer.isAlive()) // Is the tracked player alive?
-                        {
-                            TrackingSpeedRunnerS2CPacket.sendNonTracking(player);
-                            return;
-                        }
-                        LazyOptional<UMPlayer> trackedPlayerCap = trackedPlayer.getCapability(UMPlayerCapability.UM_PLAYER); // Get hunter capability of tracked player
-                        if (trackedPlayerCap.isPresent()) // Is the capability present?
-                        {
-                            UMPlayer trackedPlayerHunter = trackedPlayerCap.orElse(new UMPlayer(trackedPlayerUUID));
-                            if (!trackedPlayerHunter.isSpeedRunner()) // Is the tracked player NOT a speed runner (roles can change)
-                            {
-                                TrackingSpeedRunnerS2CPacket.sendNonTracking(player); // Player is a hunter. Do not track
-                                return;
-                            }
-                        }
-                    }
-                    float distance = player.distanceTo(trackedPlayer);
-                    UMPackets.sendToPlayer(new TrackingSpeedRunnerS2CPacket(true, trackedPlayer, distance), player); // Hunter is now tracking this player
-
-                    // Track Nearest Player
-//                    HashMap<Integer, Float> playerDistances = new HashMap<>();
-//                    HashMap<Integer, Vec3> playerPositions = new HashMap<>();
-//                    for (Player speedRunnerPlayer : PlayerSpeedRunner.getRemainingSpeedRunners()) // Loop through all remaining speed runners
-//                    {
-//                        Level nearLevel = speedRunnerPlayer.level();
-//                        if (!level.dimension().equals(nearLevel.dimension()))
-//                        {
-//                            continue; // Dimensions do not match. Skip this iteration
-//                        }
-//                        if (PlayerSpeedRunner.isSpeedRunnerOnGracePeriod(speedRunnerPlayer))
-//                        {
-//                            continue; // Do not track players that are on grace period
-//                        }
-//                        float distance = player.distanceTo(speedRunnerPlayer);
-//                        playerDistances.put(speedRunnerPlayer.getId(), distance); // Save distance
-//                        playerPositions.put(speedRunnerPlayer.getId(), speedRunnerPlayer.getEyePosition()); // Save position
-//                        RMPackets.sendToPlayer(new CloseDistanceFromHunterS2CPacket(distance), speedRunnerPlayer); // Tell nearby player how far they are from a hunter
-//
-//                        if (currentGameTime > hunterGracePeriodTicks) // Is hunter out of grace period?
-//                        {
-//                            if (distance < HUNTER_DETECTION_RANGE) // Is the nearby player close enough to the hunter to be notified?
-//                            {
-//                                if (speedRunnerPlayer instanceof ServerPlayer nearServerPlayer)
-//                                {
-//                                    if (speedRunnerPlayer.isAlive()) // Is the player alive?
-//                                    {
-//                                        int rate = (int) ((distance / 12.5) + 6); // Rate ranges from 6 (closest) to 10 (furthest)
-//                                        if (speedRunnerPlayer.tickCount % rate == 0) // ~180 bpm
-//                                        {
-//                                            nearServerPlayer.connection.send(new ClientboundSoundPacket(RMSoundEvents.HEART_BEAT.getHolder().get(), SoundSource.PLAYERS, player.getX(), player.getY(), player.getZ(), 100, 1.0F, level.getRandom().nextLong()));
-//                                        }
-//                                        RMSoundEvents.playDetectionSound(speedRunnerPlayer); // Play detection sound
-//                                    }
-//                                }
-//
-//                            } else // Not close enough to notify hunter
-//                            {
-//                                RMSoundEvents.stopDetectionSound(speedRunnerPlayer);
-//                            }
-//                        }
-//                    }
-//
-//                    if (playerDistances.isEmpty() || playerPositions.isEmpty())
-//                    {
-//                        RMPackets.sendToPlayer(new TrackingSpeedRunnerS2CPacket(false, player.getId(), 0F, player.getEyePosition()), player);
-//                        return;
-//                    }
-//
-//                    float smallestDistance = RMMath.getLeast(playerDistances.values().stream().toList());
-//                    for (Map.Entry<Integer, Float> entry : playerDistances.entrySet())
-//                    {
-//                        if (entry.getValue() == smallestDistance)
-//                        {
-//                            RMPackets.sendToPlayer(new TrackingSpeedRunnerS2CPacket(true, entry.getKey(), entry.getValue(), playerPositions.get(entry.getKey())), player);
-//                            return;
-//                        }
-//                    }
+                    player.teleportTo(xSpawnCoordinate, 1000, zSpawnCoordinate); // Hunters should be teleported to an unreachable place
+                    return;
                 }
+                tickHunterTracking(player, umPlayer, UMMatchSnapshot.get());
             }
-        });
+        }
+    }
+
+    /**
+     * Lets the speed runner know how close the nearest hunter is, and plays the heartbeat and detection sounds when a hunter is within the {@linkplain #HUNTER_DETECTION_RANGE detection range}
+     * @param speedRunnerPlayer The {@linkplain Player player} that is a speed runner
+     * @param snapshot The {@linkplain UMMatchSnapshot snapshot} of the current tick
+     */
+    private static void tickSpeedRunner(Player speedRunnerPlayer, UMMatchSnapshot snapshot)
+    {
+        int runner = snapshot.runnerIndexOf(speedRunnerPlayer);
+        if (!snapshot.isRunnerHunted(runner))
+        {
+            stopDetectionSounds(speedRunnerPlayer);
+            return; // Hunters are not released yet, the speed runner is on grace period, or became a speed runner this tick and is picked up next tick
+        }
+        int hunter = snapshot.getNearestHunter(runner);
+        if (hunter == -1) // Is there no living hunter in this dimension?
+        {
+            SpeedRunnerDistanceFromHunterS2CPacket.sendNotNearHunterPlayer(speedRunnerPlayer);
+            stopDetectionSounds(speedRunnerPlayer);
+            return;
+        }
+        float distance = snapshot.getNearestHunterDistance(runner);
+        UMPackets.sendToPlayer(new SpeedRunnerDistanceFromHunterS2CPacket(distance), speedRunnerPlayer);
+
+        boolean detected = snapshot.isRunnerDetected(runner); // Is the living player close enough to the hunter to be notified?
+        if (detected)
+        {
+            UMHeartbeat.tick(speedRunnerPlayer, distance, snapshot.getHunterX(hunter), snapshot.getHunterY(hunter), snapshot.getHunterZ(hunter)); // Beats faster the closer the nearest hunter is
+        } else
+        {
+            UMHeartbeat.stop(speedRunnerPlayer);
+        }
+        UMDetectionSound.update(speedRunnerPlayer, detected); // Only sends a packet when the detection starts or ends
+    }
+
+    /**
+     * Stops the heartbeat and detection sound of the player. Only sends a packet if the detection sound was playing, so it can be called every tick.
+     * @param player The {@linkplain Player player} that is no longer hunted
+     */
+    private static void stopDetectionSounds(Player player)
+    {
+        UMHeartbeat.stop(player);
+        UMDetectionSound.stop(player);
+    }
+
+    /**
+     * Sends the hunter the position of the speed runner they are tracking
+     * @param player The {@linkplain Player player} that is a hunter
+     * @param umPlayer The hunter's {@linkplain UMPlayer Manhunt player data}
+     * @param snapshot The {@linkplain UMMatchSnapshot snapshot} of the current tick
+     */
+    private static void tickHunterTracking(Player player, UMPlayer umPlayer, UMMatchSnapshot snapshot)
+    {
+        UUID trackedPlayerUUID = umPlayer.getTrackingPlayerUUID(); // UUID of player to track. Their own UUID if no player is being tracked
+        int hunter = snapshot.hunterIndexOf(player);
+        int runner = snapshot.trackableRunner(hunter, trackedPlayerUUID);
+        if (runner == -1)
+        {
+            UMTrackingStream.stop(player);
+            return;
+        }
+        UMTrackingStream.track(player, snapshot.getRunner(runner), snapshot.distance(runner, hunter)); // Only sent when due and the speed runner has moved
     }
 
     public static boolean isNearHunter(Player playerSpeedRunner, Player playerHunter)
@@ -559,10 +714,102 @@ public class UMGame {
             return false;
         }
         currentGameState = newGameState;
+        UMMatchJournal.recordGameState(newGameState);
         UMPackets.sendToAllClients(new GameStateS2CPacket(currentGameState));
+        syncGameTime(); // Start or stop the clients' game clocks
         return true;
     }
 
+    /**
+     * Writes the settings of the Manhunt game to the tag
+     * @param tag The {@linkplain CompoundTag tag} to write to
+     */
+    public static void saveSettings(CompoundTag tag)
+    {
+        settings.save(tag);
+        tag.putInt("x_spawn", xSpawnCoordinate);
+        tag.putInt("z_spawn", zSpawnCoordinate);
+    }
+
+    /**
+     * Reads the settings of the Manhunt game from the tag
+     * @param tag The {@linkplain CompoundTag tag} to read from
+     */
+    public static void loadSettings(CompoundTag tag)
+    {
+        publishSettings(UMGameSettings.load(tag, settings));
+        setXAndZSpawnCoordinate(tag.getInt("x_spawn"), tag.getInt("z_spawn"));
+    }
+
+    /**
+     * Writes the state of the current Manhunt game to the tag
+     * @param tag The {@linkplain CompoundTag tag} to write to
+     */
+    public static void saveMatch(CompoundTag tag)
+    {
+        tag.putString("game_state", currentGameState.name());
+        tag.putLong("game_time", currentGameTime);
+        CompoundTag settings = new CompoundTag();
+        saveSettings(settings);
+        tag.put("settings", settings);
+        ListTag loggedPlayers = new ListTag();
+        for (UUID uuid : LOGGED_PLAYER_UUIDS)
+        {
+            loggedPlayers.add(NbtUtils.createUUID(uuid));
+        }
+        tag.put("logged_players", loggedPlayers);
+    }
+
+    /**
+     * Restores the state of a Manhunt game from the tag. Called when the server starts, before any player has joined.
+     * @param tag The {@linkplain CompoundTag tag} to read from
+     */
+    public static void loadMatch(CompoundTag tag)
+    {
+        loadSettings(tag.getCompound("settings"));
+        LOGGED_PLAYER_UUIDS.clear();
+        for (Tag uuid : tag.getList("logged_players", Tag.TAG_INT_ARRAY))
+        {
+            LOGGED_PLAYER_UUIDS.add(NbtUtils.loadUUID(uuid));
+        }
+        currentGameTime = tag.getLong("game_time");
+        restoreGameState(State.valueOf(tag.getString("game_state")));
+    }
+
+    /**
+     * Moves the game straight into the state, without any of the checks or effects of {@linkplain #setCurrentGameState(State) setting it normally}.
+     * Only used to restore a game from disk.
+     * @param gameState The {@linkplain State state} to restore
+     */
+    public static void restoreGameState(@NotNull State gameState)
+    {
+        currentGameState = gameState;
+    }
+
+    /**
+     * Restores the current game time. Only used to restore a game from disk.
+     * @param gameTime The game time to restore
+     */
+    public static void restoreGameTime(long gameTime)
+    {
+        currentGameTime = gameTime;
+    }
+
+    /**
+     * Restores a player to the set of logged players, or wipes the set if the UUID is null. Only used to restore a game from disk.
+     * @param uuid The player's UUID, or null to wipe all logged players
+     */
+    public static void restoreLoggedPlayer(@Nullable UUID uuid)
+    {
+        if (uuid == null)
+        {
+            LOGGED_PLAYER_UUIDS.clear();
+        } else
+        {
+            LOGGED_PLAYER_UUIDS.add(uuid);
+        }
+    }
+
     /**
      * All possible game states for the Manhunt
      */
@@ -0,0 +1,53 @@
+package net.laserdiamond.ultimatemanhunt;
+
+import net.minecraftforge.common.ForgeConfigSpec;
+
+/**
+ * Settings of the SERVER that are not part of a Manhunt game, stored in the world's {@code serverconfig} folder
+ */
+public final class UMServerConfig {
+
+    private static final ForgeConfigSpec.Builder BUILDER = new ForgeConfigSpec.Builder();
+
+    /**
+     * Whether the metrics endpoint is served
+     */
+    public static final ForgeConfigSpec.BooleanValue METRICS_ENABLED;
+
+    /**
+     * The port the metrics endpoint listens on
+     */
+    public static final ForgeConfigSpec.IntValue METRICS_PORT;
+
+    /**
+     * How often, in ticks, the metrics served by the endpoint are refreshed
+     */
+    public static final ForgeConfigSpec.IntValue METRICS_REFRESH_TICKS;
+
+    /**
+     * How long, in milliseconds, the per-player work of a game state change may take each tick
+     */
+    public static final ForgeConfigSpec.IntValue TRANSITION_BUDGET_MILLIS;
+
+    public static final ForgeConfigSpec SPEC;
+
+    static
+    {
+        BUILDER.comment("Prometheus metrics of the Manhunt game and the cost of the mod, served on http://127.0.0.1:<port>/metrics").push("metrics");
+        METRICS_ENABLED = BUILDER.comment("Whether to serve the metrics endpoint. It only listens on the loopback address")
+                .define("enabled", false);
+        METRICS_PORT = BUILDER.comment("The port the metrics endpoint listens on")
+                .defineInRange("port", 9464, 1, 65535);
+        METRICS_REFRESH_TICKS = BUILDER.comment("How often, in ticks, the served metrics are refreshed. Scrapes in between are served the last refresh")
+                .defineInRange("refreshTicks", 20, 1, 1200);
+        BUILDER.pop();
+
+        BUILDER.comment("Spreading the work done for every player when the game starts, ends, pauses or resumes across ticks").push("transitions");
+        TRANSITION_BUDGET_MILLIS = BUILDER.comment("How long, in milliseconds, the work done for players may take each tick. Players wait frozen until their turn. At least one player is processed every tick")
+                .defineInRange("tickBudgetMillis", 10, 1, 50);
+        BUILDER.pop();
+        SPEC = BUILDER.build();
+    }
+
+    private UMServerConfig() {}
+}
@@ -12,6 +12,7 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.config.ModConfig;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import org.slf4j.Logger;
 
@@ -38,6 +39,7 @@ public class UltimateManhunt {
         IEventBus modEventBus = context.getModEventBus();
 
         this.register(modEventBus);
+        context.registerConfig(ModConfig.Type.SERVER, UMServerConfig.SPEC);
     }
 
     private void register(IEventBus eventBus)
@@ -3,6 +3,7 @@ package net.laserdiamond.ultimatemanhunt.api.event;
 import net.laserdiamond.ultimatemanhunt.capability.UMPlayer;
 import net.laserdiamond.ultimatemanhunt.network.UMPackets;
 import net.laserdiamond.ultimatemanhunt.network.packet.hunter.HunterReleaseAnnounceS2CPacket;
+import net.laserdiamond.ultimatemanhunt.perf.UMPerf;
 import net.minecraft.world.entity.player.Player;
 import net.minecraftforge.eventbus.api.Event;
 
@@ -25,6 +26,18 @@ public class HuntersReleasedEvent extends Event implements PlayerGameSpawner {
         this.hunters = new LinkedList<>();
         this.speedRunners = new LinkedList<>();
         this.spectators = new LinkedList<>();
+        UMPerf.begin(UMPerf.Handler.HUNTERS_RELEASED_EVENT);
+        try
+        {
+            this.releaseHunters();
+        } finally
+        {
+            UMPerf.end(UMPerf.Handler.HUNTERS_RELEASED_EVENT);
+        }
+    }
+
+    private void releaseHunters()
+    {
         UMPlayer.forAllPlayers(
                 (player, umPlayer) -> {
                     this.speedRunners.add(player);
@@ -46,7 +59,7 @@ public class HuntersReleasedEvent extends Event implements PlayerGameSpawner {
                     if (!availablePlayerSpeedRunners.isEmpty())
                     {
                         Player trackedPlayer = availablePlayerSpeedRunners.getFirst();
-                        umPlayer.setPlayerToTrack(0, trackedPlayer)
+                        umPlayer.setPlayerToTrack(trackedPlayer)
                                 .sendUpdateFromServerToSelf(player);
                     }
                 },
@@ -0,0 +1,51 @@
+package net.laserdiamond.ultimatemanhunt.api.event;
+
+import net.laserdiamond.ultimatemanhunt.UMGame;
+import net.minecraftforge.eventbus.api.Event;
+
+/**
+ * Event called once every player has been processed by the {@linkplain net.laserdiamond.ultimatemanhunt.game.UMRoleTransition role transition} of a {@linkplain UltimateManhuntGameStateEvent game state event}.
+ * From this point on, no player is frozen and the {@linkplain UltimateManhuntGameStateEvent#getHunters() role lists} of the game state event are complete.
+ * <p>Event is fired on the {@linkplain net.minecraftforge.common.MinecraftForge#EVENT_BUS main Forge event bus}</p>
+ */
+public class RoleTransitionCompleteEvent extends Event {
+
+    private final UltimateManhuntGameStateEvent gameStateEvent;
+    private final int players;
+    private final int ticks;
+
+    public RoleTransitionCompleteEvent(UltimateManhuntGameStateEvent gameStateEvent, int players, int ticks)
+    {
+        this.gameStateEvent = gameStateEvent;
+        this.players = players;
+        this.ticks = ticks;
+    }
+
+    /**
+     * @return The {@linkplain UltimateManhuntGameStateEvent game state event} whose players have all been processed
+     */
+    public UltimateManhuntGameStateEvent getGameStateEvent() {
+        return gameStateEvent;
+    }
+
+    /**
+     * @return The {@linkplain UMGame.State game state} the game entered
+     */
+    public UMGame.State getGameState() {
+        return this.gameStateEvent.gameState();
+    }
+
+    /**
+     * @return The amount of players processed. Players that logged out before their turn are not counted
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * @return The amount of server ticks the transition was spread across
+     */
+    public int getTicks() {
+        return ticks;
+    }
+}
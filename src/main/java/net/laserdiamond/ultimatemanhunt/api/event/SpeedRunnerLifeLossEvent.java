@@ -1,7 +1,9 @@
 package net.laserdiamond.ultimatemanhunt.api.event;
 
 import net.laserdiamond.ultimatemanhunt.UMGame;
+import net.laserdiamond.ultimatemanhunt.perf.UMMetrics;
 import net.laserdiamond.ultimatemanhunt.capability.UMPlayer;
+import net.laserdiamond.ultimatemanhunt.game.UMGameSettings;
 import net.laserdiamond.ultimatemanhunt.capability.UMPlayerCapability;
 import net.laserdiamond.ultimatemanhunt.sound.UMSoundEvents;
 import net.minecraft.ChatFormatting;
@@ -40,6 +42,7 @@ public class SpeedRunnerLifeLossEvent extends PlayerEvent {
             umPlayer.subtractLife()
                     .setWasLastKilledByHunter(wasKilledByHunter)
                     .sendUpdateFromServerToSelf(speedRunner);
+            UMMetrics.countLifeLost();
 
             if (this.wasKilledByHunter)
             {
@@ -54,9 +57,10 @@ public class SpeedRunnerLifeLossEvent extends PlayerEvent {
 
             if (umPlayer.getLives() <= 0)
             {
-                if (UMGame.getDeadSpeedRunnerRole() == UMGame.PlayerRole.HUNTER)
+                UMGameSettings settings = UMGame.getSettings(); // Read both settings from the same snapshot
+                if (settings.deadSpeedRunnerRole() == UMGame.PlayerRole.HUNTER)
                 {
-                    MinecraftForge.EVENT_BUS.post(new SpeedRunnerToHunterEvent(speedRunner, UMPlayer.getIsBuffedHunterOnFinalDeath(), true));
+                    MinecraftForge.EVENT_BUS.post(new SpeedRunnerToHunterEvent(speedRunner, settings.buffedHunterOnFinalDeath(), true));
                     UMGame.sendMessageToAllPlayers(server, Component.literal(ChatFormatting.RED + speedRunner.getDisplayName().getString() + " lost all their lives and is now a hunter!"));
                 } else
                 {
@@ -66,7 +70,7 @@ public class SpeedRunnerLifeLossEvent extends PlayerEvent {
 
                 if (UMPlayer.getRemainingSpeedRunners().isEmpty()) // Check if there are any remaining speed runners
                 {
-                    MinecraftForge.EVENT_BUS.post(new UltimateManhuntGameStateEvent.End(UltimateManhuntGameStateEvent.End.Reason.HUNTER_WIN)); // No more speed runners. Hunters win!
+                    UMGame.requestGameEnd(UltimateManhuntGameStateEvent.End.Reason.HUNTER_WIN); // No more speed runners. Hunters win!
                 }
             }
         });
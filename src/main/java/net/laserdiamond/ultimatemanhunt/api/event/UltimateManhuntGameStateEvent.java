@@ -2,6 +2,9 @@ package net.laserdiamond.ultimatemanhunt.api.event;
 
 import net.laserdiamond.ultimatemanhunt.UMGame;
 import net.laserdiamond.ultimatemanhunt.capability.UMPlayer;
+import net.laserdiamond.ultimatemanhunt.game.UMMatchScheduler;
+import net.laserdiamond.ultimatemanhunt.game.UMMatchSnapshot;
+import net.laserdiamond.ultimatemanhunt.game.UMRoleTransition;
 import net.laserdiamond.ultimatemanhunt.item.UMItems;
 import net.laserdiamond.ultimatemanhunt.item.WindTorchItem;
 import net.laserdiamond.ultimatemanhunt.network.UMPackets;
@@ -12,6 +15,7 @@ import net.laserdiamond.ultimatemanhunt.network.packet.game.announce.GamePausedA
 import net.laserdiamond.ultimatemanhunt.network.packet.game.announce.GameResumedS2CPacket;
 import net.laserdiamond.ultimatemanhunt.network.packet.game.announce.GameStartAnnounceS2CPacket;
 import net.laserdiamond.ultimatemanhunt.network.packet.speedrunner.SpeedRunnerDistanceFromHunterS2CPacket;
+import net.laserdiamond.ultimatemanhunt.sound.UMHeartbeat;
 import net.laserdiamond.ultimatemanhunt.sound.UMSoundEvents;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
@@ -19,12 +23,15 @@ import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.GameType;
 import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.server.ServerLifecycleHooks;
 
 import java.util.LinkedList;
 import java.util.List;
 
 /**
  * Events that are called when the {@linkplain UMGame.State Ultimate Manhunt Game State} changes
+ * <p>The game state changes at once, but the work done for each player is spread across ticks by the {@linkplain UMRoleTransition role transition},
+ * which fires a {@linkplain RoleTransitionCompleteEvent completion event} once every player has been processed.</p>
  * <p>Events are fired on the {@linkplain net.minecraftforge.common.MinecraftForge#EVENT_BUS main Forge event bus}</p>
  */
 public abstract class UltimateManhuntGameStateEvent extends Event {
@@ -39,22 +46,31 @@ public abstract class UltimateManhuntGameStateEvent extends Event {
         this.speedRunners = new LinkedList<>();
         this.spectators = new LinkedList<>();
 
-        UMPlayer.forAllPlayers(
-                (player, umPlayer) -> {
-                    this.speedRunners.add(player);
-                    this.forSpeedRunner(player, umPlayer);
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server != null)
+        {
+            UMRoleTransition.begin(server, this, this::applyToPlayer); // Spread the work done for every player across ticks
+        }
+        UMGame.setCurrentGameState(this.gameState()); // Set to the game state specified
+    }
+
+    private void applyToPlayer(Player player)
+    {
+        UMPlayer.forPlayer(player,
+                (speedRunner, umPlayer) -> {
+                    this.speedRunners.add(speedRunner);
+                    this.forSpeedRunner(speedRunner, umPlayer);
                 },
-                (player, umPlayer) -> {
-                    this.hunters.add(player);
-                    this.forHunter(player, umPlayer);
+                (hunter, umPlayer) -> {
+                    this.hunters.add(hunter);
+                    this.forHunter(hunter, umPlayer);
                 },
-                (player, umPlayer) -> {
-                    this.spectators.add(player);
-                    this.forSpectators(player, umPlayer);
+                (spectator, umPlayer) -> {
+                    this.spectators.add(spectator);
+                    this.forSpectators(spectator, umPlayer);
                 },
                 this::forAllPlayers
         );
-        UMGame.setCurrentGameState(this.gameState()); // Set to the game state specified
     }
 
     /**
@@ -63,14 +79,16 @@ public abstract class UltimateManhuntGameStateEvent extends Event {
     public abstract UMGame.State gameState();
 
     /**
-     * @return A {@link List} of all the {@linkplain Player players} that are hunters
+     * @return A {@link List} of all the {@linkplain Player players} that are hunters. Players are added as the {@linkplain UMRoleTransition role transition} reaches them,
+     * so the list is only complete once the {@linkplain RoleTransitionCompleteEvent completion event} has been fired
      */
     public List<Player> getHunters() {
         return hunters;
     }
 
     /**
-     * @return A {@link List} of all the {@linkplain Player players} that are speed runners
+     * @return A {@link List} of all the {@linkplain Player players} that are speed runners. Players are added as the {@linkplain UMRoleTransition role transition} reaches them,
+     * so the list is only complete once the {@linkplain RoleTransitionCompleteEvent completion event} has been fired
      */
     public List<Player> getSpeedRunners() {
         return speedRunners;
@@ -121,7 +139,7 @@ public abstract class UltimateManhuntGameStateEvent extends Event {
         {
             super();
             UMGame.resetGameTime(); // Reset the game time
-            UMPackets.sendToAllClients(new RemainingPlayerCountS2CPacket());
+            UMGame.scheduleMatchEvents(); // Schedule the hunter release and other timed events. The remaining player count is sent once every player has a role
             UMPackets.sendToAllClients(new GameStartAnnounceS2CPacket());
             SpeedRunnerDistanceFromHunterS2CPacket.sendNotNearHunterAll();
         }
@@ -179,7 +197,7 @@ public abstract class UltimateManhuntGameStateEvent extends Event {
                 player.onUpdateAbilities();
                 if (umPlayer.isBuffedHunter())
                 {
-                    player.getAttributes().addTransientAttributeModifiers(UMPlayer.createHunterAttributes()); // Add buff attributes
+                    UMGame.getSettings().hunterBuffs().apply(player); // Add buff attributes
                     player.setHealth(player.getMaxHealth());
                 }
 
@@ -204,8 +222,10 @@ public abstract class UltimateManhuntGameStateEvent extends Event {
             super();
             this.reason = reason;
             UMPackets.sendToAllClients(new GameEndAnnounceS2CPacket(this.reason));
-            UMPackets.sendToAllClients(new GameTimeS2CPacket(0)); // Reset Game Time
+            UMPackets.sendToAllClients(new GameTimeS2CPacket(0, false)); // Reset Game Time
             UMGame.wipeLoggedPlayerUUIDs(); // Wipe the logged players
+            UMMatchSnapshot.clear(); // Discard the participants of the finished game
+            UMMatchScheduler.reset(0); // Cancel the timed events of the finished game
         }
 
         public Reason getReason() {
@@ -221,6 +241,7 @@ public abstract class UltimateManhuntGameStateEvent extends Event {
         protected void forAllPlayers(Player player, UMPlayer umPlayer)
         {
             UMSoundEvents.stopDetectionSound(player);
+            UMHeartbeat.stop(player);
         }
 
         @Override
@@ -241,7 +262,7 @@ public abstract class UltimateManhuntGameStateEvent extends Event {
             {
                 if (umPlayer.isBuffedHunter())
                 {
-                    player.getAttributes().removeAttributeModifiers(UMPlayer.createHunterAttributes()); // Add buff attributes
+                    UMGame.getSettings().hunterBuffs().remove(player); // Remove buff attributes
                 }
                 umPlayer.resetToSpeedRunner(player, false);
                 if (this.getGameTime() < UMGame.getHunterGracePeriod())
@@ -314,7 +335,7 @@ public abstract class UltimateManhuntGameStateEvent extends Event {
             {
                 if (umPlayer.isBuffedHunter())
                 {
-                    player.getAttributes().removeAttributeModifiers(UMPlayer.createHunterAttributes());
+                    UMGame.getSettings().hunterBuffs().remove(player);
                 }
             }
         }
@@ -362,7 +383,7 @@ public abstract class UltimateManhuntGameStateEvent extends Event {
                 }
                 if (umPlayer.isBuffedHunter())
                 {
-                    player.getAttributes().addTransientAttributeModifiers(UMPlayer.createHunterAttributes()); // Add buff attributes
+                    UMGame.getSettings().hunterBuffs().apply(player); // Add buff attributes
                 }
             }
         }
@@ -1,47 +1,34 @@
 package net.laserdiamond.ultimatemanhunt.capability;
 
-import com.google.common.collect.HashMultimap;
 import net.laserdiamond.laserutils.capability.AbstractCapabilityData;
 import net.laserdiamond.ultimatemanhunt.UMGame;
-import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
 import net.laserdiamond.ultimatemanhunt.client.game.ClientGameTime;
 import net.laserdiamond.ultimatemanhunt.network.UMPackets;
 import net.laserdiamond.ultimatemanhunt.network.packet.UMCapabilitySyncS2CPacket;
-import net.laserdiamond.ultimatemanhunt.network.packet.speedrunner.SpeedRunnerMaxLifeChangeS2CPacket;
-import net.minecraft.core.Holder;
+import net.laserdiamond.ultimatemanhunt.network.packet.UMPlayerSyncS2CPacket;
+import net.minecraft.Util;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.entity.ai.attributes.Attribute;
-import net.minecraft.world.entity.ai.attributes.AttributeModifier;
-import net.minecraft.world.entity.ai.attributes.Attributes;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.level.Level;
 import net.minecraftforge.common.capabilities.AutoRegisterCapability;
-import net.minecraftforge.server.ServerLifecycleHooks;
 
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 
 @AutoRegisterCapability
 public class UMPlayer extends AbstractCapabilityData<UMPlayer>
 {
-    private static final ResourceLocation ACTIVE_MODIFIER = UltimateManhunt.fromUMPath("attribute.active_hunter");
-
     public static final int MIN_LIVES = 0;
     public static final int MAX_LIVES = 99;
-    private static int currentMaxLives = 3;
-    private static boolean buffedHunterOnFinalDeath = false;
 
     /**
      * @return The maximum amount of lives speed runners can currently hold
      */
     public static int getMaxLives()
     {
-        return currentMaxLives;
+        return UMGame.getSettings().maxLives();
     }
 
     /**
@@ -55,8 +42,7 @@ public class UMPlayer extends AbstractCapabilityData<UMPlayer>
         {
             return false;
         }
-        currentMaxLives = Math.min(MAX_LIVES, Math.max(lives, 1));
-        UMPackets.sendToAllClients(new SpeedRunnerMaxLifeChangeS2CPacket(lives));
+        UMGame.publishSettings(UMGame.getSettings().withMaxLives(lives)); // Clamped between 1 and the max lives
         return true;
     }
 
@@ -65,7 +51,7 @@ public class UMPlayer extends AbstractCapabilityData<UMPlayer>
      */
     public static boolean getIsBuffedHunterOnFinalDeath()
     {
-        return buffedHunterOnFinalDeath;
+        return UMGame.getSettings().buffedHunterOnFinalDeath();
     }
 
     /**
@@ -79,78 +65,44 @@ public class UMPlayer extends AbstractCapabilityData<UMPlayer>
         {
             return false;
         }
-        buffedHunterOnFinalDeath = isBuffedHunter;
+        UMGame.publishSettings(UMGame.getSettings().withBuffedHunterOnFinalDeath(isBuffedHunter));
         return true;
     }
 
     /**
-     * @return A {@link HashMultimap} of {@linkplain Attribute attributes} and {@linkplain AttributeModifier attribute modifiers} to be applied to each Hunter
+     * @return A read-only view of all the {@linkplain Player players} that are remaining speed runners
      */
-    public static HashMultimap<Holder<Attribute>, AttributeModifier> createHunterAttributes()
-    {
-        HashMultimap<Holder<Attribute>, AttributeModifier> ret = HashMultimap.create();
-        ret.put(Attributes.MAX_HEALTH, new AttributeModifier(ACTIVE_MODIFIER, 0.5, AttributeModifier.Operation.ADD_MULTIPLIED_BASE));
-        ret.put(Attributes.ARMOR, new AttributeModifier(ACTIVE_MODIFIER, 5, AttributeModifier.Operation.ADD_VALUE));
-
-        ret.put(Attributes.MOVEMENT_SPEED, new AttributeModifier(ACTIVE_MODIFIER, 0.1, AttributeModifier.Operation.ADD_MULTIPLIED_BASE));
-        ret.put(Attributes.MOVEMENT_EFFICIENCY, new AttributeModifier(ACTIVE_MODIFIER, 0.1, AttributeModifier.Operation.ADD_MULTIPLIED_BASE));
-        ret.put(Attributes.WATER_MOVEMENT_EFFICIENCY, new AttributeModifier(ACTIVE_MODIFIER, 0.1, AttributeModifier.Operation.ADD_MULTIPLIED_BASE));
-
-        ret.put(Attributes.MINING_EFFICIENCY, new AttributeModifier(ACTIVE_MODIFIER, 0.15, AttributeModifier.Operation.ADD_MULTIPLIED_BASE));
-        ret.put(Attributes.SUBMERGED_MINING_SPEED, new AttributeModifier(ACTIVE_MODIFIER, 0.15, AttributeModifier.Operation.ADD_MULTIPLIED_BASE));
-
-        ret.put(Attributes.ATTACK_DAMAGE, new AttributeModifier(ACTIVE_MODIFIER, 0.25, AttributeModifier.Operation.ADD_MULTIPLIED_BASE));
-
-        return ret;
-    }
-
     public static List<Player> getRemainingSpeedRunners()
     {
-        List<Player> ret = new LinkedList<>();
-
-        for (Player player : ServerLifecycleHooks.getCurrentServer().getPlayerList().getPlayers())
-        {
-            player.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(umPlayer ->
-            {
-                if (umPlayer.isSpeedRunner())
-                {
-                    ret.add(player);
-                }
-            });
-        }
-        return ret;
+        return UMRoleRegistry.getSpeedRunners();
     }
 
     public static boolean isSpeedRunnerOnGracePeriodServer(Player player)
     {
-        AtomicBoolean ret = new AtomicBoolean();
-        player.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(umPlayer ->
-        {
-            ret.set(umPlayer.isSpeedRunnerOnGracePeriodServer());
-        });
-        return ret.get();
+        UMPlayer umPlayer = UMRoleRegistry.getUMPlayer(player);
+        return umPlayer != null && umPlayer.isSpeedRunnerOnGracePeriodServer();
     }
 
     /**
      * Gets all {@linkplain Player players} that are hunters
      * @param onlyBuffed Whether to gather only buffed hunters
-     * @return A {@linkplain List list} of {@linkplain Player players} that are hunters or buffed hunters
+     * @return A {@linkplain List list} of {@linkplain Player players} that are hunters or buffed hunters.
+     * If all hunters are requested, the list is a read-only view
      */
     public static List<Player> getHunters(boolean onlyBuffed)
     {
-        List<Player> ret = new LinkedList<>();
-        for (Player player : ServerLifecycleHooks.getCurrentServer().getPlayerList().getPlayers())
+        if (!onlyBuffed)
+        {
+            return UMRoleRegistry.getHunters();
+        }
+        List<Player> ret = new ArrayList<>();
+        for (Player player : UMRoleRegistry.getHunters())
         {
-            player.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(umPlayer ->
+            UMPlayer umPlayer = UMRoleRegistry.getUMPlayer(player);
+            if (umPlayer != null && umPlayer.isBuffedHunter())
             {
-                if (onlyBuffed && umPlayer.isBuffedHunter())
-                {
-                    ret.add(player);
-                } else if (!onlyBuffed && umPlayer.isHunter())
-                {
-                    ret.add(player);
-                }
-            });
+                ret.add(player);
+            }
         }
         return ret;
     }
@@ -158,82 +110,75 @@ public class UMPlayer extends AbstractCapabilityData<UMPlayer>
     /**
      * Gets all the {@linkplain Player player speed runners} available for the hunter to track
      * @param playerHunter The {@linkplain Player player} that is assumed to be a hunter
-     * @return A {@link List} of {@linkplain Player players} available for the hunter to track
+     * @return A read-only {@link List} of {@linkplain Player players} available for the hunter to track
      */
     public static List<Player> getAvailableSpeedRunners(Player playerHunter)
     {
-        List<Player> ret = new LinkedList<>(UMPlayer.getRemainingSpeedRunners()); // Get all the remaining speed runners
-        Level hunterLvl = playerHunter.level();
-        Iterator<Player> speedRunnerIterator = ret.iterator();
-        while (speedRunnerIterator.hasNext()) // Use an iterator, since we want to remove elements from the list while iterating through it
-        {
-            Player player = speedRunnerIterator.next();
-            Level speedRunnerLvl = player.level();
-            if (playerHunter.getUUID() == player.getUUID())
-            {
-                // In the event that the player hunter is not assured to be a hunter, we don't want to track ourselves
-                // Remove this player from the list
-                speedRunnerIterator.remove();
-                continue;
-            }
-            if (!hunterLvl.isClientSide && !speedRunnerLvl.isClientSide) // Ensure we are on the server
-            {
-                if (!hunterLvl.dimension().equals(speedRunnerLvl.dimension())) // Check if the dimensions do not match
-                {
-                    speedRunnerIterator.remove(); // Dimensions do not match. This is not a player we want to try and track
-                }
-            }
-        }
-        return ret;
+        return UMRoleRegistry.getAvailableSpeedRunners(playerHunter);
     }
 
+    /**
+     * @return A read-only view of all the {@linkplain Player players} that are spectators
+     */
     public static List<Player> getSpectators()
     {
-        List<Player> ret = new LinkedList<>();
-        for (Player player : ServerLifecycleHooks.getCurrentServer().getPlayerList().getPlayers())
+        return UMRoleRegistry.getSpectators();
+    }
+
+    public static void forAllPlayers(BiConsumer<Player, UMPlayer> forSpeedRunners, BiConsumer<Player, UMPlayer> forHunters, BiConsumer<Player, UMPlayer> forSpectators, BiConsumer<Player, UMPlayer> forAll)
+    {
+        for (Player player : UMRoleRegistry.copyPlayers()) // Copy, since the consumers are allowed to change roles
         {
-            player.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(umPlayer ->
-            {
-                if (umPlayer.isSpectator())
-                {
-                    ret.add(player);
-                }
-            });
+            forPlayer(player, forSpeedRunners, forHunters, forSpectators, forAll);
         }
-        return ret;
     }
 
-    public static void forAllPlayers(BiConsumer<Player, UMPlayer> forSpeedRunners, BiConsumer<Player, UMPlayer> forHunters, BiConsumer<Player, UMPlayer> forSpectators, BiConsumer<Player, UMPlayer> forAll)
+    /**
+     * Calls the consumer for all players, then the consumer for the player's role, on one {@linkplain Player player}
+     * @param player The {@linkplain Player player}
+     * @param forSpeedRunners Called if the player is a speed runner after {@code forAll}
+     * @param forHunters Called if the player is a hunter after {@code forAll}
+     * @param forSpectators Called if the player is a spectator after {@code forAll}
+     * @param forAll Called first, and is allowed to change the player's role
+     */
+    public static void forPlayer(Player player, BiConsumer<Player, UMPlayer> forSpeedRunners, BiConsumer<Player, UMPlayer> forHunters, BiConsumer<Player, UMPlayer> forSpectators, BiConsumer<Player, UMPlayer> forAll)
     {
-        for (Player player : ServerLifecycleHooks.getCurrentServer().getPlayerList().getPlayers())
+        UMPlayer umPlayer = UMRoleRegistry.getUMPlayer(player);
+        if (umPlayer == null)
         {
-            player.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(umPlayer ->
-            {
-                forAll.accept(player, umPlayer);
-                if (umPlayer.isSpeedRunner())
-                {
-                    forSpeedRunners.accept(player, umPlayer);
-                } else if (umPlayer.isHunter())
-                {
-                    forHunters.accept(player, umPlayer);
-                } else if (umPlayer.isSpectator())
-                {
-                    forSpectators.accept(player, umPlayer);
-                } else
-                {
-                    forSpectators.accept(player, umPlayer);
-                }
-            });
+            return; // Player was removed by a previous consumer
+        }
+        forAll.accept(player, umPlayer);
+        if (umPlayer.isSpeedRunner())
+        {
+            forSpeedRunners.accept(player, umPlayer);
+        } else if (umPlayer.isHunter())
+        {
+            forHunters.accept(player, umPlayer);
+        } else
+        {
+            forSpectators.accept(player, umPlayer);
         }
     }
 
+    /**
+     * Bits marking which fields have changed since the last sync to the client
+     */
+    public static final int SYNC_LIVES = 1;
+    public static final int SYNC_KILLED_BY_HUNTER = 1 << 1;
+    public static final int SYNC_GRACE_PERIOD = 1 << 2;
+    public static final int SYNC_BUFFED_HUNTER = 1 << 3;
+    public static final int SYNC_TRACKING = 1 << 4;
+    public static final int SYNC_ROLE = 1 << 5;
+    public static final int SYNC_ALL = (1 << 6) - 1;
+
     private int lives;
     private boolean wasLastKilledByHunter;
     private long gracePeriodTimeStamp;
     private boolean isBuffedHunter;
-    private int trackingIndex;
     private UUID trackingPlayerUUID;
     private UMGame.PlayerRole role;
+    private int dirtyFields;
 
     public UMPlayer(UUID defaultTrackingUUID)
     {
@@ -241,7 +186,6 @@ public class UMPlayer extends AbstractCapabilityData<UMPlayer>
         this.wasLastKilledByHunter = false;
         this.gracePeriodTimeStamp = 0;
         this.isBuffedHunter = false;
-        this.trackingIndex = -1; // Start at -1, since the UUID being tracked here is ourselves
         this.trackingPlayerUUID = defaultTrackingUUID; // Default the UUID of the player being tracked to ourselves
         this.role = UMGame.PlayerRole.SPEED_RUNNER;
     }
@@ -253,9 +197,141 @@ public class UMPlayer extends AbstractCapabilityData<UMPlayer>
         this.wasLastKilledByHunter = umPlayer.wasLastKilledByHunter;
         this.gracePeriodTimeStamp = umPlayer.gracePeriodTimeStamp;
         this.isBuffedHunter = umPlayer.isBuffedHunter;
-        this.trackingIndex = umPlayer.trackingIndex;
         this.trackingPlayerUUID = umPlayer.trackingPlayerUUID;
         this.role = umPlayer.role;
+        this.dirtyFields = SYNC_ALL;
+    }
+
+    /**
+     * Copies only the specified fields from the {@linkplain UMPlayer Manhunt player data}. Used by the CLIENT to apply a sync.
+     * @param umPlayer The {@linkplain UMPlayer Manhunt player data} to copy from
+     * @param fields The bits of the fields to copy
+     */
+    public void copyFrom(UMPlayer umPlayer, int fields)
+    {
+        if ((fields & SYNC_LIVES) != 0)
+        {
+            this.lives = umPlayer.lives;
+        }
+        if ((fields & SYNC_KILLED_BY_HUNTER) != 0)
+        {
+            this.wasLastKilledByHunter = umPlayer.wasLastKilledByHunter;
+        }
+        if ((fields & SYNC_GRACE_PERIOD) != 0)
+        {
+            this.gracePeriodTimeStamp = umPlayer.gracePeriodTimeStamp;
+        }
+        if ((fields & SYNC_BUFFED_HUNTER) != 0)
+        {
+            this.isBuffedHunter = umPlayer.isBuffedHunter;
+        }
+        if ((fields & SYNC_TRACKING) != 0)
+        {
+            this.trackingPlayerUUID = umPlayer.trackingPlayerUUID;
+        }
+        if ((fields & SYNC_ROLE) != 0)
+        {
+            this.role = umPlayer.role;
+        }
+    }
+
+    /**
+     * Writes only the specified fields to the buffer
+     * @param buf The buffer to write to
+     * @param fields The bits of the fields to write
+     */
+    public void writeFields(FriendlyByteBuf buf, int fields)
+    {
+        if ((fields & SYNC_LIVES) != 0)
+        {
+            buf.writeVarInt(this.lives);
+        }
+        if ((fields & SYNC_KILLED_BY_HUNTER) != 0)
+        {
+            buf.writeBoolean(this.wasLastKilledByHunter);
+        }
+        if ((fields & SYNC_GRACE_PERIOD) != 0)
+        {
+            buf.writeVarLong(this.gracePeriodTimeStamp);
+        }
+        if ((fields & SYNC_BUFFED_HUNTER) != 0)
+        {
+            buf.writeBoolean(this.isBuffedHunter);
+        }
+        if ((fields & SYNC_TRACKING) != 0)
+        {
+            buf.writeUUID(this.trackingPlayerUUID);
+        }
+        if ((fields & SYNC_ROLE) != 0)
+        {
+            buf.writeEnum(this.role);
+        }
+    }
+
+    /**
+     * Reads the fields written by {@link #writeFields(FriendlyByteBuf, int)}
+     * @param buf The buffer to read from
+     * @param fields The bits of the fields to read
+     * @return A {@linkplain UMPlayer Manhunt player data} holding the fields read. All other fields are left at their defaults.
+     */
+    public static UMPlayer readFields(FriendlyByteBuf buf, int fields)
+    {
+        UMPlayer ret = new UMPlayer(Util.NIL_UUID);
+        if ((fields & SYNC_LIVES) != 0)
+        {
+            ret.lives = buf.readVarInt();
+        }
+        if ((fields & SYNC_KILLED_BY_HUNTER) != 0)
+        {
+            ret.wasLastKilledByHunter = buf.readBoolean();
+        }
+        if ((fields & SYNC_GRACE_PERIOD) != 0)
+        {
+            ret.gracePeriodTimeStamp = buf.readVarLong();
+        }
+        if ((fields & SYNC_BUFFED_HUNTER) != 0)
+        {
+            ret.isBuffedHunter = buf.readBoolean();
+        }
+        if ((fields & SYNC_TRACKING) != 0)
+        {
+            ret.trackingPlayerUUID = buf.readUUID();
+        }
+        if ((fields & SYNC_ROLE) != 0)
+        {
+            ret.role = buf.readEnum(UMGame.PlayerRole.class);
+        }
+        return ret;
+    }
+
+    /**
+     * @return A detached copy of this {@linkplain UMPlayer Manhunt player data}
+     */
+    public UMPlayer copy()
+    {
+        UMPlayer ret = new UMPlayer(this.trackingPlayerUUID);
+        ret.copyFrom(this);
+        return ret;
+    }
+
+    /**
+     * Marks fields as changed, so they are included in the next sync
+     * @param fields The bits of the fields that changed
+     */
+    private void markDirty(int fields)
+    {
+        this.dirtyFields |= fields;
+    }
+
+    /**
+     * Clears the changed fields
+     * @return The bits of the fields that changed since the last call
+     */
+    int consumeDirtyFields()
+    {
+        int ret = this.dirtyFields;
+        this.dirtyFields = 0;
+        return ret;
     }
 
     @Override
@@ -265,7 +341,6 @@ public class UMPlayer extends AbstractCapabilityData<UMPlayer>
         compoundTag.putBoolean("was_last_killed_by_hunter", this.isWasLastKilledByHunter());
         compoundTag.putLong("grace_period_time_stamp", this.getGracePeriodTimeStamp());
         compoundTag.putBoolean("is_buffed_hunter", this.isBuffedHunter());
-        compoundTag.putInt("tracking_index", this.getTrackingIndex());
         compoundTag.putUUID("tracking_player_uuid", this.getTrackingPlayerUUID());
         compoundTag.putString("role", this.getRole().toString());
     }
@@ -277,7 +352,6 @@ public class UMPlayer extends AbstractCapabilityData<UMPlayer>
         this.wasLastKilledByHunter = compoundTag.getBoolean("was_last_killed_by_hunter");
         this.gracePeriodTimeStamp = compoundTag.getLong("grace_period_time_stamp");
         this.isBuffedHunter = compoundTag.getBoolean("is_buffed_hunter");
-        this.trackingIndex = compoundTag.getInt("tracking_player_index");
         this.trackingPlayerUUID = compoundTag.getUUID("tracking_player_uuid");
         this.role = UMGame.PlayerRole.fromString(compoundTag.getString("role"));
     }
@@ -287,7 +361,13 @@ public class UMPlayer extends AbstractCapabilityData<UMPlayer>
     }
 
     public UMPlayer setLives(int lives) {
-        this.lives = Math.max(MIN_LIVES, Math.min(lives, getMaxLives()));
+        lives = Math.max(MIN_LIVES, Math.min(lives, getMaxLives()));
+        if (this.lives != lives)
+        {
+            this.lives = lives;
+            this.markDirty(SYNC_LIVES);
+        }
+        UMRoleRegistry.refresh(this); // Running out of lives removes a speed runner
         return this;
     }
 
@@ -302,7 +382,11 @@ public class UMPlayer extends AbstractCapabilityData<UMPlayer>
     }
 
     public UMPlayer setWasLastKilledByHunter(boolean wasLastKilledByHunter) {
-        this.wasLastKilledByHunter = wasLastKilledByHunter;
+        if (this.wasLastKilledByHunter != wasLastKilledByHunter)
+        {
+            this.wasLastKilledByHunter = wasLastKilledByHunter;
+            this.markDirty(SYNC_KILLED_BY_HUNTER);
+        }
         return this;
     }
 
@@ -311,7 +395,12 @@ public class UMPlayer extends AbstractCapabilityData<UMPlayer>
     }
 
     public UMPlayer setGracePeriodTimeStamp(long gracePeriodTimeStamp) {
-        this.gracePeriodTimeStamp = Math.max(0, gracePeriodTimeStamp);
+        gracePeriodTimeStamp = Math.max(0, gracePeriodTimeStamp);
+        if (this.gracePeriodTimeStamp != gracePeriodTimeStamp)
+        {
+            this.gracePeriodTimeStamp = gracePeriodTimeStamp;
+            this.markDirty(SYNC_GRACE_PERIOD);
+        }
         return this;
     }
 
@@ -320,28 +409,26 @@ public class UMPlayer extends AbstractCapabilityData<UMPlayer>
     }
 
     public UMPlayer setBuffedHunter(boolean buffedHunter) {
-        isBuffedHunter = buffedHunter;
-        return this;
-    }
-
-    public int getTrackingIndex() {
-        return trackingIndex;
-    }
-
-    private UMPlayer setTrackingIndex(int trackingIndex) {
-        this.trackingIndex = trackingIndex;
+        if (this.isBuffedHunter != buffedHunter)
+        {
+            this.isBuffedHunter = buffedHunter;
+            this.markDirty(SYNC_BUFFED_HUNTER);
+        }
         return this;
     }
 
-    private void setPlayerToTrack(Player player)
-    {
-        this.trackingPlayerUUID = player.getUUID();
-    }
-
-    public UMPlayer setPlayerToTrack(int trackingIndex, Player player)
+    /**
+     * Sets the {@linkplain Player player} to track
+     * @param player The {@linkplain Player player} to track
+     * @return This {@linkplain UMPlayer Manhunt player data}
+     */
+    public UMPlayer setPlayerToTrack(Player player)
     {
-        this.setTrackingIndex(trackingIndex);
-        this.setPlayerToTrack(player);
+        if (!this.trackingPlayerUUID.equals(player.getUUID()))
+        {
+            this.trackingPlayerUUID = player.getUUID();
+            this.markDirty(SYNC_TRACKING);
+        }
         return this;
     }
 
@@ -356,7 +443,12 @@ public class UMPlayer extends AbstractCapabilityData<UMPlayer>
     }
 
     public UMPlayer setRole(UMGame.PlayerRole role) {
-        this.role = role;
+        if (this.role != role)
+        {
+            this.role = role;
+            this.markDirty(SYNC_ROLE);
+        }
+        UMRoleRegistry.refresh(this);
         return this;
     }
 
@@ -420,13 +512,33 @@ public class UMPlayer extends AbstractCapabilityData<UMPlayer>
         this.reset(player, UMGame.PlayerRole.SPECTATOR, logPlayer);
     }
 
+    /**
+     * Sends all of this data to a {@linkplain Player player} that has just started tracking the player it belongs to
+     * @param trackedPlayer The {@linkplain Player player} this data belongs to
+     * @param receivingPlayer The {@linkplain Player player} to send the data to
+     */
     public final void sendUpdateFromServer(Player trackedPlayer, Player receivingPlayer)
     {
-        UMPackets.sendToAllTrackingEntity(new UMCapabilitySyncS2CPacket(trackedPlayer, this), receivingPlayer);
+        UMPackets.sendToPlayer(new UMCapabilitySyncS2CPacket(trackedPlayer, this), receivingPlayer);
     }
 
+    /**
+     * Queues the fields that changed to be sent to the player and everyone tracking them.
+     * All changes made during the tick are sent together in one {@linkplain UMPlayerSyncS2CPacket packet} at the end of the tick.
+     * @param player The {@linkplain Player player} this data belongs to
+     */
     public final void sendUpdateFromServerToSelf(Player player)
     {
-        UMPackets.sendToAllTrackingEntityAndSelf(new UMCapabilitySyncS2CPacket(player, this), player);
+        UMPlayerSyncQueue.queue(player, this);
+    }
+
+    /**
+     * Queues all fields to be sent to the player and everyone tracking them, such as after the player has respawned
+     * @param player The {@linkplain Player player} this data belongs to
+     */
+    public final void sendFullUpdateFromServerToSelf(Player player)
+    {
+        this.markDirty(SYNC_ALL);
+        UMPlayerSyncQueue.queue(player, this);
     }
 }
@@ -0,0 +1,82 @@
+package net.laserdiamond.ultimatemanhunt.capability;
+
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.laserdiamond.ultimatemanhunt.network.UMPackets;
+import net.laserdiamond.ultimatemanhunt.network.packet.UMPlayerSyncS2CPacket;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the {@linkplain UMPlayer Manhunt player data} that changed during a tick on the SERVER.
+ * <p>At the end of the tick, each player's changed fields are sent once, no matter how many times the data was changed or synced during the tick.</p>
+ */
+@Mod.EventBusSubscriber(modid = UltimateManhunt.MODID)
+public final class UMPlayerSyncQueue {
+
+    private static final Map<Player, UMPlayer> PENDING = new LinkedHashMap<>();
+
+    private UMPlayerSyncQueue() {}
+
+    /**
+     * Queues the {@linkplain UMPlayer Manhunt player data} to be synced at the end of the tick
+     * @param player The {@linkplain Player player} the data belongs to
+     * @param umPlayer The {@linkplain UMPlayer Manhunt player data}
+     */
+    static void queue(Player player, UMPlayer umPlayer)
+    {
+        if (player.level().isClientSide)
+        {
+            return;
+        }
+        if (!player.getServer().isSameThread()) // Only the server thread flushes the queue
+        {
+            send(player, umPlayer);
+            return;
+        }
+        PENDING.put(player, umPlayer);
+    }
+
+    private static void send(Player player, UMPlayer umPlayer)
+    {
+        int fields = umPlayer.consumeDirtyFields();
+        if (fields == 0)
+        {
+            return; // Nothing changed
+        }
+        UMPlayerSyncS2CPacket packet = new UMPlayerSyncS2CPacket(player, umPlayer, fields);
+        UMPackets.sendToPlayer(packet, player);
+        UMPackets.sendToAllTrackingEntity(packet, player);
+    }
+
+    @SubscribeEvent(priority = EventPriority.HIGH)
+    public static void onServerTickPost(TickEvent.ServerTickEvent.Post event)
+    {
+        if (PENDING.isEmpty())
+        {
+            return;
+        }
+        for (Map.Entry<Player, UMPlayer> entry : PENDING.entrySet())
+        {
+            Player player = entry.getKey();
+            if (player.isRemoved())
+            {
+                continue; // Logged out, or replaced by a respawned player that is synced separately
+            }
+            send(player, entry.getValue());
+        }
+        PENDING.clear();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event)
+    {
+        PENDING.clear();
+    }
+}
@@ -0,0 +1,169 @@
+package net.laserdiamond.ultimatemanhunt.capability;
+
+import java.util.*;
+
+/**
+ * The participants of every {@linkplain Category category}, partitioned by dimension. Backs the {@linkplain UMRoleRegistry role registry},
+ * and is generic so the benchmarks can fill one with stand-ins instead of live player entities.
+ * <p>All returned lists are read-only views that are kept up to date, and must not be held onto while participants are being added or removed.</p>
+ * @param <P> The type of participant
+ * @param <D> The type of dimension key
+ */
+public final class UMRoleIndex<P, D> {
+
+    private final EnumMap<Category, RoleIndex<P, D>> indices = new EnumMap<>(Category.class);
+
+    public UMRoleIndex()
+    {
+        for (Category category : Category.values())
+        {
+            this.indices.put(category, new RoleIndex<>());
+        }
+    }
+
+    /**
+     * @param category The category to look in
+     * @return A read-only view of all the participants of the category
+     */
+    public List<P> get(Category category)
+    {
+        return this.indices.get(category).all.view;
+    }
+
+    /**
+     * @param category The category to look in
+     * @param dimension The dimension to look in
+     * @return A read-only view of all the participants of the category in the dimension
+     */
+    public List<P> get(Category category, D dimension)
+    {
+        return this.indices.get(category).get(dimension);
+    }
+
+    /**
+     * Gets the speed runners a hunter can track: every speed runner in the hunter's dimension
+     * @param hunter The participant that is assumed to be a hunter
+     * @param dimension The dimension the hunter is in
+     * @param hunterIsSpeedRunner True if the participant is actually indexed as a speed runner, in which case it is left out of the list
+     * @return A read-only {@link List} of the speed runners available to the hunter. A view, unless the participant had to be left out
+     */
+    public List<P> getAvailableSpeedRunners(P hunter, D dimension, boolean hunterIsSpeedRunner)
+    {
+        List<P> ret = this.get(Category.SPEED_RUNNER, dimension); // Only speed runners in the same dimension can be tracked
+        if (hunterIsSpeedRunner)
+        {
+            // In the event that the hunter is not assured to be a hunter, we don't want to track ourselves
+            List<P> withoutSelf = new ArrayList<>(ret);
+            withoutSelf.remove(hunter);
+            return Collections.unmodifiableList(withoutSelf);
+        }
+        return ret;
+    }
+
+    /**
+     * Adds the participant to the category in the dimension
+     * @param participant The participant to add
+     * @param category The category to add it to
+     * @param dimension The dimension the participant is in
+     */
+    public void add(P participant, Category category, D dimension)
+    {
+        this.indices.get(category).add(participant, dimension);
+    }
+
+    /**
+     * Removes the participant from the category in the dimension it was added with
+     * @param participant The participant to remove
+     * @param category The category it was added to
+     * @param dimension The dimension it was added with
+     */
+    public void remove(P participant, Category category, D dimension)
+    {
+        this.indices.get(category).remove(participant, dimension);
+    }
+
+    /**
+     * Removes every participant
+     */
+    public void clear()
+    {
+        this.indices.values().forEach(RoleIndex::clear);
+    }
+
+    /**
+     * The bucket a participant is indexed under
+     */
+    public enum Category
+    {
+        SPEED_RUNNER,
+        HUNTER,
+        SPECTATOR,
+
+        /**
+         * Speed runners that have run out of lives but have not been assigned a new role yet
+         */
+        NONE;
+
+        static Category of(UMPlayer umPlayer)
+        {
+            if (umPlayer.isSpeedRunner())
+            {
+                return SPEED_RUNNER;
+            } else if (umPlayer.isHunter())
+            {
+                return HUNTER;
+            } else if (umPlayer.isSpectator())
+            {
+                return SPECTATOR;
+            }
+            return NONE;
+        }
+    }
+
+    /**
+     * All the participants of one {@linkplain Category category}, partitioned by dimension
+     */
+    private static final class RoleIndex<P, D>
+    {
+        private final Bucket<P> all = new Bucket<>();
+        private final Map<D, Bucket<P>> byDimension = new HashMap<>();
+
+        private List<P> get(D dimension)
+        {
+            Bucket<P> bucket = this.byDimension.get(dimension);
+            if (bucket == null)
+            {
+                return Collections.emptyList();
+            }
+            return bucket.view;
+        }
+
+        private void add(P participant, D dimension)
+        {
+            this.all.participants.add(participant);
+            this.byDimension.computeIfAbsent(dimension, key -> new Bucket<>()).participants.add(participant);
+        }
+
+        private void remove(P participant, D dimension)
+        {
+            this.all.participants.remove(participant);
+            Bucket<P> bucket = this.byDimension.get(dimension);
+            if (bucket != null)
+            {
+                bucket.participants.remove(participant);
+            }
+        }
+
+        private void clear()
+        {
+            this.all.participants.clear();
+            this.byDimension.clear();
+        }
+    }
+
+    private static final class Bucket<P>
+    {
+        private final List<P> participants = new ArrayList<>();
+        private final List<P> view = Collections.unmodifiableList(this.participants);
+    }
+}
@@ -0,0 +1,309 @@
+package net.laserdiamond.ultimatemanhunt.capability;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.laserdiamond.ultimatemanhunt.UMGame;
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.laserdiamond.ultimatemanhunt.capability.UMRoleIndex.Category;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Server-side index of the {@linkplain UMGame.PlayerRole role} every online {@linkplain Player player} currently holds.
+ * <p>The index is updated whenever a role, life count, dimension or login state changes, so reading the speed runners, hunters or spectators
+ * never walks the server's player list or looks up a capability. The {@linkplain UMPlayer Manhunt player data} of a registered player is also kept by entity id,
+ * for the per-tick and damage paths. All returned lists are read-only views that are kept up to date, and must not be held onto
+ * while roles are being changed.</p>
+ */
+@Mod.EventBusSubscriber(modid = UltimateManhunt.MODID)
+public final class UMRoleRegistry {
+
+    private static final Map<UUID, Entry> ENTRIES_BY_UUID = new HashMap<>();
+    private static final Int2ObjectOpenHashMap<Entry> ENTRIES_BY_ID = new Int2ObjectOpenHashMap<>();
+    private static final Map<UMPlayer, Entry> ENTRIES_BY_DATA = new IdentityHashMap<>();
+    private static final List<Entry> ENTRIES = new ArrayList<>();
+    private static final UMRoleIndex<Player, ResourceKey<Level>> INDEX = new UMRoleIndex<>();
+
+    private UMRoleRegistry() {}
+
+    /**
+     * @return A read-only view of all the {@linkplain Player players} that are remaining speed runners
+     */
+    public static List<Player> getSpeedRunners()
+    {
+        return INDEX.get(Category.SPEED_RUNNER);
+    }
+
+    /**
+     * @param dimension The dimension to look in
+     * @return A read-only view of all the {@linkplain Player players} that are remaining speed runners in the dimension
+     */
+    public static List<Player> getSpeedRunners(ResourceKey<Level> dimension)
+    {
+        return INDEX.get(Category.SPEED_RUNNER, dimension);
+    }
+
+    /**
+     * @return A read-only view of all the {@linkplain Player players} that are hunters
+     */
+    public static List<Player> getHunters()
+    {
+        return INDEX.get(Category.HUNTER);
+    }
+
+    /**
+     * @param dimension The dimension to look in
+     * @return A read-only view of all the {@linkplain Player players} that are hunters in the dimension
+     */
+    public static List<Player> getHunters(ResourceKey<Level> dimension)
+    {
+        return INDEX.get(Category.HUNTER, dimension);
+    }
+
+    /**
+     * @return A read-only view of all the {@linkplain Player players} that are spectators
+     */
+    public static List<Player> getSpectators()
+    {
+        return INDEX.get(Category.SPECTATOR);
+    }
+
+    /**
+     * @param dimension The dimension to look in
+     * @return A read-only view of all the {@linkplain Player players} that are spectators in the dimension
+     */
+    public static List<Player> getSpectators(ResourceKey<Level> dimension)
+    {
+        return INDEX.get(Category.SPECTATOR, dimension);
+    }
+
+    /**
+     * @param player The {@linkplain Player player} to check
+     * @return True if the {@linkplain Player player} is currently indexed as a remaining speed runner
+     */
+    public static boolean isIndexedAsSpeedRunner(Player player)
+    {
+        Entry entry = ENTRIES_BY_UUID.get(player.getUUID());
+        return entry != null && entry.category == Category.SPEED_RUNNER;
+    }
+
+    /**
+     * @param player The {@linkplain Player player} to check
+     * @return True if the {@linkplain Player player} is currently indexed as a hunter
+     */
+    public static boolean isIndexedAsHunter(Player player)
+    {
+        Entry entry = ENTRIES_BY_UUID.get(player.getUUID());
+        return entry != null && entry.category == Category.HUNTER;
+    }
+
+    /**
+     * Gets all the {@linkplain Player player speed runners} available for the hunter to track
+     * @param playerHunter The {@linkplain Player player} that is assumed to be a hunter
+     * @return A read-only {@link List} of {@linkplain Player players} available for the hunter to track
+     */
+    public static List<Player> getAvailableSpeedRunners(Player playerHunter)
+    {
+        return INDEX.getAvailableSpeedRunners(playerHunter, playerHunter.level().dimension(), isIndexedAsSpeedRunner(playerHunter));
+    }
+
+    /**
+     * Gets the {@linkplain UMPlayer Manhunt player data} the {@linkplain Player player} was registered with, by entity id.
+     * Does not look up the capability or allocate, so it can be used on every tick and every hit.
+     * @param player The {@linkplain Player player}
+     * @return The {@linkplain UMPlayer Manhunt player data}, or null if the player is not registered
+     */
+    @Nullable
+    public static UMPlayer getUMPlayer(Player player)
+    {
+        Entry entry = ENTRIES_BY_ID.get(player.getId());
+        if (entry == null || entry.player != player) // Vanilla hands the entity id over to the new entity on respawn
+        {
+            return null;
+        }
+        return entry.umPlayer;
+    }
+
+    /**
+     * @return A copy of all the registered {@linkplain Player players}, safe to iterate while roles are being changed
+     */
+    static Player[] copyPlayers()
+    {
+        Player[] ret = new Player[ENTRIES.size()];
+        for (int i = 0; i < ret.length; i++)
+        {
+            ret[i] = ENTRIES.get(i).player;
+        }
+        return ret;
+    }
+
+    /**
+     * Adds the {@linkplain Player player} to the registry, replacing any previous entity registered under the same UUID
+     * @param player The {@linkplain Player player} to register
+     */
+    public static void register(Player player)
+    {
+        if (player.level().isClientSide)
+        {
+            return;
+        }
+        player.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(umPlayer ->
+        {
+            unregister(player);
+            Entry entry = new Entry(player, umPlayer);
+            ENTRIES_BY_UUID.put(player.getUUID(), entry);
+            ENTRIES_BY_ID.put(player.getId(), entry);
+            ENTRIES_BY_DATA.put(umPlayer, entry);
+            ENTRIES.add(entry);
+            index(entry);
+        });
+    }
+
+    /**
+     * Removes the {@linkplain Player player} from the registry
+     * @param player The {@linkplain Player player} to remove
+     */
+    public static void unregister(Player player)
+    {
+        Entry entry = ENTRIES_BY_UUID.remove(player.getUUID());
+        if (entry == null)
+        {
+            return;
+        }
+        ENTRIES_BY_DATA.remove(entry.umPlayer);
+        if (ENTRIES_BY_ID.get(entry.player.getId()) == entry)
+        {
+            ENTRIES_BY_ID.remove(entry.player.getId());
+        }
+        ENTRIES.remove(entry);
+        unindex(entry);
+    }
+
+    /**
+     * Re-indexes the {@linkplain Player player} owning the {@linkplain UMPlayer Manhunt player data} after its role or lives have changed.
+     * Does nothing if the data does not belong to a registered server player.
+     * @param umPlayer The {@linkplain UMPlayer Manhunt player data} that changed
+     */
+    static void refresh(UMPlayer umPlayer)
+    {
+        Entry entry = ENTRIES_BY_DATA.get(umPlayer);
+        if (entry != null)
+        {
+            reindex(entry);
+        }
+    }
+
+    /**
+     * Re-indexes the {@linkplain Player player} after it has changed dimension
+     * @param player The {@linkplain Player player} to re-index
+     */
+    public static void refresh(Player player)
+    {
+        Entry entry = ENTRIES_BY_UUID.get(player.getUUID());
+        if (entry == null || entry.player != player)
+        {
+            register(player); // Not registered, or registered under a previous entity
+            return;
+        }
+        reindex(entry);
+    }
+
+    private static void reindex(Entry entry)
+    {
+        Category category = Category.of(entry.umPlayer);
+        ResourceKey<Level> dimension = entry.player.level().dimension();
+        if (category == entry.category && dimension.equals(entry.dimension))
+        {
+            return; // Nothing changed
+        }
+        unindex(entry);
+        entry.category = category;
+        entry.dimension = dimension;
+        index(entry);
+    }
+
+    private static void index(Entry entry)
+    {
+        INDEX.add(entry.player, entry.category, entry.dimension);
+        if (entry.category == Category.SPEED_RUNNER)
+        {
+            UMTrackingRing.add(entry.player, entry.dimension);
+        }
+    }
+
+    private static void unindex(Entry entry)
+    {
+        INDEX.remove(entry.player, entry.category, entry.dimension);
+        if (entry.category == Category.SPEED_RUNNER)
+        {
+            UMTrackingRing.remove(entry.player, entry.dimension);
+        }
+    }
+
+    private static void clear()
+    {
+        ENTRIES_BY_UUID.clear();
+        ENTRIES_BY_ID.clear();
+        ENTRIES_BY_DATA.clear();
+        ENTRIES.clear();
+        INDEX.clear();
+        UMTrackingRing.clear();
+    }
+
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public static void onPlayerLogIn(PlayerEvent.PlayerLoggedInEvent event)
+    {
+        register(event.getEntity());
+    }
+
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public static void onPlayerLogOut(PlayerEvent.PlayerLoggedOutEvent event)
+    {
+        unregister(event.getEntity());
+    }
+
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public static void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event)
+    {
+        register(event.getEntity()); // Respawning creates a new player entity
+    }
+
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public static void onPlayerChangeDimension(PlayerEvent.PlayerChangedDimensionEvent event)
+    {
+        if (!event.getEntity().level().isClientSide)
+        {
+            refresh(event.getEntity());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event)
+    {
+        clear();
+    }
+
+    private static final class Entry
+    {
+        private final Player player;
+        private final UMPlayer umPlayer;
+        private Category category;
+        private ResourceKey<Level> dimension;
+
+        private Entry(Player player, UMPlayer umPlayer)
+        {
+            this.player = player;
+            this.umPlayer = umPlayer;
+            this.category = Category.of(umPlayer);
+            this.dimension = player.level().dimension();
+        }
+    }
+}
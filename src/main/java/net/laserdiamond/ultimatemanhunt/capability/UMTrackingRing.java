@@ -0,0 +1,252 @@
+package net.laserdiamond.ultimatemanhunt.capability;
+
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Server-side rings of the speed runners hunters can track, one per dimension.
+ * <p>Speed runners are linked into the ring of their dimension by the {@linkplain UMRoleRegistry role registry}, in the same order as its speed runner lists.
+ * Cycling to the next or previous speed runner follows a single link from the one being tracked, instead of rebuilding the list of available speed runners.
+ * A speed runner that leaves the ring keeps its links, and each hunter keeps a cursor on the last speed runner it moved to,
+ * so a hunter whose speed runner died, logged out or changed dimension still moves on to that speed runner's neighbours.</p>
+ */
+@Mod.EventBusSubscriber(modid = UltimateManhunt.MODID)
+public final class UMTrackingRing {
+
+    /**
+     * The fewest server ticks between two cycles requested by the same hunter over the network
+     */
+    public static final int MIN_CYCLE_INTERVAL_TICKS = 2;
+
+    /**
+     * The most speed runners that left the ring to walk past before starting over at the head of the ring
+     */
+    private static final int MAX_STALE_STEPS = 16;
+
+    private static final Map<ResourceKey<Level>, Ring> RINGS = new HashMap<>();
+    private static final Map<UUID, Cursor> CURSORS = new HashMap<>();
+
+    private UMTrackingRing() {}
+
+    /**
+     * Links the speed runner at the end of the ring of the dimension
+     * @param player The {@linkplain Player player} that is a speed runner
+     * @param dimension The dimension the speed runner is in
+     */
+    static void add(Player player, ResourceKey<Level> dimension)
+    {
+        RINGS.computeIfAbsent(dimension, key -> new Ring()).add(player);
+    }
+
+    /**
+     * Unlinks the speed runner from the ring of the dimension
+     * @param player The {@linkplain Player player} that was a speed runner
+     * @param dimension The dimension the speed runner was indexed in
+     */
+    static void remove(Player player, ResourceKey<Level> dimension)
+    {
+        Ring ring = RINGS.get(dimension);
+        if (ring != null)
+        {
+            ring.remove(player);
+        }
+    }
+
+    static void clear()
+    {
+        RINGS.clear();
+        CURSORS.clear();
+    }
+
+    /**
+     * Checks if the hunter is allowed to cycle again, and if so, starts a new interval. Keeps a hunter holding down the tracking keys from flooding the server.
+     * @param hunter The {@linkplain ServerPlayer player} that is a hunter
+     * @return True if at least {@link #MIN_CYCLE_INTERVAL_TICKS} ticks have passed since the hunter's last allowed cycle
+     */
+    public static boolean tryStartCycle(ServerPlayer hunter)
+    {
+        int tick = hunter.server.getTickCount();
+        Cursor cursor = CURSORS.computeIfAbsent(hunter.getUUID(), uuid -> new Cursor());
+        if (tick - cursor.lastCycleTick < MIN_CYCLE_INTERVAL_TICKS)
+        {
+            return false;
+        }
+        cursor.lastCycleTick = tick;
+        return true;
+    }
+
+    /**
+     * Moves the hunter on to the next or previous speed runner in the ring of their dimension
+     * @param hunter The {@linkplain Player player} that is a hunter
+     * @param trackedUUID The UUID of the speed runner the hunter is currently tracking
+     * @param isNext True to move to the next speed runner, false to move to the previous one
+     * @return The {@linkplain Player speed runner} to track now, or null if there is none the hunter can track
+     */
+    @Nullable
+    public static Player cycle(Player hunter, UUID trackedUUID, boolean isNext)
+    {
+        Ring ring = RINGS.get(hunter.level().dimension());
+        if (ring == null || ring.size == 0)
+        {
+            return null;
+        }
+        Cursor cursor = CURSORS.computeIfAbsent(hunter.getUUID(), uuid -> new Cursor());
+        Node from = ring.resolve(trackedUUID, cursor.node);
+        Node target;
+        if (from == null) // Not tracking anyone in this dimension. Start at either end
+        {
+            target = isNext ? ring.head : ring.head.prev;
+        } else
+        {
+            target = ring.step(from, isNext);
+        }
+        if (target.player == hunter) // Speed runners cannot track themselves
+        {
+            if (ring.size == 1)
+            {
+                return null;
+            }
+            target = isNext ? target.next : target.prev;
+        }
+        cursor.node = target;
+        return target.player;
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogOut(PlayerEvent.PlayerLoggedOutEvent event)
+    {
+        CURSORS.remove(event.getEntity().getUUID());
+    }
+
+    /**
+     * The speed runners of one dimension, as a circular doubly linked list
+     */
+    private static final class Ring
+    {
+        private final Map<UUID, Node> nodesByUUID = new HashMap<>();
+        private Node head;
+        private int size;
+
+        private void add(Player player)
+        {
+            Node node = new Node(this, player);
+            Node previous = this.nodesByUUID.put(node.uuid, node);
+            if (previous != null)
+            {
+                this.unlink(previous); // Registered under a previous entity
+            }
+            if (this.head == null)
+            {
+                node.next = node;
+                node.prev = node;
+                this.head = node;
+            } else
+            {
+                Node tail = this.head.prev;
+                node.prev = tail;
+                node.next = this.head;
+                tail.next = node;
+                this.head.prev = node;
+            }
+            this.size++;
+        }
+
+        private void remove(Player player)
+        {
+            Node node = this.nodesByUUID.get(player.getUUID());
+            if (node == null || node.player != player)
+            {
+                return;
+            }
+            this.nodesByUUID.remove(node.uuid);
+            this.unlink(node);
+        }
+
+        private void unlink(Node node)
+        {
+            node.linked = false;
+            this.size--;
+            if (this.size == 0)
+            {
+                this.head = null;
+                return;
+            }
+            // The node keeps its own links, so cursors left on it can still find its neighbours
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            if (this.head == node)
+            {
+                this.head = node.next;
+            }
+        }
+
+        /**
+         * @param trackedUUID The UUID of the speed runner the hunter is tracking
+         * @param cursor The node the hunter last moved to, if any
+         * @return The node to move on from, or null if the hunter is not tracking anyone in this ring
+         */
+        @Nullable
+        private Node resolve(UUID trackedUUID, @Nullable Node cursor)
+        {
+            Node tracked = this.nodesByUUID.get(trackedUUID);
+            if (tracked != null)
+            {
+                return tracked;
+            }
+            if (cursor != null && cursor.ring == this && cursor.uuid.equals(trackedUUID))
+            {
+                return cursor; // Left the ring since. Its links lead back in
+            }
+            return null;
+        }
+
+        private Node step(Node from, boolean isNext)
+        {
+            Node node = isNext ? from.next : from.prev;
+            for (int i = 0; !node.linked; i++)
+            {
+                if (i == MAX_STALE_STEPS)
+                {
+                    return this.head; // Too much has changed around the node
+                }
+                node = isNext ? node.next : node.prev;
+            }
+            return node;
+        }
+    }
+
+    private static final class Node
+    {
+        private final Ring ring;
+        private final Player player;
+        private final UUID uuid;
+        private Node prev;
+        private Node next;
+        private boolean linked = true;
+
+        private Node(Ring ring, Player player)
+        {
+            this.ring = ring;
+            this.player = player;
+            this.uuid = player.getUUID();
+        }
+    }
+
+    private static final class Cursor
+    {
+        @Nullable
+        private Node node;
+        private int lastCycleTick = -MIN_CYCLE_INTERVAL_TICKS;
+    }
+}
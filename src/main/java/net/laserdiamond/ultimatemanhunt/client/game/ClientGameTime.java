@@ -1,11 +1,35 @@
 package net.laserdiamond.ultimatemanhunt.client.game;
 
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
 /**
  * Game time on the CLIENT
+ * <p>The server only sends the game time when the game changes state or when the clock needs correcting.
+ * In between, the clock is advanced by one every client tick while the game is running. The client ticks at the server's
+ * tick rate (including {@code /tick rate} and {@code /tick freeze}), so the clock stays in step with the server.</p>
  */
+@Mod.EventBusSubscriber(modid = UltimateManhunt.MODID, value = Dist.CLIENT)
 public class ClientGameTime {
 
     private static long gameTime;
+    private static boolean running;
+
+    /**
+     * Anchors the clock to the server's game time
+     * @param gameTime The game time on the server
+     * @param running Whether the game time is advancing on the server
+     */
+    public static void sync(long gameTime, boolean running)
+    {
+        ClientGameTime.gameTime = Math.max(0, gameTime);
+        ClientGameTime.running = running;
+    }
 
     public static void setGameTime(long gameTime)
     {
@@ -16,4 +40,25 @@ public class ClientGameTime {
     {
         return ClientGameTime.gameTime;
     }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent.Post event)
+    {
+        if (!running)
+        {
+            return;
+        }
+        Minecraft minecraft = Minecraft.getInstance();
+        ClientLevel level = minecraft.level;
+        if (level == null)
+        {
+            running = false; // Left the world. Wait for the next sync
+            return;
+        }
+        if (minecraft.isPaused() || !level.tickRateManager().runsNormally())
+        {
+            return; // The server is not ticking the game either
+        }
+        gameTime++;
+    }
 }
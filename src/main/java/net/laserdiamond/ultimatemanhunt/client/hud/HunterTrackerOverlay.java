@@ -22,7 +22,6 @@ import net.minecraft.world.phys.Vec3;
 import org.joml.Matrix4fStack;
 
 import java.text.DecimalFormat;
-import java.util.UUID;
 
 public final class HunterTrackerOverlay implements UMHUDOverlay {
 
@@ -36,9 +35,7 @@ public final class HunterTrackerOverlay implements UMHUDOverlay {
         int drawY = guiGraphics.guiHeight() - 77;
 
         boolean areSpeedRunnersPresent = ClientTrackedSpeedRunner.areSpeedRunnersPresent();
-        float distance = ClientTrackedSpeedRunner.getDistance();
         String trackedPlayerName = ClientTrackedSpeedRunner.getTrackedPlayerName();
-        UUID trackedUUID = ClientTrackedSpeedRunner.getTrackedPlayerUUID();
         long gameTime = ClientGameTime.getGameTime();
 
         Camera camera = MINECRAFT.gameRenderer.getMainCamera();
@@ -52,49 +49,44 @@ public final class HunterTrackerOverlay implements UMHUDOverlay {
         if (gameTime >= ClientHunterGracePeriod.getGracePeriodDuration())
         {
 
-            if (areSpeedRunnersPresent)
+            if (areSpeedRunnersPresent) // Not tracking anyone (including self) is sent as no speed runners being present
             {
-                if (trackedUUID != player.getUUID()) // Do not track self
-                {
-                    guiGraphics.drawCenteredString(MINECRAFT.font, Component.literal(ChatFormatting.GREEN + trackedPlayerName + " is " + ChatFormatting.YELLOW + format.format(distance) + ChatFormatting.GREEN + " blocks away"), drawX, drawY, ChatFormatting.GREEN.getColor());
-
-                    Vec3 speedRunnerPos = ClientTrackedSpeedRunner.getPosition(); // Set the position to track
-                    Vec3 hunterCameraPos = camera.getPosition();
-
-                    double cameraDistanceToPlayer = hunterCameraPos.distanceTo(speedRunnerPos);
-                    double xDif = hunterCameraPos.x - speedRunnerPos.x;
-                    double yDif = hunterCameraPos.y - speedRunnerPos.y;
-                    double zDif = hunterCameraPos.z - speedRunnerPos.z;
-
-                    double yRot = Math.acos(yDif / cameraDistanceToPlayer) + (Math.PI * 3 / 2); // Angle to track vertical
-                    double xRotTan = Math.atan2(zDif, -xDif) + (Math.PI); // Angle to track horizontal axis
-
-                    Matrix4fStack matrix4fstack = RenderSystem.getModelViewStack();
-                    matrix4fstack.pushMatrix();
-                    matrix4fstack.mul(guiGraphics.pose().last().pose());
-                    matrix4fstack.translate((float) (guiGraphics.guiWidth() / 2), (float)(guiGraphics.guiHeight() / 2), 0.0F);
-
-                    // Set rotations for default position of the tracker
-                    // If the tracker is roughly in this position, you are heading towards the speed runner (line is flat on the screen)
-                    matrix4fstack.rotateX((float) ((-(camera.getXRot()) * Mth.DEG_TO_RAD) - yRot)); // Rotate tracker to locate player on y-axis
-                    matrix4fstack.rotateY((float) (((45F + camera.getYRot()) * Mth.DEG_TO_RAD) + xRotTan)); // Track on X and Z axis
-
-                    matrix4fstack.scale(-1.0F, -1.0F, -1.0F);
-                    RenderSystem.applyModelViewMatrix();
-                    renderTrackerLines(30, -16777216, -16711936, true, true);
-
-                    matrix4fstack.rotateY((float) (Math.PI / 4));
-                    matrix4fstack.rotateZ((float) (Math.PI / 2));
-
-                    RenderSystem.applyModelViewMatrix();
-                    renderTrackerLines(50, -16777216, -65536, false, true);
-
-                    matrix4fstack.popMatrix();
-                    RenderSystem.applyModelViewMatrix();
-                } else
-                {
-                    guiGraphics.drawCenteredString(MINECRAFT.font, Component.literal(ChatFormatting.RED + "This Speed Runner cannot be tracked from your current position"), drawX, drawY, ChatFormatting.RED.getColor());
-                }
+                Vec3 speedRunnerPos = ClientTrackedSpeedRunner.getPosition(); // Set the position to track. Interpolated between the samples from the server
+                double distance = player.getEyePosition(deltaTracker.getGameTimeDeltaPartialTick(true)).distanceTo(speedRunnerPos);
+                guiGraphics.drawCenteredString(MINECRAFT.font, Component.literal(ChatFormatting.GREEN + trackedPlayerName + " is " + ChatFormatting.YELLOW + format.format(distance) + ChatFormatting.GREEN + " blocks away"), drawX, drawY, ChatFormatting.GREEN.getColor());
+
+                Vec3 hunterCameraPos = camera.getPosition();
+
+                double cameraDistanceToPlayer = hunterCameraPos.distanceTo(speedRunnerPos);
+                double xDif = hunterCameraPos.x - speedRunnerPos.x;
+                double yDif = hunterCameraPos.y - speedRunnerPos.y;
+                double zDif = hunterCameraPos.z - speedRunnerPos.z;
+
+                double yRot = Math.acos(yDif / cameraDistanceToPlayer) + (Math.PI * 3 / 2); // Angle to track vertical
+                double xRotTan = Math.atan2(zDif, -xDif) + (Math.PI); // Angle to track horizontal axis
+
+                Matrix4fStack matrix4fstack = RenderSystem.getModelViewStack();
+                matrix4fstack.pushMatrix();
+                matrix4fstack.mul(guiGraphics.pose().last().pose());
+                matrix4fstack.translate((float) (guiGraphics.guiWidth() / 2), (float)(guiGraphics.guiHeight() / 2), 0.0F);
+
+                // Set rotations for default position of the tracker
+                // If the tracker is roughly in this position, you are heading towards the speed runner (line is flat on the screen)
+                matrix4fstack.rotateX((float) ((-(camera.getXRot()) * Mth.DEG_TO_RAD) - yRot)); // Rotate tracker to locate player on y-axis
+                matrix4fstack.rotateY((float) (((45F + camera.getYRot()) * Mth.DEG_TO_RAD) + xRotTan)); // Track on X and Z axis
+
+                matrix4fstack.scale(-1.0F, -1.0F, -1.0F);
+                RenderSystem.applyModelViewMatrix();
+                renderTrackerLines(30, -16777216, -16711936, true, true);
+
+                matrix4fstack.rotateY((float) (Math.PI / 4));
+                matrix4fstack.rotateZ((float) (Math.PI / 2));
+
+                RenderSystem.applyModelViewMatrix();
+                renderTrackerLines(50, -16777216, -65536, false, true);
+
+                matrix4fstack.popMatrix();
+                RenderSystem.applyModelViewMatrix();
             } else
             {
 //                guiGraphics.drawCenteredString(MINECRAFT.font, Component.literal(ChatFormatting.RED + "There are no Speed Runners nearby"), drawX, drawY, ChatFormatting.RED.getColor());
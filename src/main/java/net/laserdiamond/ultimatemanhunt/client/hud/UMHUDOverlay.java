@@ -31,7 +31,11 @@ public interface UMHUDOverlay extends LayeredDraw.Layer {
         }
         RenderSystem.enableBlend();
         this.setUpRender();
-        player.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(umPlayer -> onRender(player, umPlayer, guiGraphics, deltaTracker));
+        UMPlayer umPlayer = player.getCapability(UMPlayerCapability.UM_PLAYER).orElse(null);
+        if (umPlayer != null)
+        {
+            onRender(player, umPlayer, guiGraphics, deltaTracker);
+        }
         RenderSystem.disableBlend();
     }
 
@@ -1,64 +1,90 @@
 package net.laserdiamond.ultimatemanhunt.client.hunter;
 
+import net.laserdiamond.ultimatemanhunt.network.UMTrackingStream;
+import net.minecraft.Util;
+import net.minecraft.util.Mth;
 import net.minecraft.world.phys.Vec3;
 
-import java.util.UUID;
-
+/**
+ * The speed runner a hunter is tracking on the CLIENT.
+ * <p>The server sends the position in quantized samples at a rate based on distance. The position returned here is interpolated between the last two samples,
+ * so the tracker moves smoothly between them.</p>
+ */
 public class ClientTrackedSpeedRunner {
 
-    private static boolean speedRunnersPresent;
-    private static String playerName;
-    private static UUID playerUUID;
-    private static float distance;
-    private static Vec3 position;
-
-    public static void setSpeedRunnersPresent(boolean speedRunnersPresent)
-    {
-        ClientTrackedSpeedRunner.speedRunnersPresent = speedRunnersPresent;
-    }
-
-    public static boolean areSpeedRunnersPresent()
-    {
-        return ClientTrackedSpeedRunner.speedRunnersPresent;
-    }
+    private static int targetId = UMTrackingStream.NO_TARGET;
+    private static String playerName = "";
+    private static int x, y, z;
+    private static Vec3 previousPosition = Vec3.ZERO;
+    private static Vec3 position = Vec3.ZERO;
+    private static long sampleTimeMillis;
+    private static long sampleDurationMillis;
 
-    public static void setTrackedPlayerName(String playerName)
+    /**
+     * Starts tracking a speed runner, jumping straight to its position. Also sent when the speed runner teleported too far for an offset.
+     */
+    public static void setTarget(int targetId, String playerName, int x, int y, int z, int interval)
     {
+        ClientTrackedSpeedRunner.targetId = targetId;
         ClientTrackedSpeedRunner.playerName = playerName;
+        setSample(x, y, z, interval, true);
     }
 
-    public static String getTrackedPlayerName()
+    /**
+     * Moves the tracked speed runner by a quantized offset. Ignored if the offset is for a speed runner that is no longer tracked.
+     */
+    public static void moveTarget(int targetId, int dx, int dy, int dz, int interval)
     {
-        return ClientTrackedSpeedRunner.playerName;
+        if (ClientTrackedSpeedRunner.targetId != targetId)
+        {
+            return;
+        }
+        setSample(x + dx, y + dy, z + dz, interval, false);
     }
 
-    public static void setTrackedPlayerUUID(UUID playerUUID)
+    public static void clearTarget()
     {
-        ClientTrackedSpeedRunner.playerUUID = playerUUID;
+        ClientTrackedSpeedRunner.targetId = UMTrackingStream.NO_TARGET;
     }
 
-    public static UUID getTrackedPlayerUUID()
+    private static void setSample(int x, int y, int z, int interval, boolean snap)
     {
-        return ClientTrackedSpeedRunner.playerUUID;
+        long now = Util.getMillis();
+        Vec3 from = getPosition(now);
+        ClientTrackedSpeedRunner.x = x;
+        ClientTrackedSpeedRunner.y = y;
+        ClientTrackedSpeedRunner.z = z;
+        ClientTrackedSpeedRunner.position = new Vec3((double) x / UMTrackingStream.POSITION_SCALE, (double) y / UMTrackingStream.POSITION_SCALE, (double) z / UMTrackingStream.POSITION_SCALE);
+        ClientTrackedSpeedRunner.previousPosition = snap ? ClientTrackedSpeedRunner.position : from; // Continue from wherever the tracker currently is
+        ClientTrackedSpeedRunner.sampleTimeMillis = now;
+        ClientTrackedSpeedRunner.sampleDurationMillis = interval * 50L; // The next sample is due after the interval
     }
 
-    public static void setDistance(float distance)
+    public static boolean areSpeedRunnersPresent()
     {
-        ClientTrackedSpeedRunner.distance = distance;
+        return ClientTrackedSpeedRunner.targetId != UMTrackingStream.NO_TARGET;
     }
 
-    public static float getDistance()
+    public static String getTrackedPlayerName()
     {
-        return ClientTrackedSpeedRunner.distance;
+        return ClientTrackedSpeedRunner.playerName;
     }
 
-    public static void setPosition(Vec3 position)
+    /**
+     * @return The interpolated position of the tracked speed runner's eyes
+     */
+    public static Vec3 getPosition()
     {
-        ClientTrackedSpeedRunner.position = position;
+        return getPosition(Util.getMillis());
     }
 
-    public static Vec3 getPosition()
+    private static Vec3 getPosition(long now)
     {
-        return ClientTrackedSpeedRunner.position;
+        if (sampleDurationMillis <= 0)
+        {
+            return position;
+        }
+        double progress = Mth.clamp((double) (now - sampleTimeMillis) / sampleDurationMillis, 0.0, 1.0);
+        return previousPosition.lerp(position, progress);
     }
 }
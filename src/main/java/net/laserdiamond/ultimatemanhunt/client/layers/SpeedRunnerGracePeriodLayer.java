@@ -2,6 +2,7 @@ package net.laserdiamond.ultimatemanhunt.client.layers;
 
 import com.mojang.blaze3d.vertex.PoseStack;
 import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.laserdiamond.ultimatemanhunt.capability.UMPlayer;
 import net.laserdiamond.ultimatemanhunt.capability.UMPlayerCapability;
 import net.laserdiamond.ultimatemanhunt.client.models.GracePeriodArmorModel;
 import net.minecraft.client.model.PlayerModel;
@@ -33,15 +34,13 @@ public final class SpeedRunnerGracePeriodLayer extends RenderLayer<AbstractClien
         // We want to check if the player was last killed by the hunter and if the player is a hunter through the capability because it is saved TO THE PLAYER
         // The Client values are results from the packet. Checking purely with those will render the shield on the client for all players
 
-        player.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(umPlayer ->
+        UMPlayer umPlayer = player.getCapability(UMPlayerCapability.UM_PLAYER).orElse(null);
+        if (umPlayer != null && umPlayer.isSpeedRunner() && umPlayer.isWasLastKilledByHunter())
         {
-            if (umPlayer.isSpeedRunner() && umPlayer.isWasLastKilledByHunter())
+            if (umPlayer.isSpeedRunnerOnGracePeriodClient())
             {
-                if (umPlayer.isSpeedRunnerOnGracePeriodClient())
-                {
-                    GracePeriodArmorModel.render(this.getParentModel(), this.gracePeriodArmorModel, TEXTURE, poseStack, multiBufferSource, packedLight, player, limbSwing, limbSwingAmount, ageInTicks, netHeadYaw, headPitch);
-                }
+                GracePeriodArmorModel.render(this.getParentModel(), this.gracePeriodArmorModel, TEXTURE, poseStack, multiBufferSource, packedLight, player, limbSwing, limbSwingAmount, ageInTicks, netHeadYaw, headPitch);
             }
-        });
+        }
     }
 }
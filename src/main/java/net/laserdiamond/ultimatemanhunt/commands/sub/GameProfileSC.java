@@ -57,13 +57,14 @@ public final class GameProfileSC extends UltimateManhuntCommands.SubCommand {
     private static int saveGameProfile(CommandContext<CommandSourceStack> commandContext, String profileName)
     {
         int i = 0;
-        if (UMGameSettingProfileConfig.doesGameProfileFileExist(profileName))
+        boolean overwrite = UMGameSettingProfileConfig.doesGameProfileFileExist(profileName);
+        new UMGameSettingProfileConfig(profileName).saveSettingsToFile();
+        if (overwrite)
         {
             commandContext.getSource().sendSuccess(() -> Component.literal("Overwrote settings for Game Profile \"" + profileName + "\""), true);
             i++;
             return i;
         }
-        new UMGameSettingProfileConfig(profileName).saveSettingsToFile();
         commandContext.getSource().sendSuccess(() -> Component.literal("Saved new Game Profile \"" + profileName + "\" to file."), true);
         i++;
         return i;
@@ -0,0 +1,84 @@
+package net.laserdiamond.ultimatemanhunt.commands.sub;
+
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.laserdiamond.ultimatemanhunt.commands.UltimateManhuntCommands;
+import net.laserdiamond.ultimatemanhunt.perf.UMPerf;
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+
+import java.util.List;
+
+/**
+ * Shows how much server time, memory and bandwidth the mod is using, as measured by {@linkplain UMPerf UMPerf}
+ */
+public class PerfSC extends UltimateManhuntCommands.SubCommand {
+
+    public PerfSC(LiteralArgumentBuilder<CommandSourceStack> argumentBuilder) {
+        super(argumentBuilder
+                .then(
+                        Commands.literal("perf")
+                                .requires(UltimateManhunt::hasPermission)
+                                .executes(PerfSC::showReport)
+                                .then(
+                                        Commands.literal("reset")
+                                                .executes(PerfSC::resetReport)
+                                )
+                ));
+    }
+
+    private static String millis(long nanos)
+    {
+        return String.format("%.3f ms", nanos / 1_000_000.0);
+    }
+
+    private static String bytes(long bytes)
+    {
+        if (bytes < 1024)
+        {
+            return bytes + " B";
+        } else if (bytes < 1024 * 1024)
+        {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private static int showReport(CommandContext<CommandSourceStack> commandContext)
+    {
+        CommandSourceStack source = commandContext.getSource();
+        long serverTickTime = source.getServer().getAverageTickTimeNanos();
+
+        source.sendSuccess(() -> Component.literal(ChatFormatting.GOLD + "Ultimate Manhunt" + ChatFormatting.WHITE + " cost per tick over the last " + UMPerf.getWindowFill() + " ticks (server: " + millis(serverTickTime) + " per tick)"), false);
+        for (UMPerf.HandlerSummary summary : UMPerf.summarizeHandlers())
+        {
+            String allocated = UMPerf.isAllocationTracked() ? ", " + bytes(summary.bytesPerTick()) + " allocated" : "";
+            source.sendSuccess(() -> Component.literal(ChatFormatting.AQUA + summary.handler() + ChatFormatting.WHITE + ": " + millis(summary.meanTimePerTick()) + " mean, " + millis(summary.maxTimePerTick()) + " max, "
+                    + String.format("%.1f", summary.callsPerTick()) + " calls" + allocated + ", longest call " + millis(summary.maxCallTime())), false);
+        }
+
+        List<UMPerf.PacketSummary> packets = UMPerf.summarizePackets();
+        double seconds = Math.max(UMPerf.getSecondsSinceReset(), 1);
+        source.sendSuccess(() -> Component.literal(ChatFormatting.GOLD + "Messages" + ChatFormatting.WHITE + " over the last " + String.format("%.0f", seconds) + " seconds:"), false);
+        if (packets.isEmpty())
+        {
+            source.sendSuccess(() -> Component.literal("None"), false);
+        }
+        for (UMPerf.PacketSummary summary : packets)
+        {
+            source.sendSuccess(() -> Component.literal(ChatFormatting.AQUA + summary.type() + ChatFormatting.WHITE + ": sent " + summary.sent() + " (" + bytes(summary.sentBytes()) + ", " + bytes((long) (summary.sentBytes() / seconds)) + "/s)"
+                    + (summary.received() > 0 ? ", received " + summary.received() + " (" + bytes(summary.receivedBytes()) + ")" : "")), false);
+        }
+        return 1;
+    }
+
+    private static int resetReport(CommandContext<CommandSourceStack> commandContext)
+    {
+        UMPerf.reset();
+        commandContext.getSource().sendSuccess(() -> Component.literal("Reset the " + ChatFormatting.GOLD + "Ultimate Manhunt" + ChatFormatting.WHITE + " performance counters"), true);
+        return 1;
+    }
+}
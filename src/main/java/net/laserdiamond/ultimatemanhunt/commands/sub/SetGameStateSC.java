@@ -7,6 +7,7 @@ import net.laserdiamond.ultimatemanhunt.UMGame;
 import net.laserdiamond.ultimatemanhunt.api.event.UltimateManhuntGameStateEvent;
 import net.laserdiamond.ultimatemanhunt.capability.UMPlayer;
 import net.laserdiamond.ultimatemanhunt.commands.UltimateManhuntCommands;
+import net.laserdiamond.ultimatemanhunt.game.UMSpawnPreparer;
 import net.laserdiamond.ultimatemanhunt.util.file.UMGameSettingProfileConfig;
 import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandSourceStack;
@@ -33,6 +34,10 @@ public final class SetGameStateSC extends UltimateManhuntCommands.SubCommand {
                                                                 .executes(commandContext -> startGameFromProfile(commandContext, StringArgumentType.getString(commandContext, "game_profile_name")))
                                                 )
                                 )
+                                .then(
+                                        Commands.literal("prepare")
+                                                .executes(SetGameStateSC::prepareSpawn)
+                                )
                                 .then(
                                         Commands.literal("pause")
                                                 .executes(commandContext -> changeGameState(commandContext, UMGame.State.PAUSED))
@@ -79,6 +84,41 @@ public final class SetGameStateSC extends UltimateManhuntCommands.SubCommand {
         }
     }
 
+    /**
+     * Checks if the area around the game spawn has been prepared before starting the game.
+     * Starting is blocked while the area is still being prepared, and a warning is given if it was never prepared.
+     * @param source The {@linkplain CommandSourceStack command source} starting the game
+     * @return True if the game can start
+     */
+    private static boolean checkSpawnPrepared(CommandSourceStack source)
+    {
+        switch (UMSpawnPreparer.getStatus())
+        {
+            case PREPARING ->
+            {
+                source.sendFailure(Component.literal(ChatFormatting.RED + "Cannot start the game while the spawn is still being prepared (" + UMSpawnPreparer.getProgress() + "%)"));
+                return false;
+            }
+            case NOT_PREPARED -> source.sendSystemMessage(Component.literal(ChatFormatting.YELLOW + "The spawn was not prepared, so the server may freeze while it generates. Use \"gameState prepare\" before starting to avoid this"));
+        }
+        return true;
+    }
+
+    private static int prepareSpawn(CommandContext<CommandSourceStack> commandContext)
+    {
+        int i = 0;
+
+        if (UMGame.State.hasGameBeenStarted())
+        {
+            commandContext.getSource().sendFailure(Component.literal(ChatFormatting.RED + "Cannot prepare the spawn when a game has already been started!"));
+            return i;
+        }
+        UMSpawnPreparer.prepare(commandContext.getSource().getServer().overworld(), commandContext.getSource());
+        i++;
+
+        return i;
+    }
+
     private static int changeGameState(CommandContext<CommandSourceStack> commandContext, UMGame.State newGameState)
     {
         int i = 0;
@@ -97,6 +137,11 @@ public final class SetGameStateSC extends UltimateManhuntCommands.SubCommand {
 //            }
 //        }
 
+        if (newGameState == UMGame.State.STARTED && !checkSpawnPrepared(commandContext.getSource()))
+        {
+            return i;
+        }
+
         if (UMGame.setCurrentGameState(newGameState)) // Check that the game state has changed
         {
             switch (newGameState)
@@ -120,11 +165,20 @@ public final class SetGameStateSC extends UltimateManhuntCommands.SubCommand {
     {
         int i = 0;
 
+        if (UMGame.State.hasGameBeenStarted())
+        {
+            commandContext.getSource().sendFailure(Component.literal(ChatFormatting.RED + "Cannot start game from Game Profile \"" + profileName + "\" because a game has already been started!"));
+            return i;
+        }
         if (!UMGameSettingProfileConfig.doesGameProfileFileExist(profileName))
         {
             commandContext.getSource().sendFailure(Component.literal(ChatFormatting.RED + "Cannot start game from Game Profile \"" + profileName + "\" because it does not exist"));
             return i;
         }
+        if (!checkSpawnPrepared(commandContext.getSource()))
+        {
+            return i;
+        }
         new UMGameSettingProfileConfig(profileName).applySettingsToGame();
         if (UMGame.setCurrentGameState(UMGame.State.STARTED))
         {
@@ -3,9 +3,10 @@ package net.laserdiamond.ultimatemanhunt.commands.sub;
 import com.mojang.brigadier.arguments.BoolArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
-import net.laserdiamond.laserutils.util.raycast.ServerRayCast;
 import net.laserdiamond.ultimatemanhunt.UMGame;
 import net.laserdiamond.ultimatemanhunt.commands.UltimateManhuntCommands;
+import net.laserdiamond.ultimatemanhunt.game.UMSpawnPreparer;
+import net.laserdiamond.ultimatemanhunt.game.UMSpawnResolver;
 import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
@@ -13,13 +14,8 @@ import net.minecraft.commands.arguments.coordinates.Vec2Argument;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.entity.Entity;
-import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.Vec2;
-import net.minecraft.world.phys.Vec3;
-
-import java.util.List;
 
 public final class SetSpawnCommand extends UltimateManhuntCommands.SubCommand {
 
@@ -59,14 +55,8 @@ public final class SetSpawnCommand extends UltimateManhuntCommands.SubCommand {
             return i;
         }
 
-        ServerRayCast<Player, Double, Double> src = ServerRayCast.create(sl, new Vec3(x, sl.getMaxBuildHeight() + 2, z), Entity::isAttackable, Player.class, List.of());
-        src.setCanPierceEntities()
-                .setStepIncrement(1)
-                .fireAtVec3D(new Vec3(x, sl.getMinBuildHeight(), z), 0);
-
-        Vec3 lastPos = src.getCurrentPosition();
         UMGame.setXAndZSpawnCoordinate((int) x, (int) z);
-        BlockPos spawnPos = new BlockPos(((int) lastPos.x), ((int) lastPos.y), ((int) lastPos.z));
+        BlockPos spawnPos = BlockPos.containing(UMSpawnResolver.resolve(sl)); // Resolved once here, and reused when the game starts
         commandContext.getSource().sendSuccess(() -> Component.literal("Set Ultimate Manhunt spawn to: X:" + spawnPos.getX() + ", Y: " + spawnPos.getY() + ", Z: " + spawnPos.getZ()), true);
 
         if (moveWorldSpawn)
@@ -74,6 +64,7 @@ public final class SetSpawnCommand extends UltimateManhuntCommands.SubCommand {
             sl.setDefaultSpawnPos(spawnPos, 0);
             commandContext.getSource().sendSuccess(() -> Component.translatable("commands.setworldspawn.success", spawnPos.getX(), spawnPos.getY(), spawnPos.getZ(), 0), true);
         }
+        UMSpawnPreparer.prepare(sl, commandContext.getSource()); // Start generating the area around the new spawn right away
 
 
         i++;
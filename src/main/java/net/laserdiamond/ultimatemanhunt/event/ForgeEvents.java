@@ -9,6 +9,7 @@ import net.laserdiamond.ultimatemanhunt.capability.UMPlayerCapability;
 import net.laserdiamond.ultimatemanhunt.commands.*;
 import net.laserdiamond.ultimatemanhunt.commands.sub.GameProfileSC;
 import net.laserdiamond.ultimatemanhunt.commands.sub.GracePeriodSC;
+import net.laserdiamond.ultimatemanhunt.commands.sub.PerfSC;
 import net.laserdiamond.ultimatemanhunt.commands.sub.SetGameStateSC;
 import net.laserdiamond.ultimatemanhunt.commands.sub.SetSpawnCommand;
 import net.laserdiamond.ultimatemanhunt.commands.sub.gamerule.AllowWindTorchesSC;
@@ -20,16 +21,18 @@ import net.laserdiamond.ultimatemanhunt.commands.sub.lives.SetMaxLivesSC;
 import net.laserdiamond.ultimatemanhunt.commands.sub.playerrole.SetCurrentPlayerRoleSC;
 import net.laserdiamond.ultimatemanhunt.commands.sub.playerrole.SetDeadPlayerRoleSC;
 import net.laserdiamond.ultimatemanhunt.commands.sub.playerrole.SetNewPlayerRoleSC;
+import net.laserdiamond.ultimatemanhunt.game.UMAttackPolicy;
+import net.laserdiamond.ultimatemanhunt.game.UMGameSettings;
+import net.laserdiamond.ultimatemanhunt.game.UMMatchSnapshot;
+import net.laserdiamond.ultimatemanhunt.game.UMRoleTransition;
 import net.laserdiamond.ultimatemanhunt.item.UMItems;
 import net.laserdiamond.ultimatemanhunt.item.WindTorchItem;
 import net.laserdiamond.ultimatemanhunt.network.UMPackets;
+import net.laserdiamond.ultimatemanhunt.network.packet.game.GameSettingsS2CPacket;
 import net.laserdiamond.ultimatemanhunt.network.packet.game.GameStateS2CPacket;
-import net.laserdiamond.ultimatemanhunt.network.packet.game.HardcoreUpdateS2CPacket;
 import net.laserdiamond.ultimatemanhunt.network.packet.game.RemainingPlayerCountS2CPacket;
-import net.laserdiamond.ultimatemanhunt.network.packet.hunter.HunterGracePeriodDurationS2CPacket;
 import net.laserdiamond.ultimatemanhunt.network.packet.speedrunner.SpeedRunnerDistanceFromHunterS2CPacket;
-import net.laserdiamond.ultimatemanhunt.network.packet.speedrunner.SpeedRunnerGracePeriodDurationS2CPacket;
-import net.laserdiamond.ultimatemanhunt.network.packet.speedrunner.SpeedRunnerMaxLifeChangeS2CPacket;
+import net.laserdiamond.ultimatemanhunt.perf.UMPerf;
 import net.laserdiamond.ultimatemanhunt.sound.UMSoundEvents;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
@@ -97,10 +100,24 @@ public class ForgeEvents {
         event.registerSubCommand(UltimateManhunt.fromUMPath("set_spawn"), SetSpawnCommand::new);
 
         event.registerSubCommand(UltimateManhunt.fromUMPath("grace_period"), GracePeriodSC::new);
+
+        event.registerSubCommand(UltimateManhunt.fromUMPath("perf"), PerfSC::new);
     }
 
     @SubscribeEvent
     public static void onDeath(LivingDeathEvent event)
+    {
+        UMPerf.begin(UMPerf.Handler.DEATH);
+        try
+        {
+            handleDeath(event);
+        } finally
+        {
+            UMPerf.end(UMPerf.Handler.DEATH);
+        }
+    }
+
+    private static void handleDeath(LivingDeathEvent event)
     {
         if (UMGame.State.isGameNotInProgress()) // Is a game in progress?
         {
@@ -119,135 +136,127 @@ public class ForgeEvents {
                 return; // ensure we are on the server
             }
             Entity sourceEntity = event.getSource().getEntity();
-            deadPlayer.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(deadUMPlayer ->
+            UMMatchSnapshot snapshot = UMMatchSnapshot.get();
+            int deadRunner = snapshot.runnerIndexOf(deadPlayer);
+            if (deadRunner != -1) // Was the dead player a speed runner?
             {
-                if (deadUMPlayer.isSpeedRunner())
+                if (UMGame.isHardcore())
                 {
-                    if (UMGame.isHardcore())
+                    MinecraftForge.EVENT_BUS.post(new SpeedRunnerLifeLossEvent(deadPlayer, null));
+                    return; // Took life from hardcore speed runner, end method
+                }
+                if (sourceEntity instanceof Player killer)
+                {
+                    if (snapshot.hunterIndexOf(killer) != -1)
                     {
-                        MinecraftForge.EVENT_BUS.post(new SpeedRunnerLifeLossEvent(deadPlayer, null));
-                        return; // Took life from hardcore speed runner, end method
-                    }
-                    if (sourceEntity instanceof Player killer)
+                        MinecraftForge.EVENT_BUS.post(new SpeedRunnerLifeLossEvent(deadPlayer, killer));
+                    } else
                     {
-                        killer.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(umPlayer ->
+                        if (snapshot.isNearHunter(deadRunner))
                         {
-                            if (umPlayer.isHunter())
-                            {
-                                MinecraftForge.EVENT_BUS.post(new SpeedRunnerLifeLossEvent(deadPlayer, killer));
-                            } else
-                            {
-                                if (isNearHunter(deadPlayer))
-                                {
-                                    MinecraftForge.EVENT_BUS.post(new SpeedRunnerLifeLossEvent(deadPlayer, killer));
-                                }
-                            }
-                        });
-                        return;
+                            MinecraftForge.EVENT_BUS.post(new SpeedRunnerLifeLossEvent(deadPlayer, killer));
+                        }
                     }
-                    if (isNearHunter(deadPlayer))
-                    {
-                        MinecraftForge.EVENT_BUS.post(new SpeedRunnerLifeLossEvent(deadPlayer, null));
+                    return;
+                }
+                if (snapshot.isNearHunter(deadRunner))
+                {
+                    MinecraftForge.EVENT_BUS.post(new SpeedRunnerLifeLossEvent(deadPlayer, null));
 
-                    }
-                } else if (deadUMPlayer.isHunter()) // Player is a hunter
+                }
+            } else if (snapshot.hunterIndexOf(deadPlayer) != -1) // Player is a hunter
+            {
+                if (snapshot.areHuntersOnGracePeriod()) // Are hunters on grace period?
                 {
-                    if (UMGame.areHuntersOnGracePeriod()) // Are hunters on grace period?
-                    {
-                        // On grace period. Cancel death and set health back
-                        event.setCanceled(true);
-                        deadPlayer.setHealth(deadPlayer.getMaxHealth());
-                    }
+                    // On grace period. Cancel death and set health back
+                    event.setCanceled(true);
+                    deadPlayer.setHealth(deadPlayer.getMaxHealth());
                 }
-            });
+            }
         }
     }
 
-    private static boolean isNearHunter(Player playerSpeedRunner)
+    @SubscribeEvent
+    public static void onLivingHurt(LivingHurtEvent event)
     {
-        for (Player playerHunter : UMPlayer.getHunters(false)) // Loop through all hunters
+        UMPerf.begin(UMPerf.Handler.LIVING_HURT);
+        try
+        {
+            handleLivingHurt(event);
+        } finally
         {
-            return UMGame.isNearHunter(playerSpeedRunner, playerHunter);
+            UMPerf.end(UMPerf.Handler.LIVING_HURT);
         }
-        return false;
     }
 
-    @SubscribeEvent
-    public static void onLivingHurt(LivingHurtEvent event)
+    private static void handleLivingHurt(LivingHurtEvent event)
     {
         LivingEntity hurtEntity = event.getEntity();
-        if (UMGame.State.isGameNotInProgress()) // Is the game not in progress?
+        if (!(hurtEntity instanceof Player player)) // Most hurt entities are mobs. Only the Ender Dragon is of interest
         {
-            if (hurtEntity.getType() == EntityType.ENDER_DRAGON) // Is the hurt entity an Ender Dragon?
+            if (hurtEntity.getType() == EntityType.ENDER_DRAGON && UMGame.State.isGameNotInProgress()) // Is the hurt entity an Ender Dragon, with no game in progress?
             {
                 event.setCanceled(true); // Game is not in progress and hurt entity was Ender Dragon. Cancel event
             }
-        } else if (UMGame.State.isGameRunning())
+            return;
+        }
+        if (UMGame.State.isGameRunning())
         {
-            if (hurtEntity instanceof Player player)
+            UMMatchSnapshot snapshot = UMMatchSnapshot.get();
+            if (snapshot.areHuntersOnGracePeriod() && snapshot.hunterIndexOf(player) != -1)
             {
-                player.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(umPlayer ->
-                {
-                    if (umPlayer.isHunter() && UMGame.areHuntersOnGracePeriod())
-                    {
-                        event.setCanceled(true);
-                    }
-                });
-
+                event.setCanceled(true);
             }
         }
-
     }
 
     @SubscribeEvent
     public static void onLivingAttack(LivingAttackEvent event)
     {
-        LivingEntity living = event.getEntity();
-        if (living instanceof Player attackedPlayer)
+        UMPerf.begin(UMPerf.Handler.LIVING_ATTACK);
+        try
         {
-            Entity attacker = event.getSource().getEntity();
-            if (attacker == null)
-            {
-                return;
-            }
-            if (attacker.level().isClientSide)
-            {
-                return; // Ensure we are on the client
-            }
-            if (attacker instanceof Player attackingPlayer)
-            {
-                attackingPlayer.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(attackingUMPlayer ->
-                {
-                    attackedPlayer.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(attackedUMPlayer ->
-                    {
-                        if (attackingUMPlayer.isHunter())
-                        {
-                            if (attackedUMPlayer.isHunter())
-                            {
-                                if (!UMGame.isFriendlyFire())
-                                {
-                                    event.setCanceled(true);
-                                }
+            handleLivingAttack(event);
+        } finally
+        {
+            UMPerf.end(UMPerf.Handler.LIVING_ATTACK);
+        }
+    }
 
-                            } else if (attackedUMPlayer.isSpeedRunner())
-                            {
-                                if (attackedUMPlayer.isWasLastKilledByHunter() && UMPlayer.isSpeedRunnerOnGracePeriodServer(attackedPlayer))
-                                {
-                                    long duration = (attackedUMPlayer.getGracePeriodTimeStamp() - UMGame.getCurrentGameTime()) / 20;
-                                    attackingPlayer.sendSystemMessage(Component.literal(ChatFormatting.BLUE + attackedPlayer.getName().getString() + " is immune to hunters for " + ChatFormatting.YELLOW + duration + ChatFormatting.BLUE + " seconds"));
-                                    event.setCanceled(true); // Hunter cannot attack speed runners on grace period
-                                }
-                            }
-                        } else if (attackingUMPlayer.isSpeedRunner())
-                        {
-                            if (attackedUMPlayer.isSpeedRunner() && !UMGame.isFriendlyFire())
-                            {
-                                event.setCanceled(true);
-                            }
-                        }
-                    });
-                });
+    private static void handleLivingAttack(LivingAttackEvent event)
+    {
+        if (!(event.getEntity() instanceof Player attackedPlayer))
+        {
+            return; // Only attacks on players are of interest
+        }
+        Entity attacker = event.getSource().getEntity();
+        if (UMRoleTransition.isPending(attackedPlayer) || (attacker instanceof Player frozenAttacker && UMRoleTransition.isPending(frozenAttacker)))
+        {
+            event.setCanceled(true); // Frozen players cannot be hurt or hurt others until the role transition reaches them
+            return;
+        }
+        if (!(attacker instanceof Player attackingPlayer))
+        {
+            return;
+        }
+        if (attacker.level().isClientSide)
+        {
+            return; // Ensure we are on the server
+        }
+        UMMatchSnapshot snapshot = UMMatchSnapshot.get();
+        int attackedRunner = snapshot.runnerIndexOf(attackedPlayer);
+        boolean attackedImmune = attackedRunner != -1 && snapshot.wasRunnerLastKilledByHunter(attackedRunner) && snapshot.isRunnerOnGracePeriod(attackedRunner);
+        int attackedRole = attackedRunner != -1 ? UMAttackPolicy.SPEED_RUNNER : UMAttackPolicy.roleOf(snapshot, attackedPlayer);
+        switch (UMGame.getAttackPolicy().get(UMAttackPolicy.roleOf(snapshot, attackingPlayer), attackedRole, attackedImmune))
+        {
+            case CANCEL -> event.setCanceled(true);
+            case CANCEL_IMMUNE ->
+            {
+                long duration = (snapshot.getRunnerGraceExpiry(attackedRunner) - snapshot.getGameTime()) / 20;
+                attackingPlayer.sendSystemMessage(Component.literal(ChatFormatting.BLUE + attackedPlayer.getName().getString() + " is immune to hunters for " + ChatFormatting.YELLOW + duration + ChatFormatting.BLUE + " seconds"));
+                event.setCanceled(true); // Hunter cannot attack speed runners on grace period
             }
+            default -> {}
         }
     }
 
@@ -262,13 +271,11 @@ public class ForgeEvents {
         }
 
         UMPackets.sendToPlayer(new GameStateS2CPacket(UMGame.getCurrentGameState()), player); // Let player know the current game state as soon as they join
-        UMPackets.sendToPlayer(new HardcoreUpdateS2CPacket(UMGame.isHardcore()), player); // Let the player know whether hardcore is enabled
-        UMPackets.sendToPlayer(new HunterGracePeriodDurationS2CPacket(UMGame.getHunterGracePeriod()), player); // Let the player know the hunter grace period
-        UMPackets.sendToPlayer(new SpeedRunnerGracePeriodDurationS2CPacket(UMGame.getSpeedRunnerGracePeriod()), player); // Let the player know the speed runner grace period
-        UMPackets.sendToPlayer(new SpeedRunnerMaxLifeChangeS2CPacket(UMPlayer.getMaxLives()), player); // Let the player know how many lives speed runners can have
-        // Game Time packets and updates are sent every tick. It is redundant to send them at this moment
+        UMGameSettings settings = UMGame.getSettings();
+        UMPackets.sendToPlayer(new GameSettingsS2CPacket(settings), player); // Let the player know the settings of the game
+        UMPackets.sendToPlayer(UMGame.createGameTimePacket(), player); // Anchor the player's game clock. It is only resynced every few seconds after this
 
-        if (!UMGame.isWindTorchEnabled())
+        if (!settings.windTorchEnabled())
         {
             player.getInventory().clearOrCountMatchingItems(itemStack -> itemStack.getItem() instanceof WindTorchItem, -1, player.inventoryMenu.getCraftSlots());
         }
@@ -280,9 +287,9 @@ public class ForgeEvents {
                 // Not already part of this iteration
                 player.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(umPlayer ->
                 {
-                    player.sendSystemMessage(Component.literal("You joined a Manhunt game that is already in progress and have been declared as a " + UMGame.getNewPlayerRole().getAsName()));
+                    player.sendSystemMessage(Component.literal("You joined a Manhunt game that is already in progress and have been declared as a " + settings.newPlayerRole().getAsName()));
                     player.getInventory().clearContent(); // Clear items
-                    switch (UMGame.getNewPlayerRole())
+                    switch (settings.newPlayerRole())
                     {
                         case SPECTATOR ->
                         {
@@ -295,7 +302,7 @@ public class ForgeEvents {
                                 serverPlayer.setGameMode(GameType.DEFAULT_MODE);
                             }
                             umPlayer.resetToSpeedRunner(player, true);
-                            if (UMGame.isWindTorchEnabled()) // Is the Wind Torch enabled?
+                            if (settings.windTorchEnabled()) // Is the Wind Torch enabled?
                             {
                                 player.getInventory().add(new ItemStack(UMItems.WIND_TORCH.get())); // Grant the player a Wind Torch
                             }
@@ -310,18 +317,22 @@ public class ForgeEvents {
                         }
                         default -> umPlayer.resetToSpectator(player, true);
                     }
-                    umPlayer.sendUpdateFromServerToSelf(player);
+                    umPlayer.sendFullUpdateFromServerToSelf(player);
                 });
             }
             player.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(umPlayer ->
             {
+                if (umPlayer.isSpeedRunner() && umPlayer.getGracePeriodTimeStamp() > 0)
+                {
+                    UMGame.scheduleSpeedRunnerGracePeriodEnd(player, umPlayer.getGracePeriodTimeStamp()); // The game may have been restored since the grace period started
+                }
                 if (umPlayer.isHunter())
                 {
                     if (umPlayer.isBuffedHunter() && UMGame.State.isGameRunning())
                     {
-                        player.getAttributes().addTransientAttributeModifiers(UMPlayer.createHunterAttributes()); // Grant player hunter attributes if they are a buffed hunter
+                        settings.hunterBuffs().apply(player); // Grant player hunter attributes if they are a buffed hunter
                     }
-                    if (UMGame.getCurrentGameTime() < UMGame.getHunterGracePeriod())
+                    if (UMGame.getCurrentGameTime() < settings.hunterGracePeriodTicks())
                     {
                         player.getAbilities().mayfly = true;
                         player.getAbilities().flying = true;
@@ -362,11 +373,16 @@ public class ForgeEvents {
                 {
                     long timeStamp = UMGame.getCurrentGameTime() + UMGame.getSpeedRunnerGracePeriod();
                     umPlayer.setGracePeriodTimeStamp(timeStamp);
+                    UMGame.scheduleSpeedRunnerGracePeriodEnd(player, timeStamp);
                 } else
                 {
                     umPlayer.setGracePeriodTimeStamp(0);
                 }
-                umPlayer.sendUpdateFromServerToSelf(player);
+                if (umPlayer.isHunter() && umPlayer.isBuffedHunter() && UMGame.State.isGameRunning())
+                {
+                    UMGame.getSettings().hunterBuffs().apply(player); // Transient modifiers do not carry over to the respawned player
+                }
+                umPlayer.sendFullUpdateFromServerToSelf(player);
             });
         }
     }
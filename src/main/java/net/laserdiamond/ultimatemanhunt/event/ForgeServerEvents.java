@@ -1,5 +1,6 @@
 package net.laserdiamond.ultimatemanhunt.event;
 
+import net.laserdiamond.ultimatemanhunt.UMGame;
 import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
 import net.laserdiamond.ultimatemanhunt.api.event.UltimateManhuntGameStateEvent;
 import net.minecraft.advancements.Advancement;
@@ -8,7 +9,6 @@ import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.player.Player;
 import net.minecraftforge.api.distmarker.Dist;
-import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.entity.player.AdvancementEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
@@ -27,7 +27,7 @@ public class ForgeServerEvents {
             ResourceLocation advPath = ah.id();
             if (advPath.equals(KILL_DRAGON_ADVANCEMENT))
             {
-                MinecraftForge.EVENT_BUS.post(new UltimateManhuntGameStateEvent.End(UltimateManhuntGameStateEvent.End.Reason.SPEED_RUNNERS_WIN));
+                UMGame.requestGameEnd(UltimateManhuntGameStateEvent.End.Reason.SPEED_RUNNERS_WIN); // Every player near the dragon earns this. Only end the game once
             }
         }
     }
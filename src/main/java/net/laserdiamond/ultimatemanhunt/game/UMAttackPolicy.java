@@ -0,0 +1,133 @@
+package net.laserdiamond.ultimatemanhunt.game;
+
+import net.laserdiamond.ultimatemanhunt.capability.UMRoleRegistry;
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * Decides what happens when one {@linkplain Player player} attacks another, from the roles of both and whether the victim is immune to hunters.
+ * <p>Every combination is worked out once, when the {@linkplain UMGameSettings settings} are published, and stored in a flat table.
+ * Deciding an attack is then a single array read, with the roles taken from the {@linkplain UMMatchSnapshot snapshot} of the current tick.
+ * Before a game starts and after it ends there is no snapshot, so the roles are taken from the {@linkplain UMRoleRegistry role registry} instead.</p>
+ */
+public final class UMAttackPolicy {
+
+    /**
+     * Role slot of players that are remaining speed runners
+     */
+    public static final int SPEED_RUNNER = 0;
+
+    /**
+     * Role slot of players that are hunters
+     */
+    public static final int HUNTER = 1;
+
+    /**
+     * Role slot of every other player, such as spectators and players that are not part of the game
+     */
+    public static final int OTHER = 2;
+
+    private static final int ROLES = 3;
+
+    private final Outcome[] outcomes = new Outcome[ROLES * ROLES * 2];
+
+    private UMAttackPolicy(UMGameSettings settings)
+    {
+        for (int attacker = 0; attacker < ROLES; attacker++)
+        {
+            for (int victim = 0; victim < ROLES; victim++)
+            {
+                this.outcomes[index(attacker, victim, false)] = decide(settings, attacker, victim, false);
+                this.outcomes[index(attacker, victim, true)] = decide(settings, attacker, victim, true);
+            }
+        }
+    }
+
+    /**
+     * Builds the table for the settings
+     * @param settings The {@linkplain UMGameSettings settings} in effect
+     * @return The policy of the settings
+     */
+    public static UMAttackPolicy of(UMGameSettings settings)
+    {
+        return new UMAttackPolicy(settings);
+    }
+
+    private static Outcome decide(UMGameSettings settings, int attacker, int victim, boolean victimImmune)
+    {
+        if (attacker == HUNTER)
+        {
+            if (victim == HUNTER)
+            {
+                return settings.friendlyFire() ? Outcome.ALLOW : Outcome.CANCEL;
+            } else if (victim == SPEED_RUNNER)
+            {
+                return victimImmune ? Outcome.CANCEL_IMMUNE : Outcome.ALLOW; // Hunters cannot attack speed runners on grace period
+            }
+        } else if (attacker == SPEED_RUNNER)
+        {
+            if (victim == SPEED_RUNNER)
+            {
+                return settings.friendlyFire() ? Outcome.ALLOW : Outcome.CANCEL;
+            }
+        }
+        return Outcome.ALLOW;
+    }
+
+    private static int index(int attacker, int victim, boolean victimImmune)
+    {
+        return ((attacker * ROLES) + victim) * 2 + (victimImmune ? 1 : 0);
+    }
+
+    /**
+     * @param attacker The role slot of the attacking player
+     * @param victim The role slot of the attacked player
+     * @param victimImmune True if the attacked player is a speed runner that was last killed by a hunter and is still on grace period
+     * @return What to do with the attack
+     */
+    public Outcome get(int attacker, int victim, boolean victimImmune)
+    {
+        return this.outcomes[index(attacker, victim, victimImmune)];
+    }
+
+    /**
+     * @param snapshot The {@linkplain UMMatchSnapshot snapshot} of the current tick
+     * @param player The {@linkplain Player player}
+     * @return The role slot of the player in the snapshot, or in the {@linkplain UMRoleRegistry role registry} if no game has been started
+     */
+    public static int roleOf(UMMatchSnapshot snapshot, Player player)
+    {
+        if (!snapshot.isCaptured()) // Roles are kept between games, so friendly fire still applies to them
+        {
+            if (UMRoleRegistry.isIndexedAsSpeedRunner(player))
+            {
+                return SPEED_RUNNER;
+            } else if (UMRoleRegistry.isIndexedAsHunter(player))
+            {
+                return HUNTER;
+            }
+            return OTHER;
+        }
+        if (snapshot.runnerIndexOf(player) != -1)
+        {
+            return SPEED_RUNNER;
+        } else if (snapshot.hunterIndexOf(player) != -1)
+        {
+            return HUNTER;
+        }
+        return OTHER;
+    }
+
+    /**
+     * What happens to an attack between two players
+     */
+    public enum Outcome
+    {
+        ALLOW,
+        CANCEL,
+
+        /**
+         * Cancelled, and the attacker is told how long the speed runner remains immune
+         */
+        CANCEL_IMMUNE
+    }
+}
@@ -0,0 +1,177 @@
+package net.laserdiamond.ultimatemanhunt.game;
+
+import net.laserdiamond.ultimatemanhunt.UMGame;
+import net.laserdiamond.ultimatemanhunt.capability.UMPlayer;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.network.FriendlyByteBuf;
+
+import java.util.Objects;
+
+/**
+ * An immutable set of the settings of the Manhunt game.
+ * <p>The settings in effect are {@linkplain UMGame#publishSettings(UMGameSettings) published} as a whole, so every reader sees one consistent set,
+ * on any thread, without locking. Changing a setting means building a new set with one of the {@code with} methods and publishing it.</p>
+ * @param hunterGracePeriodTicks The time in ticks that speed runners have a head start before hunters are released
+ * @param speedRunnerGracePeriodTicks The time in ticks that speed runners cannot be harmed by a hunter after being killed by a hunter
+ * @param friendlyFire Whether speed runners can attack other speed runners, and hunters can attack other hunters
+ * @param hardcore Whether speed runners lose a life if they die from a cause unrelated to a hunter
+ * @param windTorchEnabled Whether the {@linkplain net.laserdiamond.ultimatemanhunt.item.UMItems#WIND_TORCH Wind Torch} is enabled
+ * @param newPlayerRole The role players are assigned when first joining a game in progress
+ * @param deadSpeedRunnerRole The role speed runners are assigned after losing all their lives. Never {@linkplain UMGame.PlayerRole#SPEED_RUNNER speed runner}
+ * @param maxLives The maximum amount of lives speed runners can hold
+ * @param buffedHunterOnFinalDeath Whether speed runners that die and become hunters also become buffed hunters
+ * @param hunterBuffs The {@linkplain UMHunterBuffs attribute modifiers} given to buffed hunters. Only known to the SERVER, as the modifiers reach clients through the attributes themselves
+ */
+public record UMGameSettings(int hunterGracePeriodTicks, int speedRunnerGracePeriodTicks, boolean friendlyFire, boolean hardcore, boolean windTorchEnabled,
+                             UMGame.PlayerRole newPlayerRole, UMGame.PlayerRole deadSpeedRunnerRole, int maxLives, boolean buffedHunterOnFinalDeath,
+                             UMHunterBuffs hunterBuffs) {
+
+    public static final UMGameSettings DEFAULT = new UMGameSettings(
+            1800, // 90 seconds
+            600, // 30 seconds
+            true,
+            false,
+            true,
+            UMGame.PlayerRole.SPECTATOR,
+            UMGame.PlayerRole.HUNTER,
+            3,
+            false,
+            UMHunterBuffs.DEFAULT
+    );
+
+    public UMGameSettings
+    {
+        hunterGracePeriodTicks = Math.max(1, hunterGracePeriodTicks);
+        speedRunnerGracePeriodTicks = Math.max(1, speedRunnerGracePeriodTicks);
+        maxLives = Math.min(UMPlayer.MAX_LIVES, Math.max(maxLives, 1));
+        Objects.requireNonNull(hunterBuffs, "hunterBuffs");
+        if (deadSpeedRunnerRole == UMGame.PlayerRole.SPEED_RUNNER)
+        {
+            throw new IllegalArgumentException("Dead speed runners cannot become speed runners again");
+        }
+    }
+
+    public UMGameSettings withHunterGracePeriodTicks(int hunterGracePeriodTicks)
+    {
+        return new UMGameSettings(hunterGracePeriodTicks, this.speedRunnerGracePeriodTicks, this.friendlyFire, this.hardcore, this.windTorchEnabled, this.newPlayerRole, this.deadSpeedRunnerRole, this.maxLives, this.buffedHunterOnFinalDeath, this.hunterBuffs);
+    }
+
+    public UMGameSettings withSpeedRunnerGracePeriodTicks(int speedRunnerGracePeriodTicks)
+    {
+        return new UMGameSettings(this.hunterGracePeriodTicks, speedRunnerGracePeriodTicks, this.friendlyFire, this.hardcore, this.windTorchEnabled, this.newPlayerRole, this.deadSpeedRunnerRole, this.maxLives, this.buffedHunterOnFinalDeath, this.hunterBuffs);
+    }
+
+    public UMGameSettings withFriendlyFire(boolean friendlyFire)
+    {
+        return new UMGameSettings(this.hunterGracePeriodTicks, this.speedRunnerGracePeriodTicks, friendlyFire, this.hardcore, this.windTorchEnabled, this.newPlayerRole, this.deadSpeedRunnerRole, this.maxLives, this.buffedHunterOnFinalDeath, this.hunterBuffs);
+    }
+
+    public UMGameSettings withHardcore(boolean hardcore)
+    {
+        return new UMGameSettings(this.hunterGracePeriodTicks, this.speedRunnerGracePeriodTicks, this.friendlyFire, hardcore, this.windTorchEnabled, this.newPlayerRole, this.deadSpeedRunnerRole, this.maxLives, this.buffedHunterOnFinalDeath, this.hunterBuffs);
+    }
+
+    public UMGameSettings withWindTorchEnabled(boolean windTorchEnabled)
+    {
+        return new UMGameSettings(this.hunterGracePeriodTicks, this.speedRunnerGracePeriodTicks, this.friendlyFire, this.hardcore, windTorchEnabled, this.newPlayerRole, this.deadSpeedRunnerRole, this.maxLives, this.buffedHunterOnFinalDeath, this.hunterBuffs);
+    }
+
+    public UMGameSettings withNewPlayerRole(UMGame.PlayerRole newPlayerRole)
+    {
+        return new UMGameSettings(this.hunterGracePeriodTicks, this.speedRunnerGracePeriodTicks, this.friendlyFire, this.hardcore, this.windTorchEnabled, newPlayerRole, this.deadSpeedRunnerRole, this.maxLives, this.buffedHunterOnFinalDeath, this.hunterBuffs);
+    }
+
+    public UMGameSettings withDeadSpeedRunnerRole(UMGame.PlayerRole deadSpeedRunnerRole)
+    {
+        return new UMGameSettings(this.hunterGracePeriodTicks, this.speedRunnerGracePeriodTicks, this.friendlyFire, this.hardcore, this.windTorchEnabled, this.newPlayerRole, deadSpeedRunnerRole, this.maxLives, this.buffedHunterOnFinalDeath, this.hunterBuffs);
+    }
+
+    public UMGameSettings withMaxLives(int maxLives)
+    {
+        return new UMGameSettings(this.hunterGracePeriodTicks, this.speedRunnerGracePeriodTicks, this.friendlyFire, this.hardcore, this.windTorchEnabled, this.newPlayerRole, this.deadSpeedRunnerRole, maxLives, this.buffedHunterOnFinalDeath, this.hunterBuffs);
+    }
+
+    public UMGameSettings withBuffedHunterOnFinalDeath(boolean buffedHunterOnFinalDeath)
+    {
+        return new UMGameSettings(this.hunterGracePeriodTicks, this.speedRunnerGracePeriodTicks, this.friendlyFire, this.hardcore, this.windTorchEnabled, this.newPlayerRole, this.deadSpeedRunnerRole, this.maxLives, buffedHunterOnFinalDeath, this.hunterBuffs);
+    }
+
+    public UMGameSettings withHunterBuffs(UMHunterBuffs hunterBuffs)
+    {
+        return new UMGameSettings(this.hunterGracePeriodTicks, this.speedRunnerGracePeriodTicks, this.friendlyFire, this.hardcore, this.windTorchEnabled, this.newPlayerRole, this.deadSpeedRunnerRole, this.maxLives, this.buffedHunterOnFinalDeath, hunterBuffs);
+    }
+
+    /**
+     * Writes the settings to the tag
+     * @param tag The {@linkplain CompoundTag tag} to write to
+     */
+    public void save(CompoundTag tag)
+    {
+        tag.putInt("hunter_grace_period_ticks", this.hunterGracePeriodTicks);
+        tag.putInt("speed_runner_grace_period_ticks", this.speedRunnerGracePeriodTicks);
+        tag.putBoolean("friendly_fire", this.friendlyFire);
+        tag.putBoolean("hardcore", this.hardcore);
+        tag.putBoolean("wind_torch_enabled", this.windTorchEnabled);
+        tag.putString("new_player_role", this.newPlayerRole.toString());
+        tag.putString("dead_speed_runner_role", this.deadSpeedRunnerRole.toString());
+        tag.putInt("max_lives", this.maxLives);
+        tag.putBoolean("buffed_hunter_on_final_death", this.buffedHunterOnFinalDeath);
+        tag.put("hunter_buffs", this.hunterBuffs.save());
+    }
+
+    /**
+     * Reads settings from the tag
+     * @param tag The {@linkplain CompoundTag tag} to read from
+     * @param fallback The {@linkplain UMGameSettings settings} to use for anything missing or invalid in the tag
+     * @return The settings read
+     */
+    public static UMGameSettings load(CompoundTag tag, UMGameSettings fallback)
+    {
+        UMGame.PlayerRole newPlayerRole = UMGame.PlayerRole.fromString(tag.getString("new_player_role"));
+        UMGame.PlayerRole deadSpeedRunnerRole = UMGame.PlayerRole.fromString(tag.getString("dead_speed_runner_role"));
+        return new UMGameSettings(
+                tag.contains("hunter_grace_period_ticks") ? tag.getInt("hunter_grace_period_ticks") : fallback.hunterGracePeriodTicks,
+                tag.contains("speed_runner_grace_period_ticks") ? tag.getInt("speed_runner_grace_period_ticks") : fallback.speedRunnerGracePeriodTicks,
+                tag.contains("friendly_fire") ? tag.getBoolean("friendly_fire") : fallback.friendlyFire,
+                tag.contains("hardcore") ? tag.getBoolean("hardcore") : fallback.hardcore,
+                tag.contains("wind_torch_enabled") ? tag.getBoolean("wind_torch_enabled") : fallback.windTorchEnabled,
+                newPlayerRole != null ? newPlayerRole : fallback.newPlayerRole,
+                deadSpeedRunnerRole != null && deadSpeedRunnerRole != UMGame.PlayerRole.SPEED_RUNNER ? deadSpeedRunnerRole : fallback.deadSpeedRunnerRole,
+                tag.contains("max_lives") ? tag.getInt("max_lives") : fallback.maxLives,
+                tag.contains("buffed_hunter_on_final_death") ? tag.getBoolean("buffed_hunter_on_final_death") : fallback.buffedHunterOnFinalDeath,
+                tag.contains("hunter_buffs", Tag.TAG_LIST) ? UMHunterBuffs.load(tag.getList("hunter_buffs", Tag.TAG_COMPOUND)) : fallback.hunterBuffs
+        );
+    }
+
+    /**
+     * Writes the settings to a packet
+     * @param buf The {@linkplain FriendlyByteBuf buffer} to write to
+     */
+    public void write(FriendlyByteBuf buf)
+    {
+        buf.writeVarInt(this.hunterGracePeriodTicks);
+        buf.writeVarInt(this.speedRunnerGracePeriodTicks);
+        buf.writeByte((this.friendlyFire ? 1 : 0) | (this.hardcore ? 1 << 1 : 0) | (this.windTorchEnabled ? 1 << 2 : 0) | (this.buffedHunterOnFinalDeath ? 1 << 3 : 0));
+        buf.writeEnum(this.newPlayerRole);
+        buf.writeEnum(this.deadSpeedRunnerRole);
+        buf.writeByte(this.maxLives);
+    }
+
+    /**
+     * Reads settings from a packet
+     * @param buf The {@linkplain FriendlyByteBuf buffer} to read from
+     * @return The settings read
+     */
+    public static UMGameSettings read(FriendlyByteBuf buf)
+    {
+        int hunterGracePeriodTicks = buf.readVarInt();
+        int speedRunnerGracePeriodTicks = buf.readVarInt();
+        int flags = buf.readByte();
+        UMGame.PlayerRole newPlayerRole = buf.readEnum(UMGame.PlayerRole.class);
+        UMGame.PlayerRole deadSpeedRunnerRole = buf.readEnum(UMGame.PlayerRole.class);
+        int maxLives = buf.readByte();
+        return new UMGameSettings(hunterGracePeriodTicks, speedRunnerGracePeriodTicks, (flags & 1) != 0, (flags & 1 << 1) != 0, (flags & 1 << 2) != 0,
+                newPlayerRole, deadSpeedRunnerRole, maxLives, (flags & 1 << 3) != 0, UMHunterBuffs.DEFAULT); // Hunter buffs are not sent
+    }
+}
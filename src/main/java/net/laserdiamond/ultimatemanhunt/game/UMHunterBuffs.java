@@ -0,0 +1,287 @@
+package net.laserdiamond.ultimatemanhunt.game;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.ai.attributes.Attribute;
+import net.minecraft.world.entity.ai.attributes.AttributeInstance;
+import net.minecraft.world.entity.ai.attributes.AttributeModifier;
+import net.minecraft.world.entity.ai.attributes.Attributes;
+import net.minecraft.world.entity.player.Player;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An immutable set of the {@linkplain AttributeModifier attribute modifiers} given to buffed hunters. Part of the {@linkplain UMGameSettings game settings},
+ * so the values can be tuned per game through game profiles.
+ * <p>The modifiers are built once, when the set is created, and every modifier shares the {@linkplain #MODIFIER_ID same id}.
+ * {@linkplain #apply(Player) Applying} and {@linkplain #remove(Player) removing} the set only look the modifiers up by that id, so both are idempotent and allocate nothing.
+ * For that to hold, the set holds at most one entry per attribute. Later entries for an attribute already in the set are skipped.</p>
+ */
+public final class UMHunterBuffs {
+
+    /**
+     * The id of every modifier of the set. A player carries the buffs if any of their attributes has a modifier with this id.
+     */
+    public static final ResourceLocation MODIFIER_ID = UltimateManhunt.fromUMPath("attribute.active_hunter");
+
+    public static final UMHunterBuffs DEFAULT = new UMHunterBuffs(List.of(
+            new Entry(Attributes.MAX_HEALTH, 0.5, AttributeModifier.Operation.ADD_MULTIPLIED_BASE),
+            new Entry(Attributes.ARMOR, 5, AttributeModifier.Operation.ADD_VALUE),
+
+            new Entry(Attributes.MOVEMENT_SPEED, 0.1, AttributeModifier.Operation.ADD_MULTIPLIED_BASE),
+            new Entry(Attributes.MOVEMENT_EFFICIENCY, 0.1, AttributeModifier.Operation.ADD_MULTIPLIED_BASE),
+            new Entry(Attributes.WATER_MOVEMENT_EFFICIENCY, 0.1, AttributeModifier.Operation.ADD_MULTIPLIED_BASE),
+
+            new Entry(Attributes.MINING_EFFICIENCY, 0.15, AttributeModifier.Operation.ADD_MULTIPLIED_BASE),
+            new Entry(Attributes.SUBMERGED_MINING_SPEED, 0.15, AttributeModifier.Operation.ADD_MULTIPLIED_BASE),
+
+            new Entry(Attributes.ATTACK_DAMAGE, 0.25, AttributeModifier.Operation.ADD_MULTIPLIED_BASE)
+    ));
+
+    private final List<Entry> entries;
+    private final Holder<Attribute>[] attributes;
+    private final AttributeModifier[] modifiers;
+
+    @SuppressWarnings("unchecked")
+    public UMHunterBuffs(List<Entry> entries)
+    {
+        List<Entry> unique = new ArrayList<>(entries.size());
+        Set<Holder<Attribute>> attributes = new HashSet<>();
+        for (Entry entry : entries)
+        {
+            if (!attributes.add(entry.attribute()))
+            {
+                UltimateManhunt.LOGGER.warn("Attribute \"{}\" is buffed more than once. The duplicate hunter buff will be skipped", entry.attribute().getRegisteredName());
+                continue;
+            }
+            unique.add(entry);
+        }
+        this.entries = List.copyOf(unique);
+        this.attributes = new Holder[this.entries.size()];
+        this.modifiers = new AttributeModifier[this.entries.size()];
+        for (int i = 0; i < this.attributes.length; i++)
+        {
+            Entry entry = this.entries.get(i);
+            this.attributes[i] = entry.attribute();
+            this.modifiers[i] = new AttributeModifier(MODIFIER_ID, entry.amount(), entry.operation());
+        }
+    }
+
+    /**
+     * @return A read-only view of the {@linkplain Entry entries} of the set
+     */
+    public List<Entry> getEntries()
+    {
+        return this.entries;
+    }
+
+    /**
+     * Gives the player every modifier of the set. Modifiers the player already carries are left alone, unless their value differs from the set's.
+     * @param player The {@linkplain Player player} to buff
+     */
+    public void apply(Player player)
+    {
+        for (int i = 0; i < this.attributes.length; i++)
+        {
+            AttributeInstance instance = player.getAttribute(this.attributes[i]);
+            if (instance == null)
+            {
+                continue;
+            }
+            AttributeModifier current = instance.getModifier(MODIFIER_ID);
+            if (current != null)
+            {
+                if (current.equals(this.modifiers[i]))
+                {
+                    continue; // Already buffed
+                }
+                instance.removeModifier(MODIFIER_ID); // Applied with different values. Replace it
+            }
+            instance.addTransientModifier(this.modifiers[i]);
+        }
+    }
+
+    /**
+     * Takes every modifier of the set away from the player. Does nothing for modifiers the player does not carry.
+     * @param player The {@linkplain Player player} to take the buffs from
+     */
+    public void remove(Player player)
+    {
+        for (Holder<Attribute> attribute : this.attributes)
+        {
+            AttributeInstance instance = player.getAttribute(attribute);
+            if (instance != null)
+            {
+                instance.removeModifier(MODIFIER_ID);
+            }
+        }
+    }
+
+    /**
+     * Checks if the player carries the buffs. Only looks at the first attribute of the set, since the set is always applied and removed as a whole.
+     * @param player The {@linkplain Player player} to check
+     * @return True if the player carries the buffs
+     */
+    public boolean isAppliedTo(Player player)
+    {
+        if (this.attributes.length == 0)
+        {
+            return false;
+        }
+        AttributeInstance instance = player.getAttribute(this.attributes[0]);
+        return instance != null && instance.hasModifier(MODIFIER_ID);
+    }
+
+    /**
+     * Writes the set to a list tag
+     * @return The {@linkplain ListTag list tag} holding one compound per entry
+     */
+    public ListTag save()
+    {
+        ListTag tag = new ListTag();
+        for (Entry entry : this.entries)
+        {
+            ResourceLocation attributeId = BuiltInRegistries.ATTRIBUTE.getKey(entry.attribute().value());
+            if (attributeId == null)
+            {
+                continue;
+            }
+            CompoundTag entryTag = new CompoundTag();
+            entryTag.putString("attribute", attributeId.toString());
+            entryTag.putDouble("amount", entry.amount());
+            entryTag.putString("operation", entry.operation().getSerializedName());
+            tag.add(entryTag);
+        }
+        return tag;
+    }
+
+    /**
+     * Reads a set from a list tag. Entries naming an unknown attribute or operation are skipped.
+     * @param tag The {@linkplain ListTag list tag} to read from
+     * @return The set read
+     */
+    public static UMHunterBuffs load(ListTag tag)
+    {
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < tag.size(); i++)
+        {
+            CompoundTag entryTag = tag.getCompound(i);
+            Entry entry = createEntry(entryTag.getString("attribute"), entryTag.getDouble("amount"), entryTag.getString("operation"));
+            if (entry != null)
+            {
+                entries.add(entry);
+            }
+        }
+        return new UMHunterBuffs(entries);
+    }
+
+    /**
+     * Writes the set to a JSON array, for game profiles
+     * @return The {@link JsonArray} holding one object per entry
+     */
+    public JsonArray toJson()
+    {
+        JsonArray array = new JsonArray();
+        for (Entry entry : this.entries)
+        {
+            ResourceLocation attributeId = BuiltInRegistries.ATTRIBUTE.getKey(entry.attribute().value());
+            if (attributeId == null)
+            {
+                continue;
+            }
+            JsonObject entryObject = new JsonObject();
+            entryObject.addProperty("attribute", attributeId.toString());
+            entryObject.addProperty("amount", entry.amount());
+            entryObject.addProperty("operation", entry.operation().getSerializedName());
+            array.add(entryObject);
+        }
+        return array;
+    }
+
+    /**
+     * Reads a set from a JSON array of a game profile. Entries that are malformed or name an unknown attribute or operation are skipped.
+     * @param array The {@link JsonArray} to read from
+     * @return The set read
+     */
+    public static UMHunterBuffs fromJson(JsonArray array)
+    {
+        List<Entry> entries = new ArrayList<>();
+        for (JsonElement element : array)
+        {
+            if (!(element instanceof JsonObject entryObject)
+                    || !(entryObject.get("attribute") instanceof JsonPrimitive attribute && attribute.isString())
+                    || !(entryObject.get("amount") instanceof JsonPrimitive amount && amount.isNumber() && Double.isFinite(amount.getAsDouble()))
+                    || !(entryObject.get("operation") instanceof JsonPrimitive operation && operation.isString()))
+            {
+                UltimateManhunt.LOGGER.warn("Skipping malformed hunter buff {}", element);
+                continue;
+            }
+            Entry entry = createEntry(attribute.getAsString(), amount.getAsDouble(), operation.getAsString());
+            if (entry != null)
+            {
+                entries.add(entry);
+            }
+        }
+        return new UMHunterBuffs(entries);
+    }
+
+    @Nullable
+    private static Entry createEntry(String attributeId, double amount, String operationName)
+    {
+        ResourceLocation id = ResourceLocation.tryParse(attributeId);
+        Holder<Attribute> attribute = id != null ? BuiltInRegistries.ATTRIBUTE.getHolder(id).orElse(null) : null;
+        if (attribute == null)
+        {
+            UltimateManhunt.LOGGER.warn("Attribute \"{}\" does not exist. The hunter buff will be skipped", attributeId);
+            return null;
+        }
+        for (AttributeModifier.Operation operation : AttributeModifier.Operation.values())
+        {
+            if (operation.getSerializedName().equals(operationName))
+            {
+                return new Entry(attribute, amount, operation);
+            }
+        }
+        UltimateManhunt.LOGGER.warn("Operation \"{}\" does not exist. The hunter buff will be skipped", operationName);
+        return null;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        return this == o || (o instanceof UMHunterBuffs other && this.entries.equals(other.entries));
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.entries.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "UMHunterBuffs" + this.entries;
+    }
+
+    /**
+     * One modifier of the set
+     * @param attribute The {@linkplain Attribute attribute} to modify
+     * @param amount The amount to modify the attribute by
+     * @param operation How the amount is applied to the attribute
+     */
+    public record Entry(Holder<Attribute> attribute, double amount, AttributeModifier.Operation operation) {}
+}
@@ -0,0 +1,413 @@
+package net.laserdiamond.ultimatemanhunt.game;
+
+import net.laserdiamond.ultimatemanhunt.UMGame;
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.TagParser;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.storage.LevelResource;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of the changes made to the Manhunt game between {@linkplain UMMatchSavedData saves} on the SERVER.
+ * <p>Changes are recorded on the server thread, and written once per tick as one batch on a background thread, so the server never waits on the disk.
+ * Each entry is numbered and checksummed. When the server starts, the saved data is loaded and every entry after it is replayed, stopping at the first entry
+ * that was cut off by a crash. A game that was running is restored paused, so it only carries on once everyone is back.</p>
+ * <p>Once the level is saved, the entries it covers are dropped from the journal.</p>
+ */
+@Mod.EventBusSubscriber(modid = UltimateManhunt.MODID)
+public final class UMMatchJournal {
+
+    /**
+     * How often, in ticks of game time, the game time is recorded. At most this much game time is lost if the server crashes.
+     */
+    public static final int GAME_TIME_RECORD_INTERVAL = 20;
+
+    private static final String FILE_NAME = UMMatchSavedData.NAME + ".journal";
+
+    private static final String STATE = "state";
+    private static final String TIME = "time";
+    private static final String SETTINGS = "settings";
+    private static final String LOG = "log";
+    private static final String WIPE = "wipe";
+
+    private static final List<Entry> PENDING = new ArrayList<>();
+    private static ExecutorService writer;
+    private static Path journalPath;
+    private static long nextSequence = 0;
+    private static long checkpointSequence = -1;
+    private static boolean rewritePending;
+    private static boolean settingsChanged;
+
+    private UMMatchJournal() {}
+
+    private static boolean isOpen()
+    {
+        return writer != null; // Not open while the server is starting and replaying the journal
+    }
+
+    private static void append(String type, String payload)
+    {
+        PENDING.add(new Entry(nextSequence++, type, payload));
+    }
+
+    /**
+     * Records that the {@linkplain UMGame.State game state} has changed
+     * @param gameState The new {@linkplain UMGame.State game state}
+     */
+    public static void recordGameState(UMGame.State gameState)
+    {
+        if (isOpen())
+        {
+            append(STATE, gameState.name());
+        }
+    }
+
+    /**
+     * Records the current game time
+     * @param gameTime The current game time
+     */
+    public static void recordGameTime(long gameTime)
+    {
+        if (isOpen())
+        {
+            append(TIME, Long.toString(gameTime));
+        }
+    }
+
+    /**
+     * Records that a setting of the game has changed. The settings are written once at the end of the tick, no matter how many changed.
+     */
+    public static void recordSettings()
+    {
+        if (isOpen())
+        {
+            settingsChanged = true;
+        }
+    }
+
+    /**
+     * Records that a player has been logged for the current game
+     * @param uuid The player's UUID
+     */
+    public static void recordLoggedPlayer(UUID uuid)
+    {
+        if (isOpen())
+        {
+            append(LOG, uuid.toString());
+        }
+    }
+
+    /**
+     * Records that all the logged players have been wiped
+     */
+    public static void recordLoggedPlayersWiped()
+    {
+        if (isOpen())
+        {
+            append(WIPE, "");
+        }
+    }
+
+    /**
+     * Marks every entry recorded so far as covered by a save of the game. Called by the {@linkplain UMMatchSavedData saved data} as it is saved.
+     * @return The number of the last entry covered
+     */
+    static long checkpoint()
+    {
+        checkpointSequence = nextSequence - 1;
+        rewritePending = isOpen(); // Drop the covered entries with the next batch. The save has been written by then
+        return checkpointSequence;
+    }
+
+    private static void flush()
+    {
+        if (settingsChanged)
+        {
+            settingsChanged = false;
+            CompoundTag settings = new CompoundTag();
+            UMGame.saveSettings(settings);
+            append(SETTINGS, settings.toString());
+        }
+        if (PENDING.isEmpty() && !rewritePending)
+        {
+            return;
+        }
+        StringBuilder batch = new StringBuilder();
+        for (Entry entry : PENDING)
+        {
+            if (!rewritePending || entry.sequence > checkpointSequence)
+            {
+                entry.write(batch);
+            }
+        }
+        PENDING.clear();
+        boolean rewrite = rewritePending;
+        rewritePending = false;
+        byte[] bytes = batch.toString().getBytes(StandardCharsets.UTF_8);
+        Path path = journalPath;
+        writer.execute(() -> write(path, bytes, rewrite));
+    }
+
+    /**
+     * Writes a batch of entries to the journal. Runs on the writer thread.
+     * @param path The path of the journal
+     * @param bytes The entries to write
+     * @param rewrite Whether to replace the journal with the entries, rather than appending them
+     */
+    private static void write(Path path, byte[] bytes, boolean rewrite)
+    {
+        try
+        {
+            Files.createDirectories(path.getParent());
+            if (rewrite) // Write the new journal next to the old one, and swap it in once it is safely on disk
+            {
+                Path temp = path.resolveSibling(FILE_NAME + ".tmp");
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+                {
+                    writeFully(channel, bytes);
+                    channel.force(true);
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } else
+            {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND))
+                {
+                    writeFully(channel, bytes);
+                    channel.force(false);
+                }
+            }
+        } catch (IOException e)
+        {
+            UltimateManhunt.LOGGER.error("Could not write the Ultimate Manhunt match journal", e);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, byte[] bytes) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Replays every intact entry after the sequence number onto the game
+     * @param afterSequence The number of the last entry already covered by the saved data
+     * @return True if any entry was replayed
+     */
+    private static boolean replay(long afterSequence)
+    {
+        if (!Files.exists(journalPath))
+        {
+            return false;
+        }
+        List<String> lines;
+        try
+        {
+            lines = Files.readAllLines(journalPath, StandardCharsets.UTF_8);
+        } catch (IOException e)
+        {
+            UltimateManhunt.LOGGER.error("Could not read the Ultimate Manhunt match journal", e);
+            return false;
+        }
+        boolean replayed = false;
+        for (String line : lines)
+        {
+            Entry entry = Entry.read(line);
+            if (entry == null)
+            {
+                UltimateManhunt.LOGGER.warn("The Ultimate Manhunt match journal was cut off after entry {}. Later entries are ignored", nextSequence - 1);
+                break; // Everything before this point was written completely
+            }
+            nextSequence = Math.max(nextSequence, entry.sequence + 1);
+            if (entry.sequence <= afterSequence)
+            {
+                continue; // Already covered by the saved data
+            }
+            try
+            {
+                entry.apply();
+                replayed = true;
+            } catch (Exception e)
+            {
+                UltimateManhunt.LOGGER.warn("Could not replay entry {} of the Ultimate Manhunt match journal", entry.sequence, e);
+                break;
+            }
+        }
+        return replayed;
+    }
+
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event)
+    {
+        MinecraftServer server = event.getServer();
+        journalPath = server.getWorldPath(LevelResource.ROOT).resolve("data").resolve(FILE_NAME);
+        UMMatchSavedData savedData = server.overworld().getDataStorage().computeIfAbsent(UMMatchSavedData.factory(), UMMatchSavedData.NAME);
+
+        boolean restored = false;
+        if (savedData.getLoadedTag() != null)
+        {
+            UMGame.loadMatch(savedData.getLoadedTag());
+            restored = true;
+        }
+        nextSequence = savedData.getJournalSequence() + 1;
+        restored |= replay(savedData.getJournalSequence());
+
+        if (restored)
+        {
+            if (UMGame.State.isGameRunning())
+            {
+                UMGame.restoreGameState(UMGame.State.PAUSED); // Wait for the players to come back before carrying on
+            }
+            if (UMGame.State.hasGameBeenStarted())
+            {
+                UMGame.rescheduleMatchEvents();
+                UltimateManhunt.LOGGER.info("Restored the Ultimate Manhunt game at game time {}. The game is paused until it is resumed", UMGame.getCurrentGameTime());
+            }
+        }
+
+        writer = Executors.newSingleThreadExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "Ultimate Manhunt Match Journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Start the journal over from what was just restored, dropping any entry that was cut off
+        checkpointSequence = nextSequence - 1;
+        rewritePending = true;
+        recordSettings();
+        recordLoggedPlayersWiped();
+        UMGame.getLoggedPlayerUUIDs().forEach(UMMatchJournal::recordLoggedPlayer);
+        recordGameTime(UMGame.getCurrentGameTime());
+        recordGameState(UMGame.getCurrentGameState());
+        flush();
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onServerTickPost(TickEvent.ServerTickEvent.Post event)
+    {
+        if (isOpen())
+        {
+            flush();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event)
+    {
+        if (!isOpen())
+        {
+            return;
+        }
+        flush(); // The level was saved while stopping, so this leaves the journal empty
+        writer.shutdown();
+        try
+        {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS))
+            {
+                UltimateManhunt.LOGGER.warn("Timed out writing the Ultimate Manhunt match journal");
+            }
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        PENDING.clear();
+        settingsChanged = false;
+        rewritePending = false;
+        nextSequence = 0;
+        checkpointSequence = -1;
+    }
+
+    /**
+     * One line of the journal: its number, type, payload, and a checksum of the three, separated by tabs
+     */
+    private static final class Entry
+    {
+        private final long sequence;
+        private final String type;
+        private final String payload;
+
+        private Entry(long sequence, String type, String payload)
+        {
+            this.sequence = sequence;
+            this.type = type;
+            this.payload = payload;
+        }
+
+        private static long checksum(String body)
+        {
+            CRC32 crc = new CRC32();
+            crc.update(body.getBytes(StandardCharsets.UTF_8));
+            return crc.getValue();
+        }
+
+        private void write(StringBuilder builder)
+        {
+            String body = this.sequence + "\t" + this.type + "\t" + this.payload;
+            builder.append(body).append('\t').append(Long.toHexString(checksum(body))).append('\n');
+        }
+
+        /**
+         * @return The entry on the line, or null if the line is incomplete or corrupt
+         */
+        private static Entry read(String line)
+        {
+            int checksumStart = line.lastIndexOf('\t');
+            int typeStart = line.indexOf('\t');
+            int payloadStart = typeStart == -1 ? -1 : line.indexOf('\t', typeStart + 1);
+            if (payloadStart == -1 || checksumStart < payloadStart)
+            {
+                return null;
+            }
+            String body = line.substring(0, checksumStart);
+            try
+            {
+                if (Long.parseLong(line.substring(checksumStart + 1), 16) != checksum(body))
+                {
+                    return null;
+                }
+                return new Entry(Long.parseLong(line.substring(0, typeStart)), line.substring(typeStart + 1, payloadStart), line.substring(payloadStart + 1, checksumStart));
+            } catch (NumberFormatException e)
+            {
+                return null;
+            }
+        }
+
+        private void apply() throws Exception
+        {
+            switch (this.type)
+            {
+                case STATE -> UMGame.restoreGameState(UMGame.State.valueOf(this.payload));
+                case TIME -> UMGame.restoreGameTime(Long.parseLong(this.payload));
+                case SETTINGS -> UMGame.loadSettings(TagParser.parseTag(this.payload));
+                case LOG -> UMGame.restoreLoggedPlayer(UUID.fromString(this.payload));
+                case WIPE -> UMGame.restoreLoggedPlayer(null);
+                default -> throw new IllegalArgumentException("Unknown journal entry type " + this.type);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package net.laserdiamond.ultimatemanhunt.game;
+
+import net.laserdiamond.ultimatemanhunt.UMGame;
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.saveddata.SavedData;
+
+import javax.annotation.Nullable;
+
+/**
+ * Saves the state of the Manhunt game with the Overworld on the SERVER, so a game survives the server restarting.
+ * <p>The data is written whenever the level is saved. Everything that changes between saves is written to the {@linkplain UMMatchJournal match journal},
+ * and each save records how far into the journal it covers, so only the newer entries are replayed on startup.</p>
+ */
+public final class UMMatchSavedData extends SavedData {
+
+    public static final String NAME = UltimateManhunt.MODID + "_match";
+
+    private static final String JOURNAL_SEQUENCE = "journal_sequence";
+
+    @Nullable
+    private final CompoundTag loadedTag;
+
+    private UMMatchSavedData(@Nullable CompoundTag loadedTag)
+    {
+        this.loadedTag = loadedTag;
+    }
+
+    /**
+     * @return The {@linkplain SavedData.Factory factory} used to load and create the data
+     */
+    public static SavedData.Factory<UMMatchSavedData> factory()
+    {
+        return new SavedData.Factory<>(() -> new UMMatchSavedData(null), (tag, registries) -> new UMMatchSavedData(tag), null);
+    }
+
+    /**
+     * @return The tag the data was loaded from, or null if there was no data saved yet
+     */
+    @Nullable
+    public CompoundTag getLoadedTag()
+    {
+        return this.loadedTag;
+    }
+
+    /**
+     * @return The last journal entry covered by the loaded data, or -1 if there was no data saved yet
+     */
+    public long getJournalSequence()
+    {
+        return this.loadedTag == null ? -1 : this.loadedTag.getLong(JOURNAL_SEQUENCE);
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag, HolderLookup.Provider registries)
+    {
+        UMGame.saveMatch(tag);
+        tag.putLong(JOURNAL_SEQUENCE, UMMatchJournal.checkpoint()); // Everything journaled so far is covered by this save
+        return tag;
+    }
+
+    @Override
+    public boolean isDirty()
+    {
+        return true; // The data is small and taken straight from the game, so it is written on every save
+    }
+}
@@ -0,0 +1,240 @@
+package net.laserdiamond.ultimatemanhunt.game;
+
+import net.laserdiamond.ultimatemanhunt.UMGame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schedules match-level actions against the Manhunt {@linkplain UMGame#getCurrentGameTime() game time} on the SERVER.
+ * <p>Actions are kept in a hierarchical timing wheel: four levels of 256 slots, each level covering 256 times the range of the one below it.
+ * Scheduling and cancelling are constant time, and each tick only visits the one slot that is due, so an action fires exactly once on its tick
+ * no matter how many players are online. The wheel only advances while the game time does, so pausing the game pauses every scheduled action.</p>
+ */
+public final class UMMatchScheduler {
+
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    @SuppressWarnings("unchecked")
+    private static final List<Task>[][] WHEEL = new List[LEVELS][SLOTS];
+
+    /**
+     * Actions scheduled for a tick that has already been reached. Fired on the next tick.
+     */
+    private static List<Task> overdue = new ArrayList<>();
+
+    private static long currentTime = 0;
+
+    /**
+     * Incremented on every reset, so actions detached from the wheel before a reset do not run after it
+     */
+    private static int generation = 0;
+
+    private UMMatchScheduler() {}
+
+    /**
+     * @return The game time the scheduler has advanced to
+     */
+    public static long getCurrentTime()
+    {
+        return currentTime;
+    }
+
+    /**
+     * Schedules an action to run once
+     * @param gameTime The game time to run the action at
+     * @param action The action to run
+     * @return The scheduled {@linkplain Task task}, which can be cancelled
+     */
+    public static Task schedule(long gameTime, Runnable action)
+    {
+        return insert(new Task(gameTime, 0, action, generation));
+    }
+
+    /**
+     * Schedules an action to run after a delay
+     * @param delayTicks The amount of ticks to wait
+     * @param action The action to run
+     * @return The scheduled {@linkplain Task task}, which can be cancelled
+     */
+    public static Task scheduleIn(long delayTicks, Runnable action)
+    {
+        return schedule(currentTime + delayTicks, action);
+    }
+
+    /**
+     * Schedules an action to run repeatedly until it is cancelled or the scheduler is reset
+     * @param firstGameTime The game time to first run the action at
+     * @param periodTicks The amount of ticks between each run
+     * @param action The action to run
+     * @return The scheduled {@linkplain Task task}, which can be cancelled
+     */
+    public static Task scheduleRepeating(long firstGameTime, int periodTicks, Runnable action)
+    {
+        return insert(new Task(firstGameTime, Math.max(1, periodTicks), action, generation));
+    }
+
+    private static Task insert(Task task)
+    {
+        long deadline = task.deadline;
+        if (deadline <= currentTime)
+        {
+            overdue.add(task);
+            return task;
+        }
+        for (int level = 0; level < LEVELS; level++)
+        {
+            int shift = SLOT_BITS * (level + 1);
+            if ((deadline >>> shift) == (currentTime >>> shift) || level == LEVELS - 1) // Is the deadline within the range this level covers?
+            {
+                int slot = (int) (deadline >>> (SLOT_BITS * level)) & SLOT_MASK;
+                List<Task> tasks = WHEEL[level][slot];
+                if (tasks == null)
+                {
+                    tasks = WHEEL[level][slot] = new ArrayList<>();
+                }
+                tasks.add(task);
+                break;
+            }
+        }
+        return task;
+    }
+
+    /**
+     * Advances the scheduler to the game time, running every action that is due. Called once every tick the game time advances.
+     * @param gameTime The current game time
+     */
+    public static void advance(long gameTime)
+    {
+        int startGeneration = generation;
+        while (currentTime < gameTime && startGeneration == generation) // Stop if an action reset the scheduler, such as by ending the game
+        {
+            currentTime++;
+            // Move the actions of the block of ticks that was just entered down a level, highest level first
+            for (int level = LEVELS - 1; level > 0; level--)
+            {
+                long lowerRange = 1L << (SLOT_BITS * level);
+                if ((currentTime & (lowerRange - 1)) == 0)
+                {
+                    int slot = (int) (currentTime >>> (SLOT_BITS * level)) & SLOT_MASK;
+                    List<Task> tasks = WHEEL[level][slot];
+                    if (tasks != null && !tasks.isEmpty())
+                    {
+                        WHEEL[level][slot] = null;
+                        for (Task task : tasks)
+                        {
+                            insert(task);
+                        }
+                    }
+                }
+            }
+
+            if (!overdue.isEmpty())
+            {
+                List<Task> tasks = overdue;
+                overdue = new ArrayList<>();
+                tasks.forEach(UMMatchScheduler::run);
+            }
+            int slot = (int) currentTime & SLOT_MASK;
+            List<Task> tasks = WHEEL[0][slot];
+            if (tasks != null && !tasks.isEmpty())
+            {
+                WHEEL[0][slot] = null; // Detach first, as actions may schedule more actions
+                tasks.forEach(UMMatchScheduler::run);
+            }
+        }
+    }
+
+    private static void run(Task task)
+    {
+        if (task.cancelled || task.generation != generation)
+        {
+            return;
+        }
+        task.action.run();
+        if (task.period == 0)
+        {
+            task.done = true;
+        } else if (!task.cancelled)
+        {
+            task.deadline += task.period;
+            insert(task);
+        }
+    }
+
+    /**
+     * Cancels every scheduled action and moves the scheduler to the game time. Called when the game time is reset or the game ends.
+     * @param gameTime The game time to move to
+     */
+    public static void reset(long gameTime)
+    {
+        for (List<Task>[] level : WHEEL)
+        {
+            for (int slot = 0; slot < SLOTS; slot++)
+            {
+                if (level[slot] != null)
+                {
+                    level[slot].forEach(Task::cancel);
+                    level[slot] = null;
+                }
+            }
+        }
+        overdue.forEach(Task::cancel);
+        overdue = new ArrayList<>();
+        currentTime = gameTime;
+        generation++;
+    }
+
+    /**
+     * An action scheduled on the {@linkplain UMMatchScheduler match scheduler}
+     */
+    public static final class Task
+    {
+        private long deadline;
+        private final int period;
+        private final Runnable action;
+        private final int generation;
+        private boolean cancelled;
+        private boolean done;
+
+        private Task(long deadline, int period, Runnable action, int generation)
+        {
+            this.deadline = deadline;
+            this.period = period;
+            this.action = action;
+            this.generation = generation;
+        }
+
+        /**
+         * @return The game time the action will next run at
+         */
+        public long getDeadline()
+        {
+            return this.deadline;
+        }
+
+        public boolean isCancelled()
+        {
+            return this.cancelled;
+        }
+
+        /**
+         * @return True if the action is still going to run
+         */
+        public boolean isPending()
+        {
+            return !this.cancelled && !this.done && this.generation == UMMatchScheduler.generation;
+        }
+
+        /**
+         * Stops the action from running again
+         */
+        public void cancel()
+        {
+            this.cancelled = true;
+        }
+    }
+}
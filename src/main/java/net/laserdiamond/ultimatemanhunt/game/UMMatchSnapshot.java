@@ -0,0 +1,586 @@
+package net.laserdiamond.ultimatemanhunt.game;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.laserdiamond.ultimatemanhunt.UMGame;
+import net.laserdiamond.ultimatemanhunt.capability.UMPlayer;
+import net.laserdiamond.ultimatemanhunt.capability.UMRoleRegistry;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable picture of every speed runner and hunter taken once at the start of each server tick.
+ * <p>Positions, dimensions, alive flags and grace periods are stored in primitive arrays indexed by the participant's slot,
+ * so the per-player tick handlers and damage events can read them without looking up capabilities or re-scanning the roster.</p>
+ */
+public final class UMMatchSnapshot {
+
+    /**
+     * Returned for the distance to the nearest hunter when there is no living hunter in the speed runner's dimension
+     */
+    public static final float NO_HUNTER = Float.MAX_VALUE;
+
+    /**
+     * The grid of living hunters, rebuilt for every snapshot captured. Kept between ticks so its lists are reused
+     */
+    private static final UMSpatialGrid HUNTER_GRID = new UMSpatialGrid();
+
+    /**
+     * Reads the snapshot's participants from live {@linkplain Player players} and their {@linkplain UMPlayer Manhunt player data}
+     */
+    private static final ParticipantReader<Player> PLAYERS = new ParticipantReader<>()
+    {
+        @Override
+        public Player player(Player participant)
+        {
+            return participant;
+        }
+
+        @Override
+        public int id(Player participant)
+        {
+            return participant.getId();
+        }
+
+        @Override
+        public UUID uuid(Player participant)
+        {
+            return participant.getUUID();
+        }
+
+        @Override
+        public double x(Player participant)
+        {
+            return participant.getX();
+        }
+
+        @Override
+        public double y(Player participant)
+        {
+            return participant.getY();
+        }
+
+        @Override
+        public double z(Player participant)
+        {
+            return participant.getZ();
+        }
+
+        @Override
+        public ResourceKey<Level> dimension(Player participant)
+        {
+            return participant.level().dimension();
+        }
+
+        @Override
+        public boolean isAlive(Player participant)
+        {
+            return participant.isAlive();
+        }
+
+        @Override
+        public long graceExpiry(Player participant)
+        {
+            UMPlayer umPlayer = UMRoleRegistry.getUMPlayer(participant);
+            return umPlayer == null ? 0 : umPlayer.getGracePeriodTimeStamp();
+        }
+
+        @Override
+        public boolean wasLastKilledByHunter(Player participant)
+        {
+            UMPlayer umPlayer = UMRoleRegistry.getUMPlayer(participant);
+            return umPlayer != null && umPlayer.isWasLastKilledByHunter();
+        }
+    };
+
+    private static final UMMatchSnapshot EMPTY = new UMMatchSnapshot(0, true, List.<Player>of(), List.of(), PLAYERS);
+
+    private static UMMatchSnapshot current = EMPTY;
+
+    /**
+     * @return The snapshot taken at the start of the current server tick
+     */
+    public static UMMatchSnapshot get()
+    {
+        return current;
+    }
+
+    /**
+     * Captures a new snapshot from the {@linkplain UMRoleRegistry role registry}. Called once at the start of every server tick.
+     * @param gameTime The current game time of the Manhunt
+     */
+    public static void capture(long gameTime)
+    {
+        current = new UMMatchSnapshot(gameTime, UMGame.areHuntersOnGracePeriod(), UMRoleRegistry.getSpeedRunners(), UMRoleRegistry.getHunters(), PLAYERS);
+    }
+
+    /**
+     * Discards the current snapshot. Called when the game ends so no stale participants are read.
+     */
+    public static void clear()
+    {
+        current = EMPTY;
+    }
+
+    private final long gameTime;
+    private final boolean huntersOnGracePeriod;
+    private final List<ResourceKey<Level>> dimensions;
+
+    private final int runnerCount;
+    private final Player[] runners;
+    private final double[] runnerX, runnerY, runnerZ;
+    private final int[] runnerDimension;
+    private final boolean[] runnerAlive;
+    private final long[] runnerGraceExpiry;
+    private final boolean[] runnerKilledByHunter;
+    private final int[] runnerCountInDimension;
+
+    private final int hunterCount;
+    private final Player[] hunters;
+    private final double[] hunterX, hunterY, hunterZ;
+    private final int[] hunterDimension;
+    private final boolean[] hunterAlive;
+
+    private final float[] nearestHunterDistance;
+    private final int[] nearestHunter;
+
+    private final Int2IntOpenHashMap runnerIndexById;
+    private final Int2IntOpenHashMap hunterIndexById;
+    private final Object2IntOpenHashMap<UUID> runnerIndexByUUID;
+
+    /**
+     * Captures a snapshot of the participants. Live games capture {@linkplain Player players}; the benchmarks capture stand-ins through their own reader.
+     * @param gameTime The current game time of the Manhunt
+     * @param huntersOnGracePeriod True if the hunters have not been released yet
+     * @param speedRunners The remaining speed runners
+     * @param hunters The hunters
+     * @param reader Reads what the snapshot keeps of each participant
+     * @param <P> The type of participant
+     */
+    <P> UMMatchSnapshot(long gameTime, boolean huntersOnGracePeriod, List<P> speedRunners, List<P> hunters, ParticipantReader<P> reader)
+    {
+        this.gameTime = gameTime;
+        this.huntersOnGracePeriod = huntersOnGracePeriod;
+        this.dimensions = new ArrayList<>();
+
+        this.runnerCount = speedRunners.size();
+        this.runners = new Player[this.runnerCount];
+        this.runnerX = new double[this.runnerCount];
+        this.runnerY = new double[this.runnerCount];
+        this.runnerZ = new double[this.runnerCount];
+        this.runnerDimension = new int[this.runnerCount];
+        this.runnerAlive = new boolean[this.runnerCount];
+        this.runnerGraceExpiry = new long[this.runnerCount];
+        this.runnerKilledByHunter = new boolean[this.runnerCount];
+        this.runnerIndexById = new Int2IntOpenHashMap(this.runnerCount);
+        this.runnerIndexById.defaultReturnValue(-1);
+        this.runnerIndexByUUID = new Object2IntOpenHashMap<>(this.runnerCount);
+        this.runnerIndexByUUID.defaultReturnValue(-1);
+
+        for (int i = 0; i < this.runnerCount; i++)
+        {
+            P runner = speedRunners.get(i);
+            this.runners[i] = reader.player(runner);
+            this.runnerX[i] = reader.x(runner);
+            this.runnerY[i] = reader.y(runner);
+            this.runnerZ[i] = reader.z(runner);
+            this.runnerDimension[i] = this.dimensionIndex(reader.dimension(runner), true);
+            this.runnerAlive[i] = reader.isAlive(runner);
+            this.runnerGraceExpiry[i] = reader.graceExpiry(runner);
+            this.runnerKilledByHunter[i] = reader.wasLastKilledByHunter(runner);
+            this.runnerIndexById.put(reader.id(runner), i);
+            this.runnerIndexByUUID.put(reader.uuid(runner), i);
+        }
+
+        this.hunterCount = hunters.size();
+        this.hunters = new Player[this.hunterCount];
+        this.hunterX = new double[this.hunterCount];
+        this.hunterY = new double[this.hunterCount];
+        this.hunterZ = new double[this.hunterCount];
+        this.hunterDimension = new int[this.hunterCount];
+        this.hunterAlive = new boolean[this.hunterCount];
+        this.hunterIndexById = new Int2IntOpenHashMap(this.hunterCount);
+        this.hunterIndexById.defaultReturnValue(-1);
+
+        for (int i = 0; i < this.hunterCount; i++)
+        {
+            P hunter = hunters.get(i);
+            this.hunters[i] = reader.player(hunter);
+            this.hunterX[i] = reader.x(hunter);
+            this.hunterY[i] = reader.y(hunter);
+            this.hunterZ[i] = reader.z(hunter);
+            this.hunterDimension[i] = this.dimensionIndex(reader.dimension(hunter), true);
+            this.hunterAlive[i] = reader.isAlive(hunter);
+            this.hunterIndexById.put(reader.id(hunter), i);
+        }
+
+        this.runnerCountInDimension = new int[this.dimensions.size()];
+        for (int i = 0; i < this.runnerCount; i++)
+        {
+            this.runnerCountInDimension[this.runnerDimension[i]]++;
+        }
+
+        HUNTER_GRID.rebuild(this.dimensions.size(), this.hunterX, this.hunterY, this.hunterZ, this.hunterDimension, this.hunterAlive);
+
+        // Resolve the nearest living hunter of every speed runner through the grid
+        this.nearestHunterDistance = new float[this.runnerCount];
+        this.nearestHunter = new int[this.runnerCount];
+        for (int i = 0; i < this.runnerCount; i++)
+        {
+            int nearest = HUNTER_GRID.nearest(this.runnerDimension[i], this.runnerX[i], this.runnerY[i], this.runnerZ[i]);
+            this.nearestHunter[i] = nearest;
+            this.nearestHunterDistance[i] = nearest == -1 ? NO_HUNTER : this.distance(i, nearest);
+        }
+    }
+
+    private int dimensionIndex(ResourceKey<Level> dimension, boolean add)
+    {
+        int index = this.dimensions.indexOf(dimension); // Only a handful of dimensions, so a linear scan is cheapest
+        if (index == -1 && add)
+        {
+            this.dimensions.add(dimension);
+            index = this.dimensions.size() - 1;
+        }
+        return index;
+    }
+
+    private double distanceSqr(int runner, int hunter)
+    {
+        double x = this.runnerX[runner] - this.hunterX[hunter];
+        double y = this.runnerY[runner] - this.hunterY[hunter];
+        double z = this.runnerZ[runner] - this.hunterZ[hunter];
+        return x * x + y * y + z * z;
+    }
+
+    /**
+     * @return True if the snapshot was captured during a game, false if it is the empty snapshot read while no game has been started
+     */
+    public boolean isCaptured()
+    {
+        return this != EMPTY;
+    }
+
+    /**
+     * @return The game time the snapshot was taken at
+     */
+    public long getGameTime()
+    {
+        return this.gameTime;
+    }
+
+    /**
+     * @return True if the hunters were still on their grace period when the snapshot was taken
+     */
+    public boolean areHuntersOnGracePeriod()
+    {
+        return this.huntersOnGracePeriod;
+    }
+
+    /**
+     * @param dimension The dimension
+     * @return The index of the dimension in this snapshot, or -1 if no participant is in the dimension
+     */
+    public int dimensionIndex(ResourceKey<Level> dimension)
+    {
+        return this.dimensionIndex(dimension, false);
+    }
+
+    public int getRunnerCount()
+    {
+        return this.runnerCount;
+    }
+
+    /**
+     * @param dimensionIndex The index of the dimension in this snapshot
+     * @return The amount of speed runners in the dimension
+     */
+    public int getRunnerCountInDimension(int dimensionIndex)
+    {
+        if (dimensionIndex < 0)
+        {
+            return 0;
+        }
+        return this.runnerCountInDimension[dimensionIndex];
+    }
+
+    /**
+     * @param player The {@linkplain Player player}
+     * @return The slot of the speed runner in this snapshot, or -1 if the player was not a speed runner
+     */
+    public int runnerIndexOf(Player player)
+    {
+        return this.runnerIndexOf(player.getId());
+    }
+
+    /**
+     * @param entityId The entity id of the player
+     * @return The slot of the speed runner in this snapshot, or -1 if the player was not a speed runner
+     */
+    public int runnerIndexOf(int entityId)
+    {
+        return this.runnerIndexById.get(entityId);
+    }
+
+    /**
+     * @param uuid The UUID of the player
+     * @return The slot of the speed runner in this snapshot, or -1 if the player was not a speed runner
+     */
+    public int runnerIndexOf(UUID uuid)
+    {
+        return this.runnerIndexByUUID.getInt(uuid);
+    }
+
+    /**
+     * @param runner The slot of the speed runner
+     * @return The {@linkplain Player player} of the speed runner, or null if the snapshot was captured from stand-ins
+     */
+    @Nullable
+    public Player getRunner(int runner)
+    {
+        return this.runners[runner];
+    }
+
+    public double getRunnerX(int runner)
+    {
+        return this.runnerX[runner];
+    }
+
+    public double getRunnerY(int runner)
+    {
+        return this.runnerY[runner];
+    }
+
+    public double getRunnerZ(int runner)
+    {
+        return this.runnerZ[runner];
+    }
+
+    public int getRunnerDimension(int runner)
+    {
+        return this.runnerDimension[runner];
+    }
+
+    public boolean isRunnerAlive(int runner)
+    {
+        return this.runnerAlive[runner];
+    }
+
+    public long getRunnerGraceExpiry(int runner)
+    {
+        return this.runnerGraceExpiry[runner];
+    }
+
+    public boolean wasRunnerLastKilledByHunter(int runner)
+    {
+        return this.runnerKilledByHunter[runner];
+    }
+
+    /**
+     * @param runner The slot of the speed runner
+     * @return True if the speed runner is protected from hunters
+     */
+    public boolean isRunnerOnGracePeriod(int runner)
+    {
+        return this.gameTime < this.runnerGraceExpiry[runner];
+    }
+
+    /**
+     * @param runner The slot of the speed runner, or -1 if the player was not a speed runner
+     * @return True if the speed runner is hunted this tick: the hunters have been released and the speed runner is not on grace period.
+     * Only hunted speed runners are told how close the nearest hunter is.
+     */
+    public boolean isRunnerHunted(int runner)
+    {
+        return runner != -1 && !this.huntersOnGracePeriod && !this.isRunnerOnGracePeriod(runner);
+    }
+
+    /**
+     * @param runner The slot of the speed runner
+     * @return True if the speed runner is alive and a living hunter in the same dimension is within the {@linkplain UMGame#HUNTER_DETECTION_RANGE hunter detection range}
+     */
+    public boolean isRunnerDetected(int runner)
+    {
+        return this.runnerAlive[runner] && this.isNearHunter(runner);
+    }
+
+    /**
+     * @param runner The slot of the speed runner
+     * @return The distance to the nearest living hunter in the same dimension, or {@link #NO_HUNTER} if there is none
+     */
+    public float getNearestHunterDistance(int runner)
+    {
+        return this.nearestHunterDistance[runner];
+    }
+
+    /**
+     * @param runner The slot of the speed runner
+     * @return The slot of the nearest living hunter in the same dimension, or -1 if there is none
+     */
+    public int getNearestHunter(int runner)
+    {
+        return this.nearestHunter[runner];
+    }
+
+    /**
+     * Calls the action for every living hunter in the speed runner's dimension within the radius of the speed runner.
+     * Only answered by the {@linkplain #get() current} snapshot, as the grid of hunters is rebuilt for every snapshot captured.
+     * @param runner The slot of the speed runner
+     * @param radius The radius to search within
+     * @param action The action to call with the slot of each hunter found
+     */
+    public void forEachHunterWithin(int runner, double radius, IntConsumer action)
+    {
+        if (this != current)
+        {
+            return;
+        }
+        HUNTER_GRID.forEachWithin(this.runnerDimension[runner], this.runnerX[runner], this.runnerY[runner], this.runnerZ[runner], radius, action);
+    }
+
+    public int getHunterCount()
+    {
+        return this.hunterCount;
+    }
+
+    /**
+     * @param player The {@linkplain Player player}
+     * @return The slot of the hunter in this snapshot, or -1 if the player was not a hunter
+     */
+    public int hunterIndexOf(Player player)
+    {
+        return this.hunterIndexOf(player.getId());
+    }
+
+    /**
+     * @param entityId The entity id of the player
+     * @return The slot of the hunter in this snapshot, or -1 if the player was not a hunter
+     */
+    public int hunterIndexOf(int entityId)
+    {
+        return this.hunterIndexById.get(entityId);
+    }
+
+    /**
+     * @param hunter The slot of the hunter
+     * @return The {@linkplain Player player} of the hunter, or null if the snapshot was captured from stand-ins
+     */
+    @Nullable
+    public Player getHunter(int hunter)
+    {
+        return this.hunters[hunter];
+    }
+
+    public double getHunterX(int hunter)
+    {
+        return this.hunterX[hunter];
+    }
+
+    public double getHunterY(int hunter)
+    {
+        return this.hunterY[hunter];
+    }
+
+    public double getHunterZ(int hunter)
+    {
+        return this.hunterZ[hunter];
+    }
+
+    public int getHunterDimension(int hunter)
+    {
+        return this.hunterDimension[hunter];
+    }
+
+    public boolean isHunterAlive(int hunter)
+    {
+        return this.hunterAlive[hunter];
+    }
+
+    /**
+     * Resolves the speed runner a hunter's compass points at this tick
+     * @param hunter The slot of the hunter, or -1 if the player was not a hunter
+     * @param trackedUUID The UUID of the player the hunter is tracking
+     * @return The slot of the speed runner, or -1 if the hunter cannot track them right now: they are not a remaining speed runner,
+     * are in another dimension than the hunter, are on grace period or are dead
+     */
+    public int trackableRunner(int hunter, UUID trackedUUID)
+    {
+        if (hunter == -1 || this.getRunnerCountInDimension(this.hunterDimension[hunter]) == 0) // Are there no speed runners to track?
+        {
+            return -1;
+        }
+        int runner = this.runnerIndexOf(trackedUUID);
+        if (runner == -1) // Is the tracked player offline, or NOT a speed runner (roles can change)?
+        {
+            return -1;
+        }
+        if (this.runnerDimension[runner] != this.hunterDimension[hunter]) // Are players in different dimensions?
+        {
+            return -1;
+        }
+        if (this.isRunnerOnGracePeriod(runner) || !this.runnerAlive[runner]) // Is the speed runner on grace period, or dead?
+        {
+            return -1;
+        }
+        return runner;
+    }
+
+    /**
+     * @param runner The slot of the speed runner
+     * @param hunter The slot of the hunter
+     * @return The distance between the speed runner and the hunter
+     */
+    public float distance(int runner, int hunter)
+    {
+        return (float) Math.sqrt(this.distanceSqr(runner, hunter));
+    }
+
+    /**
+     * @param runner The slot of the speed runner
+     * @return True if a living hunter in the same dimension is within the {@linkplain UMGame#HUNTER_DETECTION_RANGE hunter detection range}
+     */
+    public boolean isNearHunter(int runner)
+    {
+        return this.nearestHunterDistance[runner] < UMGame.HUNTER_DETECTION_RANGE;
+    }
+
+    /**
+     * Reads what the snapshot keeps of a participant
+     * @param <P> The type of participant
+     */
+    interface ParticipantReader<P>
+    {
+        /**
+         * @return The {@linkplain Player player} of the participant, or null if it is a stand-in
+         */
+        @Nullable
+        Player player(P participant);
+
+        int id(P participant);
+
+        UUID uuid(P participant);
+
+        double x(P participant);
+
+        double y(P participant);
+
+        double z(P participant);
+
+        ResourceKey<Level> dimension(P participant);
+
+        boolean isAlive(P participant);
+
+        /**
+         * @return The game time the participant's grace period ends at, or 0 if it has none
+         */
+        long graceExpiry(P participant);
+
+        boolean wasLastKilledByHunter(P participant);
+    }
+}
@@ -0,0 +1,179 @@
+package net.laserdiamond.ultimatemanhunt.game;
+
+import net.laserdiamond.ultimatemanhunt.UMServerConfig;
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.laserdiamond.ultimatemanhunt.api.event.RoleTransitionCompleteEvent;
+import net.laserdiamond.ultimatemanhunt.api.event.UltimateManhuntGameStateEvent;
+import net.laserdiamond.ultimatemanhunt.perf.UMPerf;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Spreads the per-player work of a {@linkplain UltimateManhuntGameStateEvent game state change} across ticks on the SERVER.
+ * <p>Clearing inventories, changing dimensions, spawning and syncing every player in one tick stalls the server for as long as it takes to do all of them.
+ * Instead, every online player is queued when the game state changes, and each tick works through the queue until the {@linkplain UMServerConfig#TRANSITION_BUDGET_MILLIS time budget} is spent.
+ * At least one player is processed every tick, so the transition always finishes.</p>
+ * <p>Until their turn comes, players are frozen: they are held in place, cannot attack or be hurt, and the Manhunt game time does not advance.
+ * A {@linkplain RoleTransitionCompleteEvent completion event} is fired once every player has been processed.</p>
+ */
+@Mod.EventBusSubscriber(modid = UltimateManhunt.MODID)
+public final class UMRoleTransition {
+
+    /**
+     * Players that move further than this from where they were frozen are moved back
+     */
+    private static final double FREEZE_TOLERANCE_SQR = 0.25 * 0.25;
+
+    private static final ArrayDeque<UUID> QUEUE = new ArrayDeque<>();
+    private static final Map<UUID, Vec3> FROZEN_POSITIONS = new HashMap<>();
+
+    @Nullable
+    private static UltimateManhuntGameStateEvent transition;
+    @Nullable
+    private static Consumer<Player> action;
+    private static long budgetNanos;
+    private static int processedPlayers;
+    private static int ticksTaken;
+
+    private UMRoleTransition() {}
+
+    /**
+     * Queues every online player for the game state change. A transition still in progress is finished first, in this tick, so the changes apply in order.
+     * @param server The {@link MinecraftServer}
+     * @param event The {@linkplain UltimateManhuntGameStateEvent game state event} the transition belongs to
+     * @param forPlayer The work to do for each player
+     */
+    public static void begin(MinecraftServer server, UltimateManhuntGameStateEvent event, Consumer<Player> forPlayer)
+    {
+        if (isInProgress())
+        {
+            finishNow(server);
+        }
+        transition = event;
+        action = forPlayer;
+        budgetNanos = UMServerConfig.TRANSITION_BUDGET_MILLIS.get() * 1_000_000L;
+        processedPlayers = 0;
+        ticksTaken = 0;
+        for (ServerPlayer player : server.getPlayerList().getPlayers())
+        {
+            QUEUE.add(player.getUUID());
+            FROZEN_POSITIONS.put(player.getUUID(), player.position());
+        }
+    }
+
+    /**
+     * @return True if players are still waiting for their turn in a transition
+     */
+    public static boolean isInProgress()
+    {
+        return transition != null;
+    }
+
+    /**
+     * @param player The {@linkplain Player player} to check
+     * @return True if the player is frozen, waiting for their turn in the transition
+     */
+    public static boolean isPending(Player player)
+    {
+        return !FROZEN_POSITIONS.isEmpty() && FROZEN_POSITIONS.containsKey(player.getUUID());
+    }
+
+    /**
+     * Moves a {@linkplain #isPending(Player) pending} player back to where they were frozen if they moved away from it
+     * @param player The {@linkplain ServerPlayer player} to hold in place
+     */
+    public static void holdInPlace(ServerPlayer player)
+    {
+        Vec3 frozenPosition = FROZEN_POSITIONS.get(player.getUUID());
+        if (frozenPosition != null && player.position().distanceToSqr(frozenPosition) > FREEZE_TOLERANCE_SQR)
+        {
+            player.connection.teleport(frozenPosition.x, frozenPosition.y, frozenPosition.z, player.getYRot(), player.getXRot());
+        }
+    }
+
+    private static void process(MinecraftServer server, long deadline)
+    {
+        Consumer<Player> forPlayer = action;
+        do
+        {
+            UUID uuid = QUEUE.poll();
+            if (uuid == null)
+            {
+                break;
+            }
+            FROZEN_POSITIONS.remove(uuid);
+            ServerPlayer player = server.getPlayerList().getPlayer(uuid); // Looked up now, since the player may have logged out or respawned since
+            if (player == null)
+            {
+                continue; // Logged out. Handled like any other player joining when they come back
+            }
+            forPlayer.accept(player);
+            processedPlayers++;
+        } while (System.nanoTime() < deadline);
+
+        if (QUEUE.isEmpty())
+        {
+            complete();
+        }
+    }
+
+    private static void finishNow(MinecraftServer server)
+    {
+        process(server, Long.MAX_VALUE);
+    }
+
+    private static void complete()
+    {
+        UltimateManhuntGameStateEvent completed = transition;
+        int players = processedPlayers;
+        int ticks = ticksTaken;
+        transition = null;
+        action = null;
+        FROZEN_POSITIONS.clear();
+        if (completed != null)
+        {
+            MinecraftForge.EVENT_BUS.post(new RoleTransitionCompleteEvent(completed, players, ticks));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTickPre(TickEvent.ServerTickEvent.Pre event)
+    {
+        if (transition == null)
+        {
+            return;
+        }
+        ticksTaken++;
+        UMPerf.begin(UMPerf.Handler.GAME_STATE_EVENT); // Times the work done for every player, which is what grows with the player count
+        try
+        {
+            process(event.getServer(), System.nanoTime() + budgetNanos);
+        } finally
+        {
+            UMPerf.end(UMPerf.Handler.GAME_STATE_EVENT);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event)
+    {
+        QUEUE.clear();
+        FROZEN_POSITIONS.clear();
+        transition = null;
+        action = null;
+    }
+}
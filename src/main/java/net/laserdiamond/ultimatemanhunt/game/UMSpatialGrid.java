@@ -0,0 +1,294 @@
+package net.laserdiamond.ultimatemanhunt.game;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.laserdiamond.ultimatemanhunt.UMGame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform grid of the participants of one role, partitioned by dimension and rebuilt once per tick by the {@linkplain UMMatchSnapshot match snapshot}.
+ * <p>Participants are bucketed into square columns of {@link #CELL_SIZE} blocks on the X/Z plane. Range queries only visit the cells overlapping the range,
+ * and nearest-neighbour queries search outwards ring by ring, so neither has to compare against every participant in the dimension.
+ * Distances are still measured in 3D.</p>
+ * <p>The grid keeps its cell and dimension lists between builds and only clears them, so rebuilding it every tick does not allocate once it has grown to the size of the game.</p>
+ */
+public final class UMSpatialGrid {
+
+    /**
+     * Width of a cell in blocks. Matching the {@linkplain UMGame#HUNTER_DETECTION_RANGE hunter detection range} keeps detection queries within a 3x3 block of cells.
+     */
+    public static final double CELL_SIZE = UMGame.HUNTER_DETECTION_RANGE;
+
+    /**
+     * A search is abandoned for a linear scan once the cells it would visit outnumber the participants in the dimension by this factor
+     */
+    private static final int LINEAR_SCAN_FACTOR = 4;
+
+    private static final double[] NO_COORDINATES = new double[0];
+
+    private double[] x = NO_COORDINATES, y = NO_COORDINATES, z = NO_COORDINATES;
+    private final Long2ObjectOpenHashMap<IntArrayList> cells = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Cell lists of the previous build that no cell uses yet. Participants move between cells every tick, so the lists are handed back here instead of kept under their old cell
+     */
+    private final ArrayList<IntArrayList> spareCells = new ArrayList<>();
+    private int dimensionCount;
+    private IntArrayList[] members = new IntArrayList[0];
+    private int[] minCellX = new int[0], maxCellX = new int[0], minCellZ = new int[0], maxCellZ = new int[0];
+
+    /**
+     * Creates an empty grid. Fill it with {@link #rebuild(int, double[], double[], double[], int[], boolean[])}.
+     */
+    UMSpatialGrid() {}
+
+    /**
+     * Replaces the contents of the grid with the position arrays of a {@linkplain UMMatchSnapshot snapshot}. The arrays are referenced, not copied.
+     * @param dimensionCount The number of dimensions in the snapshot
+     * @param x The X coordinate of each slot
+     * @param y The Y coordinate of each slot
+     * @param z The Z coordinate of each slot
+     * @param dimension The dimension index of each slot
+     * @param included Whether each slot should be added to the grid
+     */
+    void rebuild(int dimensionCount, double[] x, double[] y, double[] z, int[] dimension, boolean[] included)
+    {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        for (IntArrayList cell : this.cells.values())
+        {
+            cell.clear();
+            this.spareCells.add(cell);
+        }
+        this.cells.clear();
+        if (this.members.length < dimensionCount)
+        {
+            this.members = Arrays.copyOf(this.members, dimensionCount);
+            this.minCellX = new int[dimensionCount];
+            this.maxCellX = new int[dimensionCount];
+            this.minCellZ = new int[dimensionCount];
+            this.maxCellZ = new int[dimensionCount];
+        }
+        this.dimensionCount = dimensionCount;
+        for (int dim = 0; dim < dimensionCount; dim++)
+        {
+            if (this.members[dim] == null)
+            {
+                this.members[dim] = new IntArrayList();
+            }
+            this.members[dim].clear();
+        }
+
+        for (int i = 0; i < x.length; i++)
+        {
+            if (!included[i])
+            {
+                continue;
+            }
+            int dim = dimension[i];
+            int cellX = cell(x[i]);
+            int cellZ = cell(z[i]);
+            IntArrayList dimensionMembers = this.members[dim];
+            if (dimensionMembers.isEmpty())
+            {
+                this.minCellX[dim] = this.maxCellX[dim] = cellX;
+                this.minCellZ[dim] = this.maxCellZ[dim] = cellZ;
+            } else
+            {
+                this.minCellX[dim] = Math.min(this.minCellX[dim], cellX);
+                this.maxCellX[dim] = Math.max(this.maxCellX[dim], cellX);
+                this.minCellZ[dim] = Math.min(this.minCellZ[dim], cellZ);
+                this.maxCellZ[dim] = Math.max(this.maxCellZ[dim], cellZ);
+            }
+            dimensionMembers.add(i);
+            long key = key(dim, cellX, cellZ);
+            IntArrayList cell = this.cells.get(key);
+            if (cell == null)
+            {
+                cell = this.spareCells.isEmpty() ? new IntArrayList(4) : this.spareCells.remove(this.spareCells.size() - 1);
+                this.cells.put(key, cell);
+            }
+            cell.add(i);
+        }
+    }
+
+    private static int cell(double coordinate)
+    {
+        return (int) Math.floor(coordinate / CELL_SIZE);
+    }
+
+    private static long key(int dimension, int cellX, int cellZ)
+    {
+        // 24 bits per axis covers the whole world border at 50 blocks per cell
+        return ((long) dimension << 48) | ((long) (cellX & 0xFFFFFF) << 24) | (cellZ & 0xFFFFFF);
+    }
+
+    private double distanceSqr(int slot, double x, double y, double z)
+    {
+        double dx = this.x[slot] - x;
+        double dy = this.y[slot] - y;
+        double dz = this.z[slot] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private int size(int dimension)
+    {
+        if (dimension < 0 || dimension >= this.dimensionCount)
+        {
+            return 0;
+        }
+        return this.members[dimension].size();
+    }
+
+    /**
+     * Calls the action for every slot in the dimension within the radius of the position.
+     * A radius up to {@link #CELL_SIZE} visits at most the 3x3 block of cells around the position.
+     * @param dimension The dimension index to search in
+     * @param x The X coordinate of the position
+     * @param y The Y coordinate of the position
+     * @param z The Z coordinate of the position
+     * @param radius The radius to search within
+     * @param action The action to call with each slot found
+     */
+    public void forEachWithin(int dimension, double x, double y, double z, double radius, IntConsumer action)
+    {
+        int size = this.size(dimension);
+        if (size == 0)
+        {
+            return;
+        }
+        double radiusSqr = radius * radius;
+        int fromX = cell(x - radius), toX = cell(x + radius);
+        int fromZ = cell(z - radius), toZ = cell(z + radius);
+        if ((long) (toX - fromX + 1) * (toZ - fromZ + 1) > (long) size * LINEAR_SCAN_FACTOR) // Is the range so large that scanning everyone is cheaper?
+        {
+            IntArrayList dimensionMembers = this.members[dimension];
+            for (int i = 0; i < size; i++)
+            {
+                int slot = dimensionMembers.getInt(i);
+                if (this.distanceSqr(slot, x, y, z) <= radiusSqr)
+                {
+                    action.accept(slot);
+                }
+            }
+            return;
+        }
+        for (int cellX = fromX; cellX <= toX; cellX++)
+        {
+            for (int cellZ = fromZ; cellZ <= toZ; cellZ++)
+            {
+                IntArrayList cell = this.cells.get(key(dimension, cellX, cellZ));
+                if (cell == null)
+                {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); i++)
+                {
+                    int slot = cell.getInt(i);
+                    if (this.distanceSqr(slot, x, y, z) <= radiusSqr)
+                    {
+                        action.accept(slot);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the slot in the dimension closest to the position
+     * @param dimension The dimension index to search in
+     * @param x The X coordinate of the position
+     * @param y The Y coordinate of the position
+     * @param z The Z coordinate of the position
+     * @return The closest slot, or -1 if the dimension has no slots
+     */
+    public int nearest(int dimension, double x, double y, double z)
+    {
+        int size = this.size(dimension);
+        if (size == 0)
+        {
+            return -1;
+        }
+        int centerX = cell(x);
+        int centerZ = cell(z);
+        int maxRing = Math.max(Math.max(centerX - this.minCellX[dimension], this.maxCellX[dimension] - centerX),
+                Math.max(centerZ - this.minCellZ[dimension], this.maxCellZ[dimension] - centerZ));
+
+        int nearest = -1;
+        double nearestSqr = Double.MAX_VALUE;
+        for (int ring = 0; ring <= maxRing; ring++)
+        {
+            long side = 2L * ring + 1;
+            if (side * side > (long) size * LINEAR_SCAN_FACTOR) // Are the participants too spread out for the rings to pay off?
+            {
+                return this.nearestLinear(dimension, x, y, z);
+            }
+            int ringCells = ring == 0 ? 1 : 8 * ring;
+            for (int k = 0; k < ringCells; k++)
+            {
+                // Walk the edge of the ring: top, right, bottom, then left side, 2 * ring cells each
+                int offsetX, offsetZ;
+                if (k < 2 * ring)
+                {
+                    offsetX = k - ring;
+                    offsetZ = -ring;
+                } else if (k < 4 * ring)
+                {
+                    offsetX = ring;
+                    offsetZ = k - 3 * ring;
+                } else if (k < 6 * ring)
+                {
+                    offsetX = 5 * ring - k;
+                    offsetZ = ring;
+                } else
+                {
+                    offsetX = -ring;
+                    offsetZ = 7 * ring - k;
+                }
+                IntArrayList cell = this.cells.get(key(dimension, centerX + offsetX, centerZ + offsetZ));
+                if (cell == null)
+                {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); i++)
+                {
+                    int slot = cell.getInt(i);
+                    double distanceSqr = this.distanceSqr(slot, x, y, z);
+                    if (distanceSqr < nearestSqr)
+                    {
+                        nearestSqr = distanceSqr;
+                        nearest = slot;
+                    }
+                }
+            }
+            double reach = ring * CELL_SIZE; // Everything in the next ring is at least this far away
+            if (nearest != -1 && nearestSqr <= reach * reach)
+            {
+                break;
+            }
+        }
+        return nearest;
+    }
+
+    private int nearestLinear(int dimension, double x, double y, double z)
+    {
+        IntArrayList dimensionMembers = this.members[dimension];
+        int nearest = -1;
+        double nearestSqr = Double.MAX_VALUE;
+        for (int i = 0; i < dimensionMembers.size(); i++)
+        {
+            int slot = dimensionMembers.getInt(i);
+            double distanceSqr = this.distanceSqr(slot, x, y, z);
+            if (distanceSqr < nearestSqr)
+            {
+                nearestSqr = distanceSqr;
+                nearest = slot;
+            }
+        }
+        return nearest;
+    }
+}
@@ -0,0 +1,221 @@
+package net.laserdiamond.ultimatemanhunt.game;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.laserdiamond.ultimatemanhunt.UMGame;
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.laserdiamond.ultimatemanhunt.api.event.HuntersReleasedEvent;
+import net.laserdiamond.ultimatemanhunt.api.event.UltimateManhuntGameStateEvent;
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerChunkCache;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+import javax.annotation.Nullable;
+import java.util.Comparator;
+
+/**
+ * Generates the chunks around the game spawn before a game starts on the SERVER.
+ * <p>Without this, every chunk around the spawn is generated on the server thread the moment all players are teleported there, freezing the server for seconds.
+ * Instead, a chunk ticket is placed over the area, so the chunk system generates it on its worker threads while the server keeps ticking.
+ * The server thread only polls how many of the chunks are done. The ticket is held until the hunters are released at the spawn, so the area is not unloaded before it is used.
+ * By then every player has been placed and keeps the chunks around them loaded, so the ticket is removed. A game that ends before the hunters are released removes it as well.</p>
+ */
+@Mod.EventBusSubscriber(modid = UltimateManhunt.MODID)
+public final class UMSpawnPreparer {
+
+    /**
+     * The radius, in chunks, of the area generated around the spawn
+     */
+    public static final int PREPARE_RADIUS = 8;
+
+    /**
+     * How many ticks to wait between checking on the generation progress
+     */
+    private static final int PROGRESS_CHECK_INTERVAL = 10;
+
+    /**
+     * Progress is reported every time this percentage is passed
+     */
+    private static final int PROGRESS_REPORT_STEP = 25;
+
+    private static final TicketType<ChunkPos> SPAWN_TICKET = TicketType.create(UltimateManhunt.MODID + ":spawn", Comparator.comparingLong(ChunkPos::toLong));
+
+    @Nullable
+    private static ChunkPos ticketPos;
+    private static final LongArrayList PENDING_CHUNKS = new LongArrayList();
+    private static int totalChunks;
+    private static int preparedX, preparedZ;
+    private static int lastReportedProgress;
+    @Nullable
+    private static CommandSourceStack progressListener;
+    private static int ticksUntilCheck;
+
+    private UMSpawnPreparer() {}
+
+    /**
+     * Starts generating the area around the current game spawn. Any area previously prepared is released.
+     * @param overworld The Overworld
+     * @param source The {@linkplain CommandSourceStack command source} to report progress to, or null to not report progress
+     */
+    public static void prepare(ServerLevel overworld, @Nullable CommandSourceStack source)
+    {
+        release(overworld);
+        preparedX = UMGame.getXSpawnCoordinate();
+        preparedZ = UMGame.getZSpawnCoordinate();
+        ticketPos = new ChunkPos(preparedX >> 4, preparedZ >> 4);
+        overworld.getChunkSource().addRegionTicket(SPAWN_TICKET, ticketPos, PREPARE_RADIUS, ticketPos);
+
+        for (int chunkX = ticketPos.x - PREPARE_RADIUS; chunkX <= ticketPos.x + PREPARE_RADIUS; chunkX++)
+        {
+            for (int chunkZ = ticketPos.z - PREPARE_RADIUS; chunkZ <= ticketPos.z + PREPARE_RADIUS; chunkZ++)
+            {
+                PENDING_CHUNKS.add(ChunkPos.asLong(chunkX, chunkZ));
+            }
+        }
+        totalChunks = PENDING_CHUNKS.size();
+        lastReportedProgress = 0;
+        progressListener = source;
+        ticksUntilCheck = 0;
+        if (source != null)
+        {
+            source.sendSuccess(() -> Component.literal("Preparing " + totalChunks + " chunks around the " + ChatFormatting.GOLD + "Ultimate Manhunt Game" + ChatFormatting.WHITE + " spawn..."), true);
+        }
+    }
+
+    /**
+     * Releases the chunk ticket of the prepared area, letting the chunks unload once no players are around them
+     * @param overworld The Overworld
+     */
+    public static void release(ServerLevel overworld)
+    {
+        if (ticketPos != null)
+        {
+            overworld.getChunkSource().removeRegionTicket(SPAWN_TICKET, ticketPos, PREPARE_RADIUS, ticketPos);
+        }
+        clear();
+    }
+
+    private static void clear()
+    {
+        ticketPos = null;
+        PENDING_CHUNKS.clear();
+        totalChunks = 0;
+        progressListener = null;
+    }
+
+    /**
+     * @return The {@linkplain Status status} of the area around the current game spawn
+     */
+    public static Status getStatus()
+    {
+        if (ticketPos == null || preparedX != UMGame.getXSpawnCoordinate() || preparedZ != UMGame.getZSpawnCoordinate())
+        {
+            return Status.NOT_PREPARED; // Never prepared, or prepared before the spawn was moved
+        }
+        return PENDING_CHUNKS.isEmpty() ? Status.READY : Status.PREPARING;
+    }
+
+    /**
+     * @return The percentage of the area that has been generated
+     */
+    public static int getProgress()
+    {
+        if (totalChunks == 0)
+        {
+            return 0;
+        }
+        return (totalChunks - PENDING_CHUNKS.size()) * 100 / totalChunks;
+    }
+
+    private static void checkProgress(ServerLevel overworld)
+    {
+        ServerChunkCache chunkSource = overworld.getChunkSource();
+        // Swap-remove every chunk that has finished. Only looks the chunks up, never waits on them
+        for (int i = PENDING_CHUNKS.size() - 1; i >= 0; i--)
+        {
+            long chunk = PENDING_CHUNKS.getLong(i);
+            if (chunkSource.getChunkNow(ChunkPos.getX(chunk), ChunkPos.getZ(chunk)) != null)
+            {
+                PENDING_CHUNKS.set(i, PENDING_CHUNKS.getLong(PENDING_CHUNKS.size() - 1));
+                PENDING_CHUNKS.removeLong(PENDING_CHUNKS.size() - 1);
+            }
+        }
+
+        if (PENDING_CHUNKS.isEmpty())
+        {
+            UMSpawnResolver.resolve(overworld); // Resolve the spawn now, while nothing else is happening
+            if (progressListener != null)
+            {
+                progressListener.sendSuccess(() -> Component.literal("The " + ChatFormatting.GOLD + "Ultimate Manhunt Game" + ChatFormatting.WHITE + " spawn is " + ChatFormatting.GREEN + "ready"), true);
+                progressListener = null;
+            }
+            return;
+        }
+        int progress = getProgress();
+        if (progressListener != null && progress >= lastReportedProgress + PROGRESS_REPORT_STEP)
+        {
+            lastReportedProgress = progress - progress % PROGRESS_REPORT_STEP;
+            progressListener.sendSuccess(() -> Component.literal("Preparing spawn: " + ChatFormatting.AQUA + progress + "%"), false);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTickPost(TickEvent.ServerTickEvent.Post event)
+    {
+        if (PENDING_CHUNKS.isEmpty() || --ticksUntilCheck > 0)
+        {
+            return;
+        }
+        ticksUntilCheck = PROGRESS_CHECK_INTERVAL;
+        checkProgress(event.getServer().overworld());
+    }
+
+    /**
+     * Releases the prepared area, if it is still held, once the game no longer needs it
+     */
+    private static void releaseHeld()
+    {
+        MinecraftServer mcServer = ServerLifecycleHooks.getCurrentServer();
+        if (ticketPos != null && mcServer != null)
+        {
+            release(mcServer.overworld());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onHuntersReleased(HuntersReleasedEvent event)
+    {
+        releaseHeld(); // The hunters have just been moved to the spawn, the last players to arrive there
+    }
+
+    @SubscribeEvent
+    public static void onGameEnd(UltimateManhuntGameStateEvent.End event)
+    {
+        releaseHeld();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event)
+    {
+        clear(); // The tickets are discarded with the level
+    }
+
+    /**
+     * The status of the area around the game spawn
+     */
+    public enum Status
+    {
+        NOT_PREPARED,
+        PREPARING,
+        READY
+    }
+}
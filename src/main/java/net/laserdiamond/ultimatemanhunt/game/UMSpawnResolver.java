@@ -0,0 +1,139 @@
+package net.laserdiamond.ultimatemanhunt.game;
+
+import net.laserdiamond.ultimatemanhunt.UMGame;
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import javax.annotation.Nullable;
+
+/**
+ * Resolves the position players are spawned at for the Manhunt game on the SERVER.
+ * <p>The surface is read from the world's heightmap instead of being searched block by block. If the spawn column is not safe to stand on,
+ * the nearest safe column around it is used instead. The result is cached, and only looked up again when the {@linkplain UMGame#setXAndZSpawnCoordinate(int, int) spawn coordinates}
+ * change or the surface of the cached column changes, so spawning many players at once only costs one heightmap read each.</p>
+ */
+@Mod.EventBusSubscriber(modid = UltimateManhunt.MODID)
+public final class UMSpawnResolver {
+
+    /**
+     * How far, in blocks, to look around the spawn column for a safe column
+     */
+    private static final int SAFE_SEARCH_RADIUS = 8;
+
+    @Nullable
+    private static Vec3 cachedSpawn;
+    private static int cachedX, cachedZ;
+    private static int cachedColumnX, cachedColumnZ, cachedSurfaceY;
+
+    private UMSpawnResolver() {}
+
+    /**
+     * Gets the position to spawn players at in the level
+     * @param level The {@linkplain ServerLevel level} to spawn in, which is always the Overworld
+     * @return The position to spawn players at
+     */
+    public static Vec3 resolve(ServerLevel level)
+    {
+        int x = UMGame.getXSpawnCoordinate();
+        int z = UMGame.getZSpawnCoordinate();
+        if (cachedSpawn != null && cachedX == x && cachedZ == z && surface(level, cachedColumnX, cachedColumnZ) == cachedSurfaceY)
+        {
+            return cachedSpawn; // Same spawn, and nothing has been built or broken on top of it
+        }
+        int columnX = x, columnZ = z;
+        if (!isSafe(level, x, z))
+        {
+            BlockPos safeColumn = findSafeColumn(level, x, z);
+            if (safeColumn != null)
+            {
+                columnX = safeColumn.getX();
+                columnZ = safeColumn.getZ();
+            }
+        }
+        cachedX = x;
+        cachedZ = z;
+        cachedColumnX = columnX;
+        cachedColumnZ = columnZ;
+        cachedSurfaceY = surface(level, columnX, columnZ);
+        cachedSpawn = new Vec3(columnX + 0.5, cachedSurfaceY, columnZ + 0.5);
+        return cachedSpawn;
+    }
+
+    /**
+     * Discards the cached spawn position. Called when the spawn coordinates change.
+     */
+    public static void invalidate()
+    {
+        cachedSpawn = null;
+    }
+
+    /**
+     * @return The Y coordinate of the first free block above the surface of the column
+     */
+    private static int surface(ServerLevel level, int x, int z)
+    {
+        return level.getHeight(Heightmap.Types.MOTION_BLOCKING, x, z);
+    }
+
+    private static boolean isSafe(ServerLevel level, int x, int z)
+    {
+        int y = surface(level, x, z);
+        if (y <= level.getMinBuildHeight())
+        {
+            return false; // Nothing to stand on
+        }
+        BlockPos groundPos = new BlockPos(x, y - 1, z);
+        BlockState ground = level.getBlockState(groundPos);
+        if (!ground.getFluidState().isEmpty())
+        {
+            return false; // Water or lava
+        }
+        return ground.isFaceSturdy(level, groundPos, Direction.UP) && level.getBlockState(groundPos.above(2)).getCollisionShape(level, groundPos.above(2)).isEmpty();
+    }
+
+    @Nullable
+    private static BlockPos findSafeColumn(ServerLevel level, int x, int z)
+    {
+        for (int radius = 1; radius <= SAFE_SEARCH_RADIUS; radius++)
+        {
+            // Walk the ring of columns at this distance
+            for (int offset = -radius; offset <= radius; offset++)
+            {
+                if (isSafe(level, x + offset, z - radius))
+                {
+                    return new BlockPos(x + offset, 0, z - radius);
+                }
+                if (isSafe(level, x + offset, z + radius))
+                {
+                    return new BlockPos(x + offset, 0, z + radius);
+                }
+            }
+            for (int offset = -radius + 1; offset < radius; offset++)
+            {
+                if (isSafe(level, x - radius, z + offset))
+                {
+                    return new BlockPos(x - radius, 0, z + offset);
+                }
+                if (isSafe(level, x + radius, z + offset))
+                {
+                    return new BlockPos(x + radius, 0, z + offset);
+                }
+            }
+        }
+        return null;
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event)
+    {
+        invalidate();
+    }
+}
@@ -0,0 +1,200 @@
+package net.laserdiamond.ultimatemanhunt.gametest;
+
+import net.laserdiamond.ultimatemanhunt.UMGame;
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.laserdiamond.ultimatemanhunt.capability.UMPlayer;
+import net.laserdiamond.ultimatemanhunt.capability.UMPlayerCapability;
+import net.laserdiamond.ultimatemanhunt.capability.UMRoleRegistry;
+import net.laserdiamond.ultimatemanhunt.capability.UMTrackingRing;
+import net.laserdiamond.ultimatemanhunt.game.UMGameSettings;
+import net.laserdiamond.ultimatemanhunt.network.packet.hunter.ChangeTrackingSpeedRunnerC2SPacket;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+import java.util.List;
+
+/**
+ * Load tests of a whole Manhunt game played by {@linkplain UMLoadTestMatch fake players}.
+ * <p>Each test checks the outcome of a phase of the game, and that no tick during the phase went over the tick budget.
+ * Run them headless with {@code gradlew runGameTestServer}. The size of the game and the budget can be changed with the system properties
+ * {@code ultimate_manhunt.gametest.hunters}, {@code ultimate_manhunt.gametest.speed_runners} and {@code ultimate_manhunt.gametest.tick_budget_ms}.</p>
+ * <p>The Manhunt game is global to the server, so every test runs in its own batch to keep them from running at the same time.</p>
+ */
+@GameTestHolder(UltimateManhunt.MODID)
+@PrefixGameTestTemplate(false)
+public final class UMLoadGameTests {
+
+    private static final String TEMPLATE = "empty";
+
+    /**
+     * Leaves enough time for the spawn area to generate before the game starts
+     */
+    private static final int TIMEOUT_TICKS = 2400;
+
+    private static final int HUNTERS = Integer.getInteger("ultimate_manhunt.gametest.hunters", 25);
+    private static final int SPEED_RUNNERS = Integer.getInteger("ultimate_manhunt.gametest.speed_runners", 75);
+
+    /**
+     * The longest a single tick may take. Defaults to a whole tick at 20 ticks per second.
+     */
+    private static final long TICK_BUDGET_MILLIS = Long.getLong("ultimate_manhunt.gametest.tick_budget_ms", 50);
+
+    private static final int HUNTER_GRACE_PERIOD = 100;
+
+    private UMLoadGameTests() {}
+
+    @GameTest(template = TEMPLATE, batch = "ultimate_manhunt_release", timeoutTicks = TIMEOUT_TICKS)
+    public static void huntersReleasedWithinBudget(GameTestHelper helper)
+    {
+        UMLoadTestMatch match = new UMLoadTestMatch(helper, HUNTERS, SPEED_RUNNERS, UMGameSettings.DEFAULT.withHunterGracePeriodTicks(HUNTER_GRACE_PERIOD));
+        helper.startSequence()
+                .thenWaitUntil(match::assertSpawnPrepared)
+                .thenExecute(() ->
+                {
+                    match.getTickTimer().reset();
+                    match.start();
+                })
+                .thenWaitUntil(match::assertTransitionComplete)
+                .thenExecute(() ->
+                {
+                    match.assertTickBudget("start of game", TICK_BUDGET_MILLIS);
+                    helper.assertTrue(UMGame.getCurrentGameTime() <= 1, "Game time advanced while players were being placed"); // May have ticked once since the last player was placed
+                })
+                .thenWaitUntil(() -> helper.assertTrue(UMGame.getCurrentGameTime() >= HUNTER_GRACE_PERIOD - 1, "Hunters are about to be released"))
+                .thenExecute(() -> match.getTickTimer().reset())
+                .thenWaitUntil(match::assertHuntersReleased)
+                .thenExecute(() ->
+                {
+                    match.assertTickBudget("hunter release", TICK_BUDGET_MILLIS);
+                    match.assertHuntersTracking(0); // Every hunter starts off tracking the first speed runner
+                })
+                .thenExecute(match::close)
+                .thenSucceed();
+    }
+
+    @GameTest(template = TEMPLATE, batch = "ultimate_manhunt_tracking", timeoutTicks = TIMEOUT_TICKS)
+    public static void huntersCycleTrackingWithinBudget(GameTestHelper helper)
+    {
+        UMLoadTestMatch match = new UMLoadTestMatch(helper, HUNTERS, SPEED_RUNNERS, UMGameSettings.DEFAULT.withHunterGracePeriodTicks(20));
+        helper.startSequence()
+                .thenWaitUntil(match::assertSpawnPrepared)
+                .thenExecute(match::start)
+                .thenWaitUntil(match::assertHuntersReleased)
+                .thenExecute(() ->
+                {
+                    match.getTickTimer().reset();
+                    // Every hunter presses the key to track the next speed runner until they reach the last one
+                    for (ServerPlayer hunter : match.getHunters())
+                    {
+                        for (int i = 1; i < match.getSpeedRunners().size(); i++)
+                        {
+                            ChangeTrackingSpeedRunnerC2SPacket.cycleTrackedSpeedRunner(hunter, true);
+                        }
+                    }
+                    match.assertHuntersTracking(-1);
+                    // One more press wraps around to the first speed runner, and one back wraps around to the last
+                    for (ServerPlayer hunter : match.getHunters())
+                    {
+                        ChangeTrackingSpeedRunnerC2SPacket.cycleTrackedSpeedRunner(hunter, true);
+                    }
+                    match.assertHuntersTracking(0);
+                    for (ServerPlayer hunter : match.getHunters())
+                    {
+                        ChangeTrackingSpeedRunnerC2SPacket.cycleTrackedSpeedRunner(hunter, false);
+                    }
+                    match.assertHuntersTracking(-1);
+                    // Then presses the key to track the previous speed runner until they are back at the first
+                    for (ServerPlayer hunter : match.getHunters())
+                    {
+                        for (int i = 1; i < match.getSpeedRunners().size(); i++)
+                        {
+                            ChangeTrackingSpeedRunnerC2SPacket.cycleTrackedSpeedRunner(hunter, false);
+                        }
+                    }
+                    match.assertHuntersTracking(0);
+                })
+                .thenIdle(1)
+                .thenExecute(() -> match.assertTickBudget("tracking key presses", TICK_BUDGET_MILLIS))
+                .thenExecute(() ->
+                {
+                    // Tracking keys sent over the network are rate limited. A second press in the same tick is dropped
+                    for (ServerPlayer hunter : match.getHunters())
+                    {
+                        helper.assertTrue(UMTrackingRing.tryStartCycle(hunter), hunter.getName().getString() + "'s first press was dropped");
+                        helper.assertFalse(UMTrackingRing.tryStartCycle(hunter), hunter.getName().getString() + "'s second press in the same tick was not dropped");
+                    }
+                })
+                .thenIdle(UMTrackingRing.MIN_CYCLE_INTERVAL_TICKS)
+                .thenExecute(() ->
+                {
+                    for (ServerPlayer hunter : match.getHunters())
+                    {
+                        helper.assertTrue(UMTrackingRing.tryStartCycle(hunter), hunter.getName().getString() + "'s press after the interval was dropped");
+                    }
+                })
+                .thenExecute(match::close)
+                .thenSucceed();
+    }
+
+    @GameTest(template = TEMPLATE, batch = "ultimate_manhunt_mass_death", timeoutTicks = TIMEOUT_TICKS)
+    public static void massDeathEndsGameWithinBudget(GameTestHelper helper)
+    {
+        UMGameSettings settings = UMGameSettings.DEFAULT.withHunterGracePeriodTicks(20)
+                .withMaxLives(1)
+                .withDeadSpeedRunnerRole(UMGame.PlayerRole.SPECTATOR);
+        UMLoadTestMatch match = new UMLoadTestMatch(helper, HUNTERS, SPEED_RUNNERS, settings);
+        helper.startSequence()
+                .thenWaitUntil(match::assertSpawnPrepared)
+                .thenExecute(match::start)
+                .thenWaitUntil(match::assertHuntersReleased)
+                .thenExecute(() ->
+                {
+                    match.getTickTimer().reset();
+                    match.killSpeedRunners();
+                })
+                .thenIdle(1) // The game ends at the start of the next tick
+                .thenExecute(() ->
+                {
+                    match.assertTickBudget("mass death", TICK_BUDGET_MILLIS);
+                    match.getTickTimer().reset();
+                })
+                .thenWaitUntil(match::assertTransitionComplete) // Players are reset over as many ticks as the budget needs
+                .thenExecute(() ->
+                {
+                    match.assertTickBudget("end of game reset", TICK_BUDGET_MILLIS);
+                    helper.assertValueEqual(UMGame.getCurrentGameState(), UMGame.State.NOT_STARTED, "game state");
+                    helper.assertTrue(UMGame.getLoggedPlayerUUIDs().isEmpty(), "Logged players were not wiped");
+                    helper.assertTrue(UMRoleRegistry.getHunters().isEmpty(), "Hunters were not reset");
+                    for (ServerPlayer speedRunner : match.getSpeedRunners())
+                    {
+                        helper.assertTrue(speedRunner.isDeadOrDying(), speedRunner.getName().getString() + " survived");
+                        helper.assertTrue(speedRunner.getCapability(UMPlayerCapability.UM_PLAYER).map(UMPlayer::isSpectator).orElse(false), speedRunner.getName().getString() + " is not a spectator");
+                    }
+                })
+                .thenExecute(match::close)
+                .thenSucceed();
+    }
+
+    @GameTest(template = TEMPLATE, batch = "ultimate_manhunt_friendly_fire", timeoutTicks = TIMEOUT_TICKS)
+    public static void friendlyFireCancelledBeforeGameStarts(GameTestHelper helper)
+    {
+        UMLoadTestMatch match = new UMLoadTestMatch(helper, 2, 2, UMGameSettings.DEFAULT.withFriendlyFire(false));
+        helper.startSequence()
+                .thenIdle(1) // Let a server tick pass with no game started, so there is no snapshot to read the roles from
+                .thenExecute(() ->
+                {
+                    helper.assertValueEqual(UMGame.getCurrentGameState(), UMGame.State.NOT_STARTED, "game state");
+                    List<ServerPlayer> hunters = match.getHunters();
+                    List<ServerPlayer> speedRunners = match.getSpeedRunners();
+                    match.assertAttackCancelled(hunters.get(0), hunters.get(1), true);
+                    match.assertAttackCancelled(speedRunners.get(0), speedRunners.get(1), true);
+                    match.assertAttackCancelled(hunters.get(0), speedRunners.get(0), false);
+                    match.assertAttackCancelled(speedRunners.get(0), hunters.get(0), false);
+                })
+                .thenExecute(match::close)
+                .thenSucceed();
+    }
+}
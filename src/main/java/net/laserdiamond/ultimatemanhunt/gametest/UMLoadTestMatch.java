@@ -0,0 +1,295 @@
+package net.laserdiamond.ultimatemanhunt.gametest;
+
+import com.mojang.authlib.GameProfile;
+import io.netty.channel.embedded.EmbeddedChannel;
+import net.laserdiamond.ultimatemanhunt.UMGame;
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.laserdiamond.ultimatemanhunt.capability.UMPlayer;
+import net.laserdiamond.ultimatemanhunt.capability.UMPlayerCapability;
+import net.laserdiamond.ultimatemanhunt.capability.UMRoleRegistry;
+import net.laserdiamond.ultimatemanhunt.game.UMGameSettings;
+import net.laserdiamond.ultimatemanhunt.game.UMRoleTransition;
+import net.laserdiamond.ultimatemanhunt.game.UMSpawnPreparer;
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.network.Connection;
+import net.minecraft.network.protocol.PacketFlow;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ClientInformation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.network.CommonListenerCookie;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.damagesource.DamageType;
+import net.minecraft.world.damagesource.DamageTypes;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.entity.living.LivingAttackEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A Manhunt game played by fake players, used by the {@linkplain UMLoadGameTests load game tests}.
+ * <p>Fake players have no client, so nothing ticks them the way a connection would. The match moves every living participant a small random step
+ * and ticks them itself every tick, which runs the same per-player handlers a real player does.
+ * Roles are assigned and the game is started through the Manhunt command, the same way an operator would.</p>
+ */
+final class UMLoadTestMatch {
+
+    private static final String HUNTER_TAG = "um_load_hunter";
+    private static final String SPEED_RUNNER_TAG = "um_load_speed_runner";
+
+    /**
+     * Largest distance a fake player walks on an axis in one tick
+     */
+    private static final double MAX_STEP = 0.4;
+
+    /**
+     * The match that was opened last and has not been closed yet. Left open when an assertion fails before the test closes its match
+     */
+    private static UMLoadTestMatch openMatch;
+
+    private final GameTestHelper helper;
+    private final MinecraftServer server;
+    private final UMGameSettings previousSettings;
+    private final List<ServerPlayer> hunters = new ArrayList<>();
+    private final List<ServerPlayer> speedRunners = new ArrayList<>();
+    private final List<EmbeddedChannel> channels = new ArrayList<>();
+    private final RandomSource random = RandomSource.create(42L);
+    private final UMTickTimer tickTimer;
+    private boolean closed;
+
+    /**
+     * Joins the fake players, gives them their roles and starts preparing the spawn. The game itself is not started yet.
+     * @param helper The {@linkplain GameTestHelper helper} of the running test
+     * @param hunterCount How many fake hunters to join
+     * @param speedRunnerCount How many fake speed runners to join
+     * @param settings The {@linkplain UMGameSettings settings} to play with. The previous settings are restored once the match is closed.
+     */
+    UMLoadTestMatch(GameTestHelper helper, int hunterCount, int speedRunnerCount, UMGameSettings settings)
+    {
+        this.helper = helper;
+        this.server = helper.getLevel().getServer();
+        this.discardLeftovers();
+        this.previousSettings = UMGame.getSettings();
+        UMGame.publishSettings(settings);
+        openMatch = this; // From here on, the next match restores the settings if this one is never closed
+        this.server.setPvpAllowed(true); // Hunters have to be able to kill speed runners
+
+        for (int i = 0; i < hunterCount; i++)
+        {
+            this.hunters.add(this.join("um_hunter_" + i, HUNTER_TAG));
+        }
+        for (int i = 0; i < speedRunnerCount; i++)
+        {
+            this.speedRunners.add(this.join("um_runner_" + i, SPEED_RUNNER_TAG));
+        }
+        this.command("roles current @a[tag=" + HUNTER_TAG + "] hunter");
+        this.command("roles current @a[tag=" + SPEED_RUNNER_TAG + "] speed_runner");
+        this.command("gameState prepare");
+
+        this.tickTimer = UMTickTimer.start();
+        helper.onEachTick(this::tick);
+    }
+
+    /**
+     * Closes the match of a previous test that failed before it could close it, restoring its settings and stopping its tick timer.
+     * Then ends any game still running and removes any fake players left behind.
+     */
+    private void discardLeftovers()
+    {
+        if (openMatch != null)
+        {
+            openMatch.close();
+        }
+        if (UMGame.State.hasGameBeenStarted())
+        {
+            this.command("gameState stop");
+        }
+        for (ServerPlayer player : List.copyOf(this.server.getPlayerList().getPlayers()))
+        {
+            if (player.getTags().contains(HUNTER_TAG) || player.getTags().contains(SPEED_RUNNER_TAG))
+            {
+                this.server.getPlayerList().remove(player);
+            }
+        }
+    }
+
+    private ServerPlayer join(String name, String tag)
+    {
+        GameProfile profile = new GameProfile(UUID.randomUUID(), name);
+        ServerPlayer player = new ServerPlayer(this.server, this.helper.getLevel(), profile, ClientInformation.createDefault());
+        Connection connection = new Connection(PacketFlow.SERVERBOUND);
+        this.channels.add(new EmbeddedChannel(connection)); // Collects everything sent to the player in memory instead of a socket
+        this.server.getPlayerList().placeNewPlayer(connection, player, CommonListenerCookie.createInitial(profile, false));
+        player.addTag(tag);
+        return player;
+    }
+
+    private void command(String command)
+    {
+        this.server.getCommands().performPrefixedCommand(this.server.createCommandSourceStack().withSuppressedOutput(), UltimateManhunt.MODID + " " + command);
+    }
+
+    private void tick()
+    {
+        if (this.closed)
+        {
+            return;
+        }
+        this.tick(this.hunters);
+        this.tick(this.speedRunners);
+        this.channels.forEach(EmbeddedChannel::releaseOutbound); // Nobody reads the packets, so do not let them pile up
+    }
+
+    private void tick(List<ServerPlayer> players)
+    {
+        for (ServerPlayer player : players)
+        {
+            if (player.isRemoved() || player.isDeadOrDying())
+            {
+                continue;
+            }
+            if (!player.isSpectator())
+            {
+                player.teleportTo(player.getX() + (this.random.nextDouble() * 2 - 1) * MAX_STEP, player.getY(), player.getZ() + (this.random.nextDouble() * 2 - 1) * MAX_STEP);
+            }
+            player.doTick(); // What the connection would do every tick for a real player
+        }
+    }
+
+    List<ServerPlayer> getHunters()
+    {
+        return this.hunters;
+    }
+
+    List<ServerPlayer> getSpeedRunners()
+    {
+        return this.speedRunners;
+    }
+
+    UMTickTimer getTickTimer()
+    {
+        return this.tickTimer;
+    }
+
+    /**
+     * Fails the test until the spawn has finished generating
+     */
+    void assertSpawnPrepared()
+    {
+        this.helper.assertTrue(UMSpawnPreparer.getStatus() == UMSpawnPreparer.Status.READY, "Spawn is still being prepared (" + UMSpawnPreparer.getProgress() + "%)");
+    }
+
+    /**
+     * Starts the game and checks every fake player entered it with the role they were given
+     */
+    void start()
+    {
+        this.command("gameState start");
+        this.helper.assertTrue(UMGame.State.isGameRunning(), "Game did not start");
+        this.helper.assertValueEqual(UMRoleRegistry.getHunters().size(), this.hunters.size(), "hunters in the game");
+        this.helper.assertValueEqual(UMRoleRegistry.getSpeedRunners().size(), this.speedRunners.size(), "speed runners in the game");
+    }
+
+    /**
+     * Fails the test until the {@linkplain UMRoleTransition role transition} of the last game state change has reached every player
+     */
+    void assertTransitionComplete()
+    {
+        this.helper.assertFalse(UMRoleTransition.isInProgress(), "Players are still being placed");
+    }
+
+    /**
+     * Fails the test until the hunters have been released
+     */
+    void assertHuntersReleased()
+    {
+        this.helper.assertTrue(!UMGame.areHuntersOnGracePeriod(), "Hunters are still on their grace period");
+    }
+
+    /**
+     * Has the hunters kill every speed runner in the same tick
+     */
+    void killSpeedRunners()
+    {
+        Holder<DamageType> kill = this.server.registryAccess().registryOrThrow(Registries.DAMAGE_TYPE).getHolderOrThrow(DamageTypes.GENERIC_KILL);
+        for (int i = 0; i < this.speedRunners.size(); i++)
+        {
+            this.speedRunners.get(i).hurt(new DamageSource(kill, this.hunters.get(i % this.hunters.size())), Float.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Fails the test unless the attack of one player on another is cancelled, or let through, by the Manhunt
+     * @param attacker The {@linkplain ServerPlayer player} attacking
+     * @param victim The {@linkplain ServerPlayer player} being attacked
+     * @param cancelled True if the attack is expected to be cancelled
+     */
+    void assertAttackCancelled(ServerPlayer attacker, ServerPlayer victim, boolean cancelled)
+    {
+        LivingAttackEvent event = new LivingAttackEvent(victim, victim.damageSources().playerAttack(attacker), 1.0F);
+        MinecraftForge.EVENT_BUS.post(event);
+        this.helper.assertValueEqual(event.isCanceled(), cancelled, attacker.getName().getString() + " attacking " + victim.getName().getString() + " cancelled");
+    }
+
+    /**
+     * Fails the test if any tick of the {@linkplain UMTickTimer tick timer's} current window took longer than the budget
+     * @param phase What the window covered, for the failure message
+     * @param budgetMillis The longest a tick may take, in milliseconds
+     */
+    void assertTickBudget(String phase, long budgetMillis)
+    {
+        double longestTick = this.tickTimer.longestTickMillis();
+        UltimateManhunt.LOGGER.info("Longest tick during {} with {} hunters and {} speed runners: {} ms", phase, this.hunters.size(), this.speedRunners.size(), String.format("%.2f", longestTick));
+        this.helper.assertTrue(longestTick <= budgetMillis, "Tick during " + phase + " took " + String.format("%.2f", longestTick) + " ms, over the budget of " + budgetMillis + " ms");
+    }
+
+    /**
+     * Fails the test unless every hunter is tracking the speed runner at the index of the speed runners available to them
+     * @param index The index to check, or -1 for the last speed runner
+     */
+    void assertHuntersTracking(int index)
+    {
+        for (ServerPlayer hunter : this.hunters)
+        {
+            List<Player> available = UMPlayer.getAvailableSpeedRunners(hunter);
+            this.helper.assertFalse(available.isEmpty(), hunter.getName().getString() + " has no speed runners to track");
+            UMPlayer umPlayer = hunter.getCapability(UMPlayerCapability.UM_PLAYER).orElse(null);
+            this.helper.assertTrue(umPlayer != null, hunter.getName().getString() + " has no Manhunt data");
+            UUID expected = available.get(index == -1 ? available.size() - 1 : index).getUUID();
+            this.helper.assertValueEqual(umPlayer.getTrackingPlayerUUID(), expected, hunter.getName().getString() + "'s tracked speed runner");
+        }
+    }
+
+    /**
+     * Ends the game if it is still running, removes the fake players and restores the settings
+     */
+    void close()
+    {
+        if (this.closed)
+        {
+            return;
+        }
+        this.closed = true;
+        if (openMatch == this)
+        {
+            openMatch = null;
+        }
+        if (this.tickTimer != null) // Not started if joining the players failed
+        {
+            this.tickTimer.stop();
+        }
+        if (UMGame.State.hasGameBeenStarted())
+        {
+            this.command("gameState stop");
+        }
+        this.hunters.forEach(this.server.getPlayerList()::remove);
+        this.speedRunners.forEach(this.server.getPlayerList()::remove);
+        this.channels.forEach(EmbeddedChannel::finishAndReleaseAll);
+        UMGame.publishSettings(this.previousSettings);
+    }
+}
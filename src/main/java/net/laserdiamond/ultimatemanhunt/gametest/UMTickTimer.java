@@ -0,0 +1,59 @@
+package net.laserdiamond.ultimatemanhunt.gametest;
+
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+
+import java.util.function.Consumer;
+
+/**
+ * Measures how long each server tick takes, from the first server tick listener to the last.
+ * <p>Only listens while a {@linkplain UMLoadGameTests load game test} is running. Durations are kept as the longest tick of the current window,
+ * so a test can open a window just before the tick it cares about and check the budget right after it.</p>
+ */
+final class UMTickTimer {
+
+    private final Consumer<TickEvent.ServerTickEvent.Pre> onTickStart = event -> this.tickStart = System.nanoTime();
+    private final Consumer<TickEvent.ServerTickEvent.Post> onTickEnd = event -> this.longestTick = Math.max(this.longestTick, System.nanoTime() - this.tickStart);
+
+    private long tickStart;
+    private long longestTick;
+
+    private UMTickTimer() {}
+
+    /**
+     * @return A new timer, already measuring
+     */
+    static UMTickTimer start()
+    {
+        UMTickTimer timer = new UMTickTimer();
+        MinecraftForge.EVENT_BUS.addListener(EventPriority.HIGHEST, false, TickEvent.ServerTickEvent.Pre.class, timer.onTickStart);
+        MinecraftForge.EVENT_BUS.addListener(EventPriority.LOWEST, false, TickEvent.ServerTickEvent.Post.class, timer.onTickEnd);
+        return timer;
+    }
+
+    /**
+     * Stops measuring
+     */
+    void stop()
+    {
+        MinecraftForge.EVENT_BUS.unregister(this.onTickStart);
+        MinecraftForge.EVENT_BUS.unregister(this.onTickEnd);
+    }
+
+    /**
+     * Opens a new window. The tick this is called in is the first tick of the window.
+     */
+    void reset()
+    {
+        this.longestTick = 0;
+    }
+
+    /**
+     * @return The duration of the longest tick that finished in the current window, in milliseconds
+     */
+    double longestTickMillis()
+    {
+        return this.longestTick / 1_000_000.0;
+    }
+}
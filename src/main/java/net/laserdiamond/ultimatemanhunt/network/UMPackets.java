@@ -4,6 +4,7 @@ import net.laserdiamond.laserutils.network.NetworkPacket;
 import net.laserdiamond.laserutils.network.NetworkPackets;
 import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
 import net.laserdiamond.ultimatemanhunt.network.packet.UMCapabilitySyncS2CPacket;
+import net.laserdiamond.ultimatemanhunt.network.packet.UMPlayerSyncS2CPacket;
 import net.laserdiamond.ultimatemanhunt.network.packet.game.*;
 import net.laserdiamond.ultimatemanhunt.network.packet.game.announce.GameEndAnnounceS2CPacket;
 import net.laserdiamond.ultimatemanhunt.network.packet.game.announce.GamePausedAnnounceS2CPacket;
@@ -11,8 +12,14 @@ import net.laserdiamond.ultimatemanhunt.network.packet.game.announce.GameResumed
 import net.laserdiamond.ultimatemanhunt.network.packet.game.announce.GameStartAnnounceS2CPacket;
 import net.laserdiamond.ultimatemanhunt.network.packet.hunter.*;
 import net.laserdiamond.ultimatemanhunt.network.packet.speedrunner.*;
+import net.laserdiamond.ultimatemanhunt.perf.UMPerf;
 import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ChunkMap;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.network.ServerPlayerConnection;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -21,6 +28,7 @@ import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.minecraftforge.network.ChannelBuilder;
 import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.SimpleChannel;
+import net.minecraftforge.server.ServerLifecycleHooks;
 
 import java.util.function.Function;
 
@@ -59,12 +67,6 @@ public class UMPackets {
     {
         // Speed Runner distance from hunter server to client
         registerPacket(SpeedRunnerDistanceFromHunterS2CPacket.class, SpeedRunnerDistanceFromHunterS2CPacket::new, NetworkDirection.PLAY_TO_CLIENT);
-
-        // Speed Runner Grace Period server to client
-        registerPacket(SpeedRunnerGracePeriodDurationS2CPacket.class, SpeedRunnerGracePeriodDurationS2CPacket::new, NetworkDirection.PLAY_TO_CLIENT);
-
-        // Speed Runner max lives server to client
-        registerPacket(SpeedRunnerMaxLifeChangeS2CPacket.class, SpeedRunnerMaxLifeChangeS2CPacket::new, NetworkDirection.PLAY_TO_CLIENT);
     }
 
     private static void registerHunterPackets()
@@ -72,12 +74,12 @@ public class UMPackets {
         // Speed Runner distance server to client
         registerPacket(TrackingSpeedRunnerS2CPacket.class, TrackingSpeedRunnerS2CPacket::new, NetworkDirection.PLAY_TO_CLIENT);
 
+        // Tracking speed runner position offset server to client
+        registerPacket(TrackingSpeedRunnerDeltaS2CPacket.class, TrackingSpeedRunnerDeltaS2CPacket::new, NetworkDirection.PLAY_TO_CLIENT);
+
         // Hunter release announcement server to client
         registerPacket(HunterReleaseAnnounceS2CPacket.class, HunterReleaseAnnounceS2CPacket::new, NetworkDirection.PLAY_TO_CLIENT);
 
-        // Hunter Grace Period server to client
-        registerPacket(HunterGracePeriodDurationS2CPacket.class, HunterGracePeriodDurationS2CPacket::new, NetworkDirection.PLAY_TO_CLIENT);
-
         // Hunter change tracking speed runner server to client
         registerPacket(ChangeTrackingSpeedRunnerC2SPacket.class, ChangeTrackingSpeedRunnerC2SPacket::new, NetworkDirection.PLAY_TO_SERVER);
     }
@@ -87,6 +89,9 @@ public class UMPackets {
         // UM Player Capability Sync
         registerPacket(UMCapabilitySyncS2CPacket.class, UMCapabilitySyncS2CPacket::new, NetworkDirection.PLAY_TO_CLIENT);
 
+        // UM Player changed fields sync
+        registerPacket(UMPlayerSyncS2CPacket.class, UMPlayerSyncS2CPacket::new, NetworkDirection.PLAY_TO_CLIENT);
+
         // Game State server to client
         registerPacket(GameStateS2CPacket.class, GameStateS2CPacket::new, NetworkDirection.PLAY_TO_CLIENT);
 
@@ -105,8 +110,8 @@ public class UMPackets {
         // Game End Announce server to client
         registerPacket(GameEndAnnounceS2CPacket.class, GameEndAnnounceS2CPacket::new, NetworkDirection.PLAY_TO_CLIENT);
 
-        // Hardcore update server to client
-        registerPacket(HardcoreUpdateS2CPacket.class, HardcoreUpdateS2CPacket::new, NetworkDirection.PLAY_TO_CLIENT);
+        // Game Settings server to client
+        registerPacket(GameSettingsS2CPacket.class, GameSettingsS2CPacket::new, NetworkDirection.PLAY_TO_CLIENT);
 
         // Remaining Speed Runner and Hunter count server to client
         registerPacket(RemainingPlayerCountS2CPacket.class, RemainingPlayerCountS2CPacket::new, NetworkDirection.PLAY_TO_CLIENT);
@@ -114,6 +119,19 @@ public class UMPackets {
 
     public static <P extends NetworkPacket> void registerPacket(Class<P> packetClazz, Function<RegistryFriendlyByteBuf, P> decoder, NetworkDirection<RegistryFriendlyByteBuf> direction)
     {
+        UMPerf.registerPacketType(packetClazz);
+        if (direction == NetworkDirection.PLAY_TO_SERVER) // Only the server's traffic is counted
+        {
+            Function<RegistryFriendlyByteBuf, P> countingDecoder = buf ->
+            {
+                int start = buf.readerIndex();
+                P packet = decoder.apply(buf);
+                UMPerf.countReceived(packetClazz, buf.readerIndex() - start);
+                return packet;
+            };
+            NetworkPackets.registerPacket(INSTANCE, id(), packetClazz, countingDecoder, direction);
+            return;
+        }
         NetworkPackets.registerPacket(INSTANCE, id(), packetClazz, decoder, direction);
     }
 
@@ -124,11 +142,17 @@ public class UMPackets {
 
     public static <MSG> void sendToPlayer(MSG message, Player player)
     {
+        UMPerf.countSent(message, 1);
         NetworkPackets.sendToPlayer(INSTANCE, message, (ServerPlayer) player);
     }
 
     public static <MSG> void sendToAllClients(MSG message)
     {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server != null)
+        {
+            UMPerf.countSent(message, server.getPlayerCount());
+        }
         NetworkPackets.sendToAllClients(INSTANCE, message);
     }
 
@@ -140,7 +164,7 @@ public class UMPackets {
      */
     public static <MSG> void sendToAllTrackingEntity(MSG message, Entity trackedEntity)
     {
-        NetworkPackets.sendToAllTrackingEntity(INSTANCE, message, trackedEntity);
+        sendToTrackers(message, trackedEntity, false);
     }
 
     /**
@@ -151,6 +175,34 @@ public class UMPackets {
      */
     public static <MSG> void sendToAllTrackingEntityAndSelf(MSG message, Entity trackedEntity)
     {
-        NetworkPackets.sendToAllTrackingEntityAndSelf(INSTANCE, message, trackedEntity);
+        sendToTrackers(message, trackedEntity, true);
+    }
+
+    /**
+     * Sends the message to the players the server tracks the entity for, the same ones vanilla sends the entity's own updates to
+     */
+    private static <MSG> void sendToTrackers(MSG message, Entity trackedEntity, boolean includeSelf)
+    {
+        if (!(trackedEntity.level() instanceof ServerLevel level))
+        {
+            return;
+        }
+        Packet<?> packet = INSTANCE.toVanillaPacket(message, NetworkDirection.PLAY_TO_CLIENT); // Encoded separately for every connection, so one packet can be shared
+        int recipients = 0;
+        ChunkMap.TrackedEntity tracked = level.getChunkSource().chunkMap.entityMap.get(trackedEntity.getId());
+        if (tracked != null)
+        {
+            for (ServerPlayerConnection connection : tracked.seenBy)
+            {
+                connection.send(packet);
+                recipients++;
+            }
+        }
+        if (includeSelf && trackedEntity instanceof ServerPlayer self && self.connection != null)
+        {
+            self.connection.send(packet);
+            recipients++;
+        }
+        UMPerf.countSent(message, recipients);
     }
 }
@@ -0,0 +1,198 @@
+package net.laserdiamond.ultimatemanhunt.network;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.laserdiamond.ultimatemanhunt.network.packet.hunter.TrackingSpeedRunnerDeltaS2CPacket;
+import net.laserdiamond.ultimatemanhunt.network.packet.hunter.TrackingSpeedRunnerS2CPacket;
+import net.laserdiamond.ultimatemanhunt.perf.UMMetrics;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Streams the position of the tracked speed runner to each hunter on the SERVER.
+ * <p>Each speed runner is given a small id for the session, so the name and UUID only have to be sent when a hunter starts tracking them.
+ * After that, only quantized position offsets are sent, and only once the speed runner has moved far enough.
+ * Far away speed runners are updated less often, and the client interpolates between the samples.</p>
+ */
+@Mod.EventBusSubscriber(modid = UltimateManhunt.MODID)
+public final class UMTrackingStream {
+
+    /**
+     * Target id sent when the hunter is not tracking anyone
+     */
+    public static final int NO_TARGET = 0;
+
+    /**
+     * Positions are sent in 1/16ths of a block
+     */
+    public static final int POSITION_SCALE = 16;
+
+    /**
+     * Movement smaller than a quarter of a block is not sent
+     */
+    private static final int MOVE_THRESHOLD = POSITION_SCALE / 4;
+
+    private static final Object2IntOpenHashMap<UUID> TARGET_IDS = new Object2IntOpenHashMap<>();
+    private static final Map<UUID, HunterStream> STREAMS = new HashMap<>();
+    private static int nextTargetId = NO_TARGET + 1;
+
+    static
+    {
+        TARGET_IDS.defaultReturnValue(NO_TARGET);
+    }
+
+    private UMTrackingStream() {}
+
+    /**
+     * @param distance The distance between the hunter and the speed runner
+     * @return How many ticks to wait between updates of a speed runner this far away
+     */
+    private static int intervalFor(float distance)
+    {
+        if (distance < 48)
+        {
+            return 2;
+        } else if (distance < 160)
+        {
+            return 5;
+        } else if (distance < 512)
+        {
+            return 10;
+        }
+        return 20;
+    }
+
+    private static int targetIdOf(Player speedRunner)
+    {
+        int targetId = TARGET_IDS.getInt(speedRunner.getUUID());
+        if (targetId == NO_TARGET)
+        {
+            targetId = nextTargetId++;
+            TARGET_IDS.put(speedRunner.getUUID(), targetId);
+        }
+        return targetId;
+    }
+
+    private static int quantize(double coordinate)
+    {
+        return Mth.floor(coordinate * POSITION_SCALE + 0.5);
+    }
+
+    /**
+     * Sends the hunter the position of the speed runner they are tracking, if it is due and has changed enough
+     * @param hunter The hunter
+     * @param speedRunner The speed runner being tracked
+     * @param distance The distance between the hunter and the speed runner
+     */
+    public static void track(Player hunter, Player speedRunner, float distance)
+    {
+        long gameTime = hunter.level().getGameTime(); // Keeps counting across Manhunt games, unlike the Manhunt game time
+        HunterStream stream = STREAMS.computeIfAbsent(hunter.getUUID(), uuid -> new HunterStream());
+        int targetId = targetIdOf(speedRunner);
+        int interval = intervalFor(distance);
+        Vec3 position = speedRunner.getEyePosition();
+        int x = quantize(position.x), y = quantize(position.y), z = quantize(position.z);
+
+        if (stream.targetId != targetId) // Started tracking a different speed runner?
+        {
+            stream.keyframe(hunter, targetId, speedRunner.getName().getString(), x, y, z, interval, gameTime);
+            return;
+        }
+        if (gameTime - stream.lastSentTime < stream.interval && interval >= stream.interval)
+        {
+            return; // Not due yet. Still sent early if the speed runner came closer and needs a faster rate
+        }
+        int dx = x - stream.x, dy = y - stream.y, dz = z - stream.z;
+        if (Math.abs(dx) < MOVE_THRESHOLD && Math.abs(dy) < MOVE_THRESHOLD && Math.abs(dz) < MOVE_THRESHOLD)
+        {
+            return; // Barely moved. Offsets keep accumulating against the last sent position until they are worth sending
+        }
+        if (dx != (short) dx || dy != (short) dy || dz != (short) dz) // Teleported too far for an offset?
+        {
+            stream.keyframe(hunter, targetId, speedRunner.getName().getString(), x, y, z, interval, gameTime);
+            return;
+        }
+        UMPackets.sendToPlayer(new TrackingSpeedRunnerDeltaS2CPacket(targetId, (short) dx, (short) dy, (short) dz, interval), hunter);
+        UMMetrics.countTrackingUpdate(false);
+        stream.sent(x, y, z, interval, gameTime);
+    }
+
+    /**
+     * Lets the hunter know they are not tracking anyone. Only sends a packet if the hunter was previously tracking someone.
+     * @param hunter The hunter
+     */
+    public static void stop(Player hunter)
+    {
+        HunterStream stream = STREAMS.get(hunter.getUUID());
+        if (stream == null)
+        {
+            stream = new HunterStream();
+            STREAMS.put(hunter.getUUID(), stream);
+        } else if (stream.targetId == NO_TARGET)
+        {
+            return; // Already told
+        }
+        stream.targetId = NO_TARGET;
+        UMPackets.sendToPlayer(new TrackingSpeedRunnerS2CPacket(), hunter);
+    }
+
+    /**
+     * Forgets what was sent to the hunter, so the next update is sent in full
+     * @param hunter The hunter
+     */
+    public static void reset(Player hunter)
+    {
+        STREAMS.remove(hunter.getUUID());
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogOut(PlayerEvent.PlayerLoggedOutEvent event)
+    {
+        reset(event.getEntity());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event)
+    {
+        STREAMS.clear();
+        TARGET_IDS.clear();
+        nextTargetId = NO_TARGET + 1;
+    }
+
+    /**
+     * What was last sent to one hunter
+     */
+    private static final class HunterStream
+    {
+        private int targetId = -1; // Nothing sent yet
+        private int x, y, z;
+        private int interval;
+        private long lastSentTime;
+
+        private void keyframe(Player hunter, int targetId, String name, int x, int y, int z, int interval, long gameTime)
+        {
+            this.targetId = targetId;
+            UMPackets.sendToPlayer(new TrackingSpeedRunnerS2CPacket(targetId, name, x, y, z, interval), hunter);
+            UMMetrics.countTrackingUpdate(true);
+            this.sent(x, y, z, interval, gameTime);
+        }
+
+        private void sent(int x, int y, int z, int interval, long gameTime)
+        {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.interval = interval;
+            this.lastSentTime = gameTime;
+        }
+    }
+}
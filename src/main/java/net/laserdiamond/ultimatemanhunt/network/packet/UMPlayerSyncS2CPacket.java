@@ -0,0 +1,61 @@
+package net.laserdiamond.ultimatemanhunt.network.packet;
+
+import net.laserdiamond.laserutils.network.NetworkPacket;
+import net.laserdiamond.ultimatemanhunt.capability.UMPlayer;
+import net.laserdiamond.ultimatemanhunt.capability.UMPlayerCapability;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.network.CustomPayloadEvent;
+
+/**
+ * Packet sent from the SERVER to the CLIENT that syncs only the fields of a player's {@linkplain UMPlayer Manhunt player data} that changed.
+ * A bitmask of the changed fields is followed by the fields themselves.
+ */
+public class UMPlayerSyncS2CPacket extends NetworkPacket {
+
+    private final int entityId;
+    private final int fields;
+    private final UMPlayer data;
+
+    public UMPlayerSyncS2CPacket(Player player, UMPlayer umPlayer, int fields)
+    {
+        this.entityId = player.getId();
+        this.fields = fields;
+        this.data = umPlayer.copy(); // Written later on the network thread, so take the values now
+    }
+
+    public UMPlayerSyncS2CPacket(FriendlyByteBuf buf)
+    {
+        this.entityId = buf.readVarInt();
+        this.fields = buf.readUnsignedByte();
+        this.data = UMPlayer.readFields(buf, this.fields);
+    }
+
+    @Override
+    public void toBytes(FriendlyByteBuf buf)
+    {
+        buf.writeVarInt(this.entityId);
+        buf.writeByte(this.fields);
+        this.data.writeFields(buf, this.fields);
+    }
+
+    @Override
+    public void packetWork(CustomPayloadEvent.Context context)
+    {
+        // ON CLIENT
+        ClientLevel level = Minecraft.getInstance().level;
+        if (level == null)
+        {
+            return;
+        }
+        Entity entity = level.getEntity(this.entityId);
+        if (entity == null)
+        {
+            return;
+        }
+        entity.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(umPlayer -> umPlayer.copyFrom(this.data, this.fields));
+    }
+}
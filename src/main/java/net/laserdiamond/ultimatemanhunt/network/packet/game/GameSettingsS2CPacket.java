@@ -0,0 +1,44 @@
+package net.laserdiamond.ultimatemanhunt.network.packet.game;
+
+import net.laserdiamond.laserutils.network.NetworkPacket;
+import net.laserdiamond.ultimatemanhunt.client.game.ClientHardcore;
+import net.laserdiamond.ultimatemanhunt.client.hunter.ClientHunterGracePeriod;
+import net.laserdiamond.ultimatemanhunt.client.speedrunner.ClientSpeedRunnerGracePeriod;
+import net.laserdiamond.ultimatemanhunt.client.speedrunner.ClientSpeedRunnerMaxLives;
+import net.laserdiamond.ultimatemanhunt.game.UMGameSettings;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.event.network.CustomPayloadEvent;
+
+/**
+ * {@linkplain NetworkPacket Packet} sent from the server to the client with all the {@linkplain UMGameSettings settings} of the game.
+ * Sent whenever the settings change, and when the player joins.
+ */
+public class GameSettingsS2CPacket extends NetworkPacket {
+
+    private final UMGameSettings settings;
+
+    public GameSettingsS2CPacket(UMGameSettings settings)
+    {
+        this.settings = settings;
+    }
+
+    public GameSettingsS2CPacket(FriendlyByteBuf buf)
+    {
+        this.settings = UMGameSettings.read(buf);
+    }
+
+    @Override
+    public void toBytes(FriendlyByteBuf buf)
+    {
+        this.settings.write(buf);
+    }
+
+    @Override
+    public void packetWork(CustomPayloadEvent.Context context)
+    {
+        ClientHardcore.setHardcore(this.settings.hardcore());
+        ClientHunterGracePeriod.setGracePeriodDuration(this.settings.hunterGracePeriodTicks());
+        ClientSpeedRunnerGracePeriod.setGracePeriodDuration(this.settings.speedRunnerGracePeriodTicks());
+        ClientSpeedRunnerMaxLives.setMaxLives(this.settings.maxLives());
+    }
+}
@@ -5,30 +5,37 @@ import net.laserdiamond.ultimatemanhunt.client.game.ClientGameTime;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraftforge.event.network.CustomPayloadEvent;
 
+/**
+ * Anchors the client's {@linkplain ClientGameTime game clock} to the server's game time.
+ * Only sent when the clock needs correcting, as the client advances the clock on its own while the game is running.
+ */
 public class GameTimeS2CPacket extends NetworkPacket {
 
     private final long gameTime;
+    private final boolean running;
 
-    public GameTimeS2CPacket(long gameTime)
+    public GameTimeS2CPacket(long gameTime, boolean running)
     {
         this.gameTime = gameTime;
+        this.running = running;
     }
 
     public GameTimeS2CPacket(FriendlyByteBuf buf)
     {
-        this.gameTime = buf.readLong();
-
+        this.gameTime = buf.readVarLong();
+        this.running = buf.readBoolean();
     }
 
     @Override
     public void toBytes(FriendlyByteBuf buf) {
-        buf.writeLong(this.gameTime);
+        buf.writeVarLong(this.gameTime);
+        buf.writeBoolean(this.running);
     }
 
     @Override
     public void packetWork(CustomPayloadEvent.Context context)
     {
         // ON CLIENT
-        ClientGameTime.setGameTime(this.gameTime);
+        ClientGameTime.sync(this.gameTime, this.running);
     }
 }
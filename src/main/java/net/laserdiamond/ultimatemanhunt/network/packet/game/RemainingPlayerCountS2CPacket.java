@@ -1,29 +1,23 @@
 package net.laserdiamond.ultimatemanhunt.network.packet.game;
 
 import net.laserdiamond.laserutils.network.NetworkPacket;
-import net.laserdiamond.ultimatemanhunt.capability.UMPlayer;
+import net.laserdiamond.ultimatemanhunt.capability.UMRoleRegistry;
 import net.laserdiamond.ultimatemanhunt.client.game.ClientRemainingPlayers;
 import net.minecraft.network.FriendlyByteBuf;
-import net.minecraft.world.entity.player.Player;
 import net.minecraftforge.event.network.CustomPayloadEvent;
 
-import java.util.LinkedList;
-
 public class RemainingPlayerCountS2CPacket extends NetworkPacket {
 
     private final int[] players;
 
     public RemainingPlayerCountS2CPacket()
     {
-        LinkedList<Player> speedRunners = new LinkedList<>();
-        LinkedList<Player> hunters = new LinkedList<>();
-        UMPlayer.forAllPlayers(
-                (player, umPlayer) -> speedRunners.add(player),
-                (player, umPlayer) -> hunters.add(player),
-                (player, umPlayer) -> {},
-                (player, umPlayer) -> {}
-        );
-        this.players = new int[]{speedRunners.size(), hunters.size()};
+        this(UMRoleRegistry.getSpeedRunners().size(), UMRoleRegistry.getHunters().size());
+    }
+
+    public RemainingPlayerCountS2CPacket(int speedRunners, int hunters)
+    {
+        this.players = new int[]{speedRunners, hunters};
     }
 
     public RemainingPlayerCountS2CPacket(FriendlyByteBuf buf)
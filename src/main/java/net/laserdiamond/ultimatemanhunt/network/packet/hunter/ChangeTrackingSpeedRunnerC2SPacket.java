@@ -2,7 +2,8 @@ package net.laserdiamond.ultimatemanhunt.network.packet.hunter;
 
 import net.laserdiamond.laserutils.network.NetworkPacket;
 import net.laserdiamond.ultimatemanhunt.capability.UMPlayer;
-import net.laserdiamond.ultimatemanhunt.capability.UMPlayerCapability;
+import net.laserdiamond.ultimatemanhunt.capability.UMRoleRegistry;
+import net.laserdiamond.ultimatemanhunt.capability.UMTrackingRing;
 import net.laserdiamond.ultimatemanhunt.client.UMKeyBindings;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.server.level.ServerPlayer;
@@ -10,8 +11,6 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraftforge.event.network.CustomPayloadEvent;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.List;
-
 /**
  * Packet sent from the CLIENT to the SERVER when a hunter wants to change the {@linkplain Player player} they are tracking
  */
@@ -47,70 +46,32 @@ public class ChangeTrackingSpeedRunnerC2SPacket extends NetworkPacket {
         {
             return;
         }
-        List<Player> availableSpeedRunners = UMPlayer.getAvailableSpeedRunners(player);
-
-        player.getCapability(UMPlayerCapability.UM_PLAYER).ifPresent(umPlayer ->
+        if (!UMTrackingRing.tryStartCycle(player))
         {
-            int trackingIndex = umPlayer.getTrackingIndex();
-            if (availableSpeedRunners.isEmpty())
-            {
-                return;
-            }
-            Player targetPlayer;
-            if (this.isNext)
-            {
-                trackingIndex = this.incrementTrackingIndex(trackingIndex, availableSpeedRunners.size());
-            } else
-            {
-                trackingIndex = this.decrementTrackingIndex(trackingIndex, availableSpeedRunners.size());
-            }
-            targetPlayer = availableSpeedRunners.get(trackingIndex);
-            umPlayer.setPlayerToTrack(trackingIndex, targetPlayer)
-                        .sendUpdateFromServerToSelf(player);
-        });
-
-//        player.getCapability(PlayerHunterCapability.PLAYER_HUNTER).ifPresent(playerHunter ->
-//        {
-//            int trackingIndex = playerHunter.getTrackingIndex();
-//            if (availableSpeedRunners.isEmpty())
-//            {
-//                return;
-//            }
-//            Player targetPlayer;
-//            if (this.isNext)
-//            {
-//                trackingIndex = incrementTrackingIndex(trackingIndex, availableSpeedRunners.size());
-//            } else
-//            {
-//                trackingIndex = decrementTrackingIndex(trackingIndex, availableSpeedRunners.size());
-//            }
-//            targetPlayer = availableSpeedRunners.get(trackingIndex);
-//            playerHunter.setPlayerToTrack(trackingIndex, targetPlayer);
-//
-//            UMPackets.sendToAllTrackingEntityAndSelf(new HunterCapabilitySyncS2CPacket(player, playerHunter), player);
-//        });
-
+            return; // Pressed again too soon. Dropped
+        }
+        cycleTrackedSpeedRunner(player, this.isNext);
     }
 
-    // NOTE: Tracking index gets updated on the server
-
-    private int incrementTrackingIndex(int trackingIndex, int max)
+    /**
+     * Moves the hunter on to the next or previous speed runner they can track, as if they pressed the tracking key.
+     * The speed runner is found from the one currently tracked, through the {@linkplain UMTrackingRing tracking ring} of the hunter's dimension.
+     * @param player The {@linkplain ServerPlayer player} that is a hunter
+     * @param isNext True to track the next speed runner, false to track the previous one
+     */
+    public static void cycleTrackedSpeedRunner(ServerPlayer player, boolean isNext)
     {
-        trackingIndex++; // Increment by 1
-        if (trackingIndex > max) // Over max?
+        UMPlayer umPlayer = UMRoleRegistry.getUMPlayer(player);
+        if (umPlayer == null)
         {
-            return 0; // Return 0
+            return;
         }
-        return trackingIndex;
-    }
-
-    private int decrementTrackingIndex(int trackingIndex, int max)
-    {
-        trackingIndex--; // Decrement by 1
-        if (trackingIndex < 0) // Less than 0?
+        Player targetPlayer = UMTrackingRing.cycle(player, umPlayer.getTrackingPlayerUUID(), isNext);
+        if (targetPlayer == null)
         {
-            return max; // Return max
+            return; // No speed runners to track in this dimension
         }
-        return trackingIndex;
+        umPlayer.setPlayerToTrack(targetPlayer)
+                .sendUpdateFromServerToSelf(player);
     }
 }
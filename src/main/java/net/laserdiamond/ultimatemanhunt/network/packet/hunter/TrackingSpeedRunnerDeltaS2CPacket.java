@@ -0,0 +1,51 @@
+package net.laserdiamond.ultimatemanhunt.network.packet.hunter;
+
+import net.laserdiamond.laserutils.network.NetworkPacket;
+import net.laserdiamond.ultimatemanhunt.client.hunter.ClientTrackedSpeedRunner;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.event.network.CustomPayloadEvent;
+
+/**
+ * Packet sent from the SERVER to the CLIENT that moves the speed runner a hunter is tracking by a quantized offset
+ */
+public class TrackingSpeedRunnerDeltaS2CPacket extends NetworkPacket {
+
+    private final int targetId;
+    private final short dx, dy, dz;
+    private final int interval;
+
+    public TrackingSpeedRunnerDeltaS2CPacket(int targetId, short dx, short dy, short dz, int interval)
+    {
+        this.targetId = targetId;
+        this.dx = dx;
+        this.dy = dy;
+        this.dz = dz;
+        this.interval = interval;
+    }
+
+    public TrackingSpeedRunnerDeltaS2CPacket(FriendlyByteBuf buf)
+    {
+        this.targetId = buf.readVarInt();
+        this.dx = buf.readShort();
+        this.dy = buf.readShort();
+        this.dz = buf.readShort();
+        this.interval = buf.readUnsignedByte();
+    }
+
+    @Override
+    public void toBytes(FriendlyByteBuf buf)
+    {
+        buf.writeVarInt(this.targetId);
+        buf.writeShort(this.dx);
+        buf.writeShort(this.dy);
+        buf.writeShort(this.dz);
+        buf.writeByte(this.interval);
+    }
+
+    @Override
+    public void packetWork(CustomPayloadEvent.Context context)
+    {
+        // ON CLIENT
+        ClientTrackedSpeedRunner.moveTarget(this.targetId, this.dx, this.dy, this.dz, this.interval);
+    }
+}
@@ -2,57 +2,73 @@ package net.laserdiamond.ultimatemanhunt.network.packet.hunter;
 
 import net.laserdiamond.laserutils.network.NetworkPacket;
 import net.laserdiamond.ultimatemanhunt.client.hunter.ClientTrackedSpeedRunner;
-import net.laserdiamond.ultimatemanhunt.network.UMPackets;
+import net.laserdiamond.ultimatemanhunt.network.UMTrackingStream;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.network.FriendlyByteBuf;
-import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.event.network.CustomPayloadEvent;
 
-import java.util.UUID;
-
 /**
- * Packet sent from the SERVER to the CLIENT that updates the tracking position of a speed runner for a hunter
+ * Packet sent from the SERVER to the CLIENT that sets the speed runner a hunter is tracking, along with its full position.
+ * <p>Sent only when the tracked speed runner changes, or when the position moved too far for a {@linkplain TrackingSpeedRunnerDeltaS2CPacket delta}.
+ * A target id of {@link UMTrackingStream#NO_TARGET} means the hunter is not tracking anyone.</p>
  */
 public class TrackingSpeedRunnerS2CPacket extends NetworkPacket {
 
-    public static void sendNonTracking(Player player)
+    private final int targetId;
+    private final String playerName;
+    private final int x, y, z;
+    private final int interval;
+
+    /**
+     * Creates a packet letting the hunter know they are not tracking anyone
+     */
+    public TrackingSpeedRunnerS2CPacket()
     {
-        UMPackets.sendToPlayer(new TrackingSpeedRunnerS2CPacket(false, player, 0F), player);
+        this(UMTrackingStream.NO_TARGET, "", 0, 0, 0, 0);
     }
 
-    private final boolean speedRunnersPresent;
-    private final String playerName;
-    private final UUID playerUUID;
-    private final float distance;
-    private final Vec3 position;
-
-    public TrackingSpeedRunnerS2CPacket(boolean speedRunnersPresent, Player player, float distance)
+    public TrackingSpeedRunnerS2CPacket(int targetId, String playerName, int x, int y, int z, int interval)
     {
-        this.speedRunnersPresent = speedRunnersPresent;
-        this.playerName = player.getName().getString();
-        this.playerUUID = player.getUUID();
-        this.distance = distance;
-        this.position = player.getEyePosition();
+        this.targetId = targetId;
+        this.playerName = playerName;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.interval = interval;
     }
 
     public TrackingSpeedRunnerS2CPacket(FriendlyByteBuf buf)
     {
-        this.speedRunnersPresent = buf.readBoolean();
+        this.targetId = buf.readVarInt();
+        if (this.targetId == UMTrackingStream.NO_TARGET)
+        {
+            this.playerName = "";
+            this.x = 0;
+            this.y = 0;
+            this.z = 0;
+            this.interval = 0;
+            return;
+        }
         this.playerName = buf.readUtf();
-        this.playerUUID = buf.readUUID();
-        this.distance = buf.readFloat();
-        this.position = buf.readVec3();
+        this.x = buf.readVarInt();
+        this.y = buf.readVarInt();
+        this.z = buf.readVarInt();
+        this.interval = buf.readUnsignedByte();
     }
 
     @Override
     public void toBytes(FriendlyByteBuf buf) {
-        buf.writeBoolean(this.speedRunnersPresent);
+        buf.writeVarInt(this.targetId);
+        if (this.targetId == UMTrackingStream.NO_TARGET)
+        {
+            return; // Nothing else to send
+        }
         buf.writeUtf(this.playerName);
-        buf.writeUUID(this.playerUUID);
-        buf.writeFloat(this.distance);
-        buf.writeVec3(this.position);
+        buf.writeVarInt(this.x);
+        buf.writeVarInt(this.y);
+        buf.writeVarInt(this.z);
+        buf.writeByte(this.interval);
     }
 
     @Override
@@ -64,11 +80,11 @@ public class TrackingSpeedRunnerS2CPacket extends NetworkPacket {
         {
             return;
         }
-        ClientTrackedSpeedRunner.setSpeedRunnersPresent(this.speedRunnersPresent);
-        ClientTrackedSpeedRunner.setTrackedPlayerName(this.playerName);
-        ClientTrackedSpeedRunner.setTrackedPlayerUUID(this.playerUUID);
-        ClientTrackedSpeedRunner.setDistance(this.distance);
-        ClientTrackedSpeedRunner.setPosition(this.position);
-
+        if (this.targetId == UMTrackingStream.NO_TARGET)
+        {
+            ClientTrackedSpeedRunner.clearTarget();
+            return;
+        }
+        ClientTrackedSpeedRunner.setTarget(this.targetId, this.playerName, this.x, this.y, this.z, this.interval);
     }
 }
@@ -0,0 +1,34 @@
+package net.laserdiamond.ultimatemanhunt.perf;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event recorded once per server tick for every {@linkplain UMPerf.Handler handler} that ran during the tick
+ */
+@Name("ultimate_manhunt.HandlerTick")
+@Label("Manhunt Handler Tick")
+@Category({"Ultimate Manhunt"})
+@Description("Time spent and memory allocated by one Ultimate Manhunt handler during one server tick")
+@StackTrace(false)
+final class UMHandlerJfrEvent extends jdk.jfr.Event {
+
+    @Label("Handler")
+    String handler;
+
+    @Label("Calls")
+    int calls;
+
+    @Label("Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long time;
+
+    @Label("Allocated")
+    @DataAmount(DataAmount.BYTES)
+    long allocated;
+}
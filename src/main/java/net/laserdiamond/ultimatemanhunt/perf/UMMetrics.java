@@ -0,0 +1,189 @@
+package net.laserdiamond.ultimatemanhunt.perf;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.laserdiamond.ultimatemanhunt.UMGame;
+import net.laserdiamond.ultimatemanhunt.UMServerConfig;
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.laserdiamond.ultimatemanhunt.capability.UMRoleRegistry;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the state of the Manhunt game and the {@linkplain UMPerf cost of the mod} in the Prometheus text format on the SERVER.
+ * <p>The endpoint is disabled by default and, when enabled in the {@linkplain UMServerConfig server config}, only listens on the loopback address.
+ * Every few ticks the server thread publishes an immutable {@linkplain UMMetricsSnapshot snapshot}; scrapes only ever read the last published snapshot,
+ * so the HTTP thread never touches players, capabilities or the game state.</p>
+ */
+@Mod.EventBusSubscriber(modid = UltimateManhunt.MODID)
+public final class UMMetrics {
+
+    private static final String PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Nullable
+    private static HttpServer httpServer;
+    @Nullable
+    private static ExecutorService executor;
+    @Nullable
+    private static volatile UMMetricsSnapshot snapshot;
+    private static int refreshTicks;
+    private static int ticksUntilRefresh;
+
+    // Only written on the server thread, and only read there when a snapshot is taken
+    private static long livesLost;
+    private static long trackingKeyframes;
+    private static long trackingDeltas;
+
+    private UMMetrics() {}
+
+    /**
+     * Counts a life lost by a speed runner. Must be called on the server thread.
+     */
+    public static void countLifeLost()
+    {
+        livesLost++;
+    }
+
+    /**
+     * Counts a tracking update sent to a hunter. Must be called on the server thread.
+     * @param keyframe True if the full position of the speed runner was sent, false if only an offset was sent
+     */
+    public static void countTrackingUpdate(boolean keyframe)
+    {
+        if (keyframe)
+        {
+            trackingKeyframes++;
+        } else
+        {
+            trackingDeltas++;
+        }
+    }
+
+    /**
+     * @return True if the metrics endpoint is running
+     */
+    public static boolean isServing()
+    {
+        return httpServer != null;
+    }
+
+    private static UMMetricsSnapshot takeSnapshot(MinecraftServer server)
+    {
+        return new UMMetricsSnapshot(UMGame.getCurrentGameState(), UMGame.getCurrentGameTime(),
+                UMRoleRegistry.getSpeedRunners().size(), UMRoleRegistry.getHunters().size(), UMRoleRegistry.getSpectators().size(), server.getPlayerCount(),
+                livesLost, trackingKeyframes, trackingDeltas, server.getAverageTickTimeNanos(),
+                UMPerf.summarizeHandlers(), UMPerf.summarizePackets());
+    }
+
+    private static void handleScrape(HttpExchange exchange) throws IOException
+    {
+        try
+        {
+            if (!"GET".equals(exchange.getRequestMethod()))
+            {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            UMMetricsSnapshot current = snapshot;
+            if (current == null) // No tick has completed yet
+            {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            StringBuilder out = new StringBuilder(8192);
+            current.write(out);
+            byte[] body = out.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody())
+            {
+                responseBody.write(body);
+            }
+        } finally
+        {
+            exchange.close();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event)
+    {
+        livesLost = 0;
+        trackingKeyframes = 0;
+        trackingDeltas = 0;
+        if (!UMServerConfig.METRICS_ENABLED.get())
+        {
+            return;
+        }
+        int port = UMServerConfig.METRICS_PORT.get();
+        refreshTicks = UMServerConfig.METRICS_REFRESH_TICKS.get();
+        ticksUntilRefresh = 0;
+        try
+        {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            executor = Executors.newSingleThreadExecutor(runnable ->
+            {
+                Thread thread = new Thread(runnable, "Ultimate Manhunt Metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.setExecutor(executor);
+            server.createContext(PATH, UMMetrics::handleScrape);
+            server.start();
+            httpServer = server;
+            UltimateManhunt.LOGGER.info("Serving Ultimate Manhunt metrics on http://{}:{}{}", InetAddress.getLoopbackAddress().getHostAddress(), port, PATH);
+        } catch (IOException e)
+        {
+            UltimateManhunt.LOGGER.error("Could not serve Ultimate Manhunt metrics on port {}", port, e);
+            stop();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event)
+    {
+        stop();
+    }
+
+    private static void stop()
+    {
+        if (httpServer != null)
+        {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+        if (executor != null)
+        {
+            executor.shutdownNow();
+            executor = null;
+        }
+        snapshot = null;
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onServerTickPost(TickEvent.ServerTickEvent.Post event)
+    {
+        if (httpServer == null || --ticksUntilRefresh > 0)
+        {
+            return;
+        }
+        ticksUntilRefresh = refreshTicks;
+        snapshot = takeSnapshot(event.getServer());
+    }
+}
@@ -0,0 +1,121 @@
+package net.laserdiamond.ultimatemanhunt.perf;
+
+import net.laserdiamond.ultimatemanhunt.UMGame;
+
+import java.util.List;
+
+/**
+ * Immutable copy of every metric served by the {@linkplain UMMetrics metrics endpoint}, taken on the server thread.
+ * <p>Only this copy is read by the HTTP thread, which renders it in the Prometheus text format.</p>
+ * @param gameState The current game state
+ * @param gameTime The current Manhunt game time, in ticks
+ * @param speedRunners The amount of speed runners remaining
+ * @param hunters The amount of hunters
+ * @param spectators The amount of spectators
+ * @param playersOnline The amount of players online
+ * @param livesLost The amount of lives speed runners lost since the server started
+ * @param trackingKeyframes The amount of full tracking updates sent to hunters since the server started
+ * @param trackingDeltas The amount of tracking position offsets sent to hunters since the server started
+ * @param serverTickTime The average duration of a server tick, in nanoseconds
+ * @param handlers The cost of each instrumented handler
+ * @param packets The traffic of each message type
+ */
+record UMMetricsSnapshot(UMGame.State gameState, long gameTime, int speedRunners, int hunters, int spectators, int playersOnline,
+                         long livesLost, long trackingKeyframes, long trackingDeltas, long serverTickTime,
+                         List<UMPerf.HandlerSummary> handlers, List<UMPerf.PacketSummary> packets) {
+
+    private static final String PREFIX = "ultimate_manhunt_";
+    private static final double NANOS_PER_SECOND = 1.0E9;
+
+    /**
+     * Writes every metric in the Prometheus text exposition format
+     * @param out The {@link StringBuilder} to write to
+     */
+    void write(StringBuilder out)
+    {
+        header(out, "game_state", "gauge", "1 for the current state of the Manhunt game, 0 for every other state");
+        for (UMGame.State state : UMGame.State.values())
+        {
+            sample(out, "game_state", "state", state.toString(), state == this.gameState ? 1 : 0);
+        }
+        gauge(out, "game_time_ticks", "Game time of the Manhunt game, in ticks", this.gameTime);
+        gauge(out, "speed_runners_remaining", "Speed runners remaining in the game", this.speedRunners);
+        gauge(out, "hunters", "Hunters in the game", this.hunters);
+        gauge(out, "spectators", "Spectators of the game", this.spectators);
+        gauge(out, "players_online", "Players online", this.playersOnline);
+        counter(out, "lives_lost_total", "Lives lost by speed runners", this.livesLost);
+
+        header(out, "tracking_updates_total", "counter", "Tracking updates sent to hunters");
+        sample(out, "tracking_updates_total", "kind", "keyframe", this.trackingKeyframes);
+        sample(out, "tracking_updates_total", "kind", "delta", this.trackingDeltas);
+
+        header(out, "server_tick_seconds", "gauge", "Average duration of a server tick");
+        sample(out, "server_tick_seconds", null, null, this.serverTickTime / NANOS_PER_SECOND);
+
+        header(out, "handler_seconds_total", "counter", "Time spent in each handler of the mod");
+        this.handlers.forEach(handler -> sample(out, "handler_seconds_total", "handler", handler.handler(), handler.totalTime() / NANOS_PER_SECOND));
+        header(out, "handler_calls_total", "counter", "Calls of each handler of the mod");
+        this.handlers.forEach(handler -> sample(out, "handler_calls_total", "handler", handler.handler(), handler.totalCalls()));
+        header(out, "handler_allocated_bytes_total", "counter", "Bytes allocated by each handler of the mod");
+        this.handlers.forEach(handler -> sample(out, "handler_allocated_bytes_total", "handler", handler.handler(), handler.totalBytes()));
+        header(out, "handler_tick_seconds", "gauge", "Average time per tick spent in each handler of the mod, over the last " + UMPerf.WINDOW_TICKS + " ticks");
+        this.handlers.forEach(handler -> sample(out, "handler_tick_seconds", "handler", handler.handler(), handler.meanTimePerTick() / NANOS_PER_SECOND));
+
+        header(out, "packets_sent_total", "counter", "Messages of each type sent, counting each recipient");
+        this.packets.forEach(packet -> sample(out, "packets_sent_total", "type", packet.type(), packet.sent()));
+        header(out, "packet_bytes_sent_total", "counter", "Payload bytes of each message type sent, counting each recipient");
+        this.packets.forEach(packet -> sample(out, "packet_bytes_sent_total", "type", packet.type(), packet.sentBytes()));
+        header(out, "packets_received_total", "counter", "Messages of each type received");
+        this.packets.forEach(packet -> sample(out, "packets_received_total", "type", packet.type(), packet.received()));
+        header(out, "packet_bytes_received_total", "counter", "Payload bytes of each message type received");
+        this.packets.forEach(packet -> sample(out, "packet_bytes_received_total", "type", packet.type(), packet.receivedBytes()));
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, double value)
+    {
+        header(out, name, "gauge", help);
+        sample(out, name, null, null, value);
+    }
+
+    private static void counter(StringBuilder out, String name, String help, double value)
+    {
+        header(out, name, "counter", help);
+        sample(out, name, null, null, value);
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help)
+    {
+        out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labelName, String labelValue, double value)
+    {
+        out.append(PREFIX).append(name);
+        if (labelName != null)
+        {
+            out.append('{').append(labelName).append("=\"");
+            for (int i = 0; i < labelValue.length(); i++)
+            {
+                char c = labelValue.charAt(i);
+                switch (c)
+                {
+                    case '\\' -> out.append("\\\\");
+                    case '"' -> out.append("\\\"");
+                    case '\n' -> out.append("\\n");
+                    default -> out.append(c);
+                }
+            }
+            out.append("\"}");
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1.0E15)
+        {
+            out.append((long) value); // Whole numbers without a trailing ".0"
+        } else
+        {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+}
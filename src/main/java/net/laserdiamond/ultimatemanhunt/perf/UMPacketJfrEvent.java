@@ -0,0 +1,36 @@
+package net.laserdiamond.ultimatemanhunt.perf;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded once per second for every {@linkplain net.laserdiamond.ultimatemanhunt.network.UMPackets message type} that was sent or received during the second
+ */
+@Name("ultimate_manhunt.PacketRate")
+@Label("Manhunt Packet Rate")
+@Category({"Ultimate Manhunt"})
+@Description("Messages and bytes of one Ultimate Manhunt message type sent and received during one second")
+@StackTrace(false)
+final class UMPacketJfrEvent extends jdk.jfr.Event {
+
+    @Label("Message Type")
+    String type;
+
+    @Label("Sent")
+    long sent;
+
+    @Label("Sent Bytes")
+    @DataAmount(DataAmount.BYTES)
+    long sentBytes;
+
+    @Label("Received")
+    long received;
+
+    @Label("Received Bytes")
+    @DataAmount(DataAmount.BYTES)
+    long receivedBytes;
+}
@@ -0,0 +1,454 @@
+package net.laserdiamond.ultimatemanhunt.perf;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.laserdiamond.laserutils.network.NetworkPacket;
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import javax.annotation.Nullable;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Always-on instrumentation of the mod's cost on the SERVER.
+ * <p>Each {@linkplain Handler handler} is timed between {@link #begin(Handler)} and {@link #end(Handler)}, recording wall time and the bytes the server thread allocated.
+ * Only the server thread is measured, so the handlers can be shared with the client without their numbers mixing. Times are inclusive: a game state event constructed
+ * inside the server tick handler is counted in both. Every message type registered in {@linkplain net.laserdiamond.ultimatemanhunt.network.UMPackets UMPackets}
+ * has its messages and bytes counted in both directions. Sent bytes are estimated: only one in every {@link #SIZE_SAMPLE_INTERVAL} messages of a type is encoded to measure its size,
+ * and the messages in between are counted at the last size measured.</p>
+ * <p>The numbers are read with the {@code perf} sub-command and recorded as JFR events while a flight recording is running.</p>
+ */
+@Mod.EventBusSubscriber(modid = UltimateManhunt.MODID)
+public final class UMPerf {
+
+    /**
+     * How many of the most recent ticks the handler averages cover
+     */
+    public static final int WINDOW_TICKS = 100;
+
+    /**
+     * How many ticks apart the packet rates are recorded to JFR
+     */
+    private static final int PACKET_RECORD_INTERVAL = 20;
+
+    @Nullable
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = allocationTrackingBean();
+
+    private static final Map<Class<?>, PacketStats> PACKET_STATS = new ConcurrentHashMap<>();
+
+    /**
+     * How many messages of a type are sent for every one whose encoded size is measured
+     */
+    public static final int SIZE_SAMPLE_INTERVAL = 16;
+
+    /**
+     * Reused to measure the encoded size of a sampled message
+     */
+    private static final ByteBuf SIZE_BUFFER = Unpooled.buffer(256);
+    private static final FriendlyByteBuf SIZE_BUF = new FriendlyByteBuf(SIZE_BUFFER);
+
+    @Nullable
+    private static volatile Thread serverThread;
+    private static int tickIndex;
+    private static int windowFill;
+    private static long resetTime = System.nanoTime();
+
+    private UMPerf() {}
+
+    @Nullable
+    private static com.sun.management.ThreadMXBean allocationTrackingBean()
+    {
+        try
+        {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported())
+            {
+                if (!bean.isThreadAllocatedMemoryEnabled())
+                {
+                    bean.setThreadAllocatedMemoryEnabled(true);
+                }
+                return bean;
+            }
+        } catch (UnsupportedOperationException | SecurityException e)
+        {
+            UltimateManhunt.LOGGER.warn("Allocations of the Ultimate Manhunt handlers cannot be measured on this JVM", e);
+        }
+        return null;
+    }
+
+    private static long allocatedBytes()
+    {
+        return THREAD_MX_BEAN == null ? 0 : THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * @return True if the allocations of the handlers are being measured
+     */
+    public static boolean isAllocationTracked()
+    {
+        return THREAD_MX_BEAN != null;
+    }
+
+    private static boolean isServerThread()
+    {
+        return Thread.currentThread() == serverThread;
+    }
+
+    /**
+     * Starts timing a call of the handler. Must be followed by {@link #end(Handler)}, usually in a {@code finally} block.
+     * @param handler The {@linkplain Handler handler} being called
+     */
+    public static void begin(Handler handler)
+    {
+        if (!isServerThread() || handler.depth++ > 0) // Only the outermost call of a handler is timed
+        {
+            return;
+        }
+        handler.startBytes = allocatedBytes();
+        handler.startTime = System.nanoTime();
+    }
+
+    /**
+     * Stops timing a call of the handler
+     * @param handler The {@linkplain Handler handler} that was called
+     */
+    public static void end(Handler handler)
+    {
+        if (!isServerThread() || handler.depth == 0 || --handler.depth > 0)
+        {
+            return;
+        }
+        long time = System.nanoTime() - handler.startTime;
+        handler.tickTime += time;
+        handler.tickBytes += allocatedBytes() - handler.startBytes;
+        handler.tickCalls++;
+        handler.maxCallTime = Math.max(handler.maxCallTime, time);
+    }
+
+    /**
+     * Starts counting the messages of a type. Called once for every message type when it is registered.
+     * @param type The class of the message
+     */
+    public static void registerPacketType(Class<?> type)
+    {
+        PACKET_STATS.putIfAbsent(type, new PacketStats(type.getSimpleName()));
+    }
+
+    /**
+     * Counts a message sent to one or more players
+     * @param message The message sent
+     * @param recipients How many players the message was sent to
+     */
+    public static void countSent(Object message, int recipients)
+    {
+        PacketStats stats = PACKET_STATS.get(message.getClass());
+        if (stats == null || recipients <= 0)
+        {
+            return;
+        }
+        stats.sent.add(recipients);
+        if (message instanceof NetworkPacket packet && isServerThread() && --stats.sendsUntilSample <= 0) // The size buffer belongs to the server thread
+        {
+            stats.sendsUntilSample = SIZE_SAMPLE_INTERVAL;
+            SIZE_BUFFER.clear();
+            packet.toBytes(SIZE_BUF);
+            stats.sampledSize = SIZE_BUFFER.readableBytes();
+        }
+        stats.sentBytes.add((long) stats.sampledSize * recipients);
+    }
+
+    /**
+     * Counts a message received and decoded
+     * @param type The class of the message
+     * @param bytes The size of the message's payload
+     */
+    public static void countReceived(Class<?> type, int bytes)
+    {
+        PacketStats stats = PACKET_STATS.get(type);
+        if (stats == null)
+        {
+            return;
+        }
+        stats.received.increment();
+        stats.receivedBytes.add(bytes);
+    }
+
+    /**
+     * Clears every measurement
+     */
+    public static void reset()
+    {
+        for (Handler handler : Handler.values())
+        {
+            handler.reset();
+        }
+        PACKET_STATS.values().forEach(PacketStats::reset);
+        tickIndex = 0; // Fill the window from the first slot again
+        windowFill = 0;
+        resetTime = System.nanoTime();
+    }
+
+    /**
+     * @return How many ticks the handler summaries currently cover, up to {@link #WINDOW_TICKS}
+     */
+    public static int getWindowFill()
+    {
+        return windowFill;
+    }
+
+    /**
+     * @return How many seconds the packet counts cover
+     */
+    public static double getSecondsSinceReset()
+    {
+        return (System.nanoTime() - resetTime) / 1.0E9;
+    }
+
+    /**
+     * @return The cost of each handler over the last {@link #getWindowFill()} ticks
+     */
+    public static List<HandlerSummary> summarizeHandlers()
+    {
+        List<HandlerSummary> summaries = new ArrayList<>();
+        int ticks = Math.max(1, windowFill);
+        for (Handler handler : Handler.values())
+        {
+            long totalTime = 0, maxTime = 0, totalBytes = 0, totalCalls = 0;
+            for (int i = 0; i < windowFill; i++)
+            {
+                totalTime += handler.windowTime[i];
+                maxTime = Math.max(maxTime, handler.windowTime[i]);
+                totalBytes += handler.windowBytes[i];
+                totalCalls += handler.windowCalls[i];
+            }
+            summaries.add(new HandlerSummary(handler.getLabel(), totalTime / ticks, maxTime, handler.maxCallTime, (double) totalCalls / ticks, totalBytes / ticks,
+                    handler.totalTime, handler.totalCalls, handler.totalBytes));
+        }
+        return summaries;
+    }
+
+    /**
+     * @return The counts of every message type that was sent or received since the last reset, with the most bytes first
+     */
+    public static List<PacketSummary> summarizePackets()
+    {
+        List<PacketSummary> summaries = new ArrayList<>();
+        for (PacketStats stats : PACKET_STATS.values())
+        {
+            PacketSummary summary = stats.summarize();
+            if (summary.sent() > 0 || summary.received() > 0)
+            {
+                summaries.add(summary);
+            }
+        }
+        summaries.sort(Comparator.comparingLong((PacketSummary summary) -> summary.sentBytes() + summary.receivedBytes()).reversed());
+        return summaries;
+    }
+
+    @SubscribeEvent
+    public static void onServerAboutToStart(ServerAboutToStartEvent event)
+    {
+        serverThread = event.getServer().getRunningThread();
+        reset();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event)
+    {
+        serverThread = null;
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onServerTickPost(TickEvent.ServerTickEvent.Post event)
+    {
+        int slot = tickIndex % WINDOW_TICKS;
+        UMHandlerJfrEvent jfrEvent = new UMHandlerJfrEvent();
+        boolean recordJfr = jfrEvent.isEnabled();
+        for (Handler handler : Handler.values())
+        {
+            if (recordJfr && handler.tickCalls > 0)
+            {
+                jfrEvent.handler = handler.getLabel();
+                jfrEvent.calls = handler.tickCalls;
+                jfrEvent.time = handler.tickTime;
+                jfrEvent.allocated = handler.tickBytes;
+                jfrEvent.commit();
+                jfrEvent = new UMHandlerJfrEvent();
+            }
+            handler.closeTick(slot);
+        }
+        windowFill = Math.min(windowFill + 1, WINDOW_TICKS);
+        tickIndex++;
+
+        if (tickIndex % PACKET_RECORD_INTERVAL == 0)
+        {
+            recordPacketRates();
+        }
+    }
+
+    private static void recordPacketRates()
+    {
+        if (!new UMPacketJfrEvent().isEnabled())
+        {
+            return;
+        }
+        for (PacketStats stats : PACKET_STATS.values())
+        {
+            PacketSummary total = stats.summarize();
+            PacketSummary last = stats.lastRecorded;
+            stats.lastRecorded = total;
+            if (total.sent() == last.sent() && total.received() == last.received())
+            {
+                continue;
+            }
+            UMPacketJfrEvent jfrEvent = new UMPacketJfrEvent();
+            jfrEvent.type = total.type();
+            jfrEvent.sent = total.sent() - last.sent();
+            jfrEvent.sentBytes = total.sentBytes() - last.sentBytes();
+            jfrEvent.received = total.received() - last.received();
+            jfrEvent.receivedBytes = total.receivedBytes() - last.receivedBytes();
+            jfrEvent.commit();
+        }
+    }
+
+    /**
+     * The instrumented handlers. The label names the code being timed.
+     * <p>The timing state of each handler is only touched by the server thread.</p>
+     */
+    public enum Handler
+    {
+        SERVER_TICK("UMGame.onServerTickPre"),
+        PLAYER_TICK("UMGame.onPlayerServerTick"),
+        LIVING_ATTACK("ForgeEvents.onLivingAttack"),
+        LIVING_HURT("ForgeEvents.onLivingHurt"),
+        DEATH("ForgeEvents.onDeath"),
+        GAME_STATE_EVENT("UltimateManhuntGameStateEvent"),
+        HUNTERS_RELEASED_EVENT("HuntersReleasedEvent");
+
+        private final String label;
+
+        private int depth;
+        private long startTime, startBytes;
+        private long tickTime, tickBytes;
+        private int tickCalls;
+        private long maxCallTime;
+        private long totalTime, totalBytes, totalCalls;
+        private final long[] windowTime = new long[WINDOW_TICKS];
+        private final long[] windowBytes = new long[WINDOW_TICKS];
+        private final int[] windowCalls = new int[WINDOW_TICKS];
+
+        Handler(String label)
+        {
+            this.label = label;
+        }
+
+        public String getLabel()
+        {
+            return this.label;
+        }
+
+        private void closeTick(int slot)
+        {
+            this.windowTime[slot] = this.tickTime;
+            this.windowBytes[slot] = this.tickBytes;
+            this.windowCalls[slot] = this.tickCalls;
+            this.totalTime += this.tickTime;
+            this.totalBytes += this.tickBytes;
+            this.totalCalls += this.tickCalls;
+            this.tickTime = 0;
+            this.tickBytes = 0;
+            this.tickCalls = 0;
+        }
+
+        private void reset()
+        {
+            this.tickTime = 0;
+            this.tickBytes = 0;
+            this.tickCalls = 0;
+            this.maxCallTime = 0;
+            this.totalTime = 0;
+            this.totalBytes = 0;
+            this.totalCalls = 0;
+        }
+    }
+
+    /**
+     * The cost of one {@linkplain Handler handler}, with times in nanoseconds
+     * @param handler The label of the handler
+     * @param meanTimePerTick The average time spent in the handler per tick
+     * @param maxTimePerTick The most time spent in the handler in one tick
+     * @param maxCallTime The longest single call of the handler since the last reset
+     * @param callsPerTick The average amount of calls per tick
+     * @param bytesPerTick The average amount of bytes allocated per tick
+     * @param totalTime The time spent in the handler since the last reset
+     * @param totalCalls The amount of calls since the last reset
+     * @param totalBytes The amount of bytes allocated since the last reset
+     */
+    public record HandlerSummary(String handler, long meanTimePerTick, long maxTimePerTick, long maxCallTime, double callsPerTick, long bytesPerTick,
+                                 long totalTime, long totalCalls, long totalBytes) {}
+
+    /**
+     * The traffic of one message type since the last reset
+     * @param type The simple class name of the message type
+     * @param sent The amount of messages sent, counting each recipient
+     * @param sentBytes The estimated amount of payload bytes sent, counting each recipient
+     * @param received The amount of messages received
+     * @param receivedBytes The amount of payload bytes received
+     */
+    public record PacketSummary(String type, long sent, long sentBytes, long received, long receivedBytes) {}
+
+    /**
+     * Counters of one message type. Updated from whichever thread sends or receives the message.
+     */
+    private static final class PacketStats
+    {
+        private final String type;
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder sentBytes = new LongAdder();
+        private final LongAdder received = new LongAdder();
+        private final LongAdder receivedBytes = new LongAdder();
+        private PacketSummary lastRecorded;
+
+        /**
+         * The encoded size of the last sampled message. Only written by the server thread
+         */
+        private volatile int sampledSize;
+
+        /**
+         * Messages left to send before the next one is sampled. Only touched by the server thread
+         */
+        private int sendsUntilSample;
+
+        private PacketStats(String type)
+        {
+            this.type = type;
+            this.lastRecorded = new PacketSummary(type, 0, 0, 0, 0);
+        }
+
+        private PacketSummary summarize()
+        {
+            return new PacketSummary(this.type, this.sent.sum(), this.sentBytes.sum(), this.received.sum(), this.receivedBytes.sum());
+        }
+
+        private void reset()
+        {
+            this.sent.reset();
+            this.sentBytes.reset();
+            this.received.reset();
+            this.receivedBytes.reset();
+            this.lastRecorded = new PacketSummary(this.type, 0, 0, 0, 0);
+            this.sendsUntilSample = 0; // Sample the next message again
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package net.laserdiamond.ultimatemanhunt.sound;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.minecraft.network.protocol.game.ClientboundSoundPacket;
+import net.minecraft.network.protocol.game.ClientboundStopSoundPacket;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * Plays the {@linkplain UMSoundEvents#HUNTER_DETECTED hunter detected} sound to speed runners on the SERVER.
+ * <p>Whether a speed runner is detected is decided once per tick, from the distance to their nearest hunter, and passed to {@link #update(Player, boolean)}.
+ * Each speed runner is either silent or playing, keyed by entity id in a primitive map. Packets are only sent on the edges between the two:
+ * the sound is started when the speed runner becomes detected, and stopped when they stop being detected. A long detection restarts the sound once it has run out.</p>
+ */
+@Mod.EventBusSubscriber(modid = UltimateManhunt.MODID)
+public final class UMDetectionSound {
+
+    /**
+     * The length of the sound, in ticks
+     */
+    private static final int SOUND_DURATION_TICKS = 825;
+
+    private static final int SILENT = -1;
+
+    /**
+     * Ticks each speed runner has been hearing the sound for, by entity id. Silent speed runners are not in the map
+     */
+    private static final Int2IntOpenHashMap PLAYING_TICKS = new Int2IntOpenHashMap();
+
+    static
+    {
+        PLAYING_TICKS.defaultReturnValue(SILENT);
+    }
+
+    private UMDetectionSound() {}
+
+    /**
+     * Moves the speed runner's sound to the state of this tick, sending a packet only if the state changed or the sound ran out
+     * @param player The {@linkplain Player player} that is a speed runner
+     * @param detected True if a hunter is within the detection range of the living speed runner this tick
+     */
+    public static void update(Player player, boolean detected)
+    {
+        if (!(player instanceof ServerPlayer serverPlayer))
+        {
+            return;
+        }
+        int id = player.getId();
+        if (!detected)
+        {
+            if (PLAYING_TICKS.remove(id) != SILENT)
+            {
+                sendStop(serverPlayer);
+            }
+            return;
+        }
+        int ticks = PLAYING_TICKS.get(id);
+        if (ticks == SILENT || ticks >= SOUND_DURATION_TICKS) // Just detected, or the sound ran out?
+        {
+            serverPlayer.connection.send(new ClientboundSoundPacket(UMSoundEvents.HUNTER_DETECTED.getHolder().get(), SoundSource.MUSIC, player.getX(), player.getY(), player.getZ(), 50, 1.0F, player.level().getRandom().nextLong()));
+            PLAYING_TICKS.put(id, 0);
+        } else
+        {
+            PLAYING_TICKS.put(id, ticks + 1);
+        }
+    }
+
+    /**
+     * Stops the sound for the player, if it is playing
+     * @param player The {@linkplain Player player}
+     */
+    public static void stop(Player player)
+    {
+        update(player, false);
+    }
+
+    private static void sendStop(ServerPlayer player)
+    {
+        player.connection.send(new ClientboundStopSoundPacket(UMSoundEvents.HUNTER_DETECTED.getId(), SoundSource.MUSIC));
+    }
+
+    @SubscribeEvent
+    public static void onPlayerClone(PlayerEvent.Clone event)
+    {
+        // The client keeps playing the sound across respawns and dimension changes. Carry the state over to the new entity id
+        int ticks = PLAYING_TICKS.remove(event.getOriginal().getId());
+        if (ticks != SILENT)
+        {
+            PLAYING_TICKS.put(event.getEntity().getId(), ticks);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogOut(PlayerEvent.PlayerLoggedOutEvent event)
+    {
+        PLAYING_TICKS.remove(event.getEntity().getId()); // The sound stops with the connection
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event)
+    {
+        PLAYING_TICKS.clear();
+    }
+}
@@ -0,0 +1,107 @@
+package net.laserdiamond.ultimatemanhunt.sound;
+
+import it.unimi.dsi.fastutil.ints.Int2FloatOpenHashMap;
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.minecraft.network.protocol.game.ClientboundSoundPacket;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * Plays the {@linkplain UMSoundEvents#HEART_BEAT heartbeat} of speed runners with a hunter nearby on the SERVER.
+ * <p>Each detected speed runner has an oscillator, keyed by entity id, whose phase advances every tick by the inverse of the beat interval.
+ * A beat is sent each time the phase wraps around, so a hunter coming closer speeds the heartbeat up smoothly instead of restarting its rhythm,
+ * and exactly one sound packet is sent per beat. The interval is only ever driven by the nearest hunter.</p>
+ */
+@Mod.EventBusSubscriber(modid = UltimateManhunt.MODID)
+public final class UMHeartbeat {
+
+    /**
+     * The beat interval, in ticks, with the hunter right next to the speed runner. ~200 bpm
+     */
+    private static final float MIN_INTERVAL_TICKS = 6;
+
+    /**
+     * How many blocks further away the hunter has to be to add a tick to the beat interval
+     */
+    private static final float BLOCKS_PER_TICK = 12.5F;
+
+    private static final float NOT_BEATING = -1;
+
+    /**
+     * The phase of each speed runner's heartbeat, from 0 to 1, by entity id. Speed runners without a hunter nearby are not in the map
+     */
+    private static final Int2FloatOpenHashMap PHASES = new Int2FloatOpenHashMap();
+
+    static
+    {
+        PHASES.defaultReturnValue(NOT_BEATING);
+    }
+
+    private UMHeartbeat() {}
+
+    /**
+     * @param distance The distance between the speed runner and the nearest hunter
+     * @return The ticks between two beats. Ranges from 6 (closest) to 10 (furthest)
+     */
+    public static float intervalFor(float distance)
+    {
+        return MIN_INTERVAL_TICKS + distance / BLOCKS_PER_TICK;
+    }
+
+    /**
+     * Advances the speed runner's heartbeat by one tick, sending a beat if one is due. The first beat is sent as soon as a hunter comes near.
+     * @param player The {@linkplain Player player} that is a speed runner
+     * @param distance The distance between the speed runner and the nearest hunter
+     * @param hunterX The X coordinate of the nearest hunter, where the beat is heard from
+     * @param hunterY The Y coordinate of the nearest hunter
+     * @param hunterZ The Z coordinate of the nearest hunter
+     */
+    public static void tick(Player player, float distance, double hunterX, double hunterY, double hunterZ)
+    {
+        if (!(player instanceof ServerPlayer serverPlayer))
+        {
+            return;
+        }
+        int id = player.getId();
+        float phase = PHASES.get(id);
+        phase = phase == NOT_BEATING ? 1 : phase + 1 / intervalFor(distance);
+        if (phase >= 1)
+        {
+            phase -= 1; // Keep the remainder, so the rhythm carries on when the interval changes
+            serverPlayer.connection.send(new ClientboundSoundPacket(UMSoundEvents.HEART_BEAT.getHolder().get(), SoundSource.PLAYERS, hunterX, hunterY, hunterZ, 100, 1.0F, player.level().getRandom().nextLong()));
+        }
+        PHASES.put(id, phase);
+    }
+
+    /**
+     * Stops the speed runner's heartbeat. The next time a hunter comes near, it starts over with a beat.
+     * @param player The {@linkplain Player player} that is a speed runner
+     */
+    public static void stop(Player player)
+    {
+        PHASES.remove(player.getId());
+    }
+
+    @SubscribeEvent
+    public static void onPlayerClone(PlayerEvent.Clone event)
+    {
+        PHASES.remove(event.getOriginal().getId());
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogOut(PlayerEvent.PlayerLoggedOutEvent event)
+    {
+        stop(event.getEntity());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event)
+    {
+        PHASES.clear();
+    }
+}
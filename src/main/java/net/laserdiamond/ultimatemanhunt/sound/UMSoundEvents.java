@@ -13,8 +13,6 @@ import net.minecraftforge.registries.DeferredRegister;
 import net.minecraftforge.registries.ForgeRegistries;
 import net.minecraftforge.registries.RegistryObject;
 
-import java.util.HashMap;
-import java.util.UUID;
 
 public class UMSoundEvents {
 
@@ -36,29 +34,13 @@ public class UMSoundEvents {
         SOUNDS.register(eventBus);
     }
 
-    public static void playDetectionSound(Player player)
-    {
-        if (player instanceof ServerPlayer serverPlayer)
-        {
-            SoundManager sm = SoundManager.INSTANCE;
-            if (sm.getSoundTime(player) == 0)
-            {
-                Level level = player.level();
-                serverPlayer.connection.send(new ClientboundSoundPacket(HUNTER_DETECTED.getHolder().get(), SoundSource.MUSIC, player.getX(), player.getY(), player.getZ(), 50, 1.0F, level.getRandom().nextLong()));
-            }
-            sm.increment(player);
-        }
-
-    }
-
+    /**
+     * Stops the {@linkplain #HUNTER_DETECTED hunter detected} sound for the player, if it is playing
+     * @param player The {@linkplain Player player}
+     */
     public static void stopDetectionSound(Player player)
     {
-        if (player instanceof ServerPlayer serverPlayer)
-        {
-            SoundManager sm = SoundManager.INSTANCE;
-            sm.reset(player);
-            serverPlayer.connection.send(new ClientboundStopSoundPacket(HUNTER_DETECTED.getId(), SoundSource.MUSIC));
-        }
+        UMDetectionSound.stop(player);
     }
 
     public static void playFlatlineSound(Player player)
@@ -78,49 +60,4 @@ public class UMSoundEvents {
         }
     }
 
-    private static class SoundManager
-    {
-        public static final SoundManager INSTANCE = new SoundManager();
-        private static final int SOUND_DURATION_TICKS = 825;
-        private final HashMap<UUID, Integer> timings;
-
-        private SoundManager()
-        {
-            this.timings = new HashMap<>();
-        }
-
-        public void increment(Player player)
-        {
-            if (!this.hasKey(player) || this.timings.get(player.getUUID()) >= SOUND_DURATION_TICKS)
-            {
-                this.timings.put(player.getUUID(), 0); // Reset time back if time is over or if player has no value
-                return;
-            }
-            Integer value = this.timings.get(player.getUUID());
-            if (value != null)
-            {
-                this.timings.put(player.getUUID(), value + 1);
-            }
-        }
-
-        public int getSoundTime(Player player)
-        {
-            if (!this.hasKey(player))
-            {
-                this.timings.put(player.getUUID(), 0);
-            }
-            return this.timings.get(player.getUUID());
-        }
-
-        public boolean hasKey(Player player)
-        {
-            return this.timings.get(player.getUUID()) != null && this.timings.containsKey(player.getUUID());
-        }
-
-        public void reset(Player player)
-        {
-            this.timings.put(player.getUUID(), 0);
-        }
-    }
-
 }
@@ -3,88 +3,51 @@ package net.laserdiamond.ultimatemanhunt.util.file;
 import com.google.gson.*;
 import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
 
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
-
 public abstract class JsonConfig {
 
+    /**
+     * Shared by every config. Gson instances are thread safe, so there is no need to create one for each write.
+     */
+    static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
     protected final String fileName;
 
-    protected final File file;
+    protected final JsonFileStore store;
 
     protected JsonObject jsonObject;
 
     public JsonConfig(String fileName)
     {
         this.fileName = fileName;
-        this.file = new File(this.modFilePath() + fileName + ".json");
+        this.store = JsonFileStore.of(this.folderName());
 
         this.createFile();
 
-        try (FileReader fileReader = new FileReader(this.file))
-        {
-            this.jsonObject = this.createJsonNotNull(new Gson().fromJson(fileReader, JsonObject.class));
-        } catch (IOException e)
-        {
-            UltimateManhunt.LOGGER.info("ERROR CREATING JSON OBJECT FOR FILE: " + fileName);
-            e.printStackTrace();
-        }
-    }
-
-    private String modFilePath()
-    {
-        return UltimateManhunt.MODID + File.separator + this.folderName() + File.separator;
+        this.jsonObject = this.createJsonNotNull(this.store.get(fileName)); // Read from the store's cache. The disk is not touched
     }
 
     protected abstract String folderName();
 
     public final boolean createFile()
     {
-        if (this.file.exists())
+        if (this.store.contains(this.fileName))
         {
             return false;
         }
-        this.file.getParentFile().mkdirs();
-
-        try (FileWriter fileWriter = new FileWriter(this.file))
-        {
-            if (this.file.createNewFile())
-            {
-                UltimateManhunt.LOGGER.info("Created File: " + this.fileName);
-                fileWriter.write(this.jsonObjectPrettyPrint(this.jsonObject));
-                return true;
-            } else
-            {
-                UltimateManhunt.LOGGER.info("Couldn't create file: " + this.fileName);
-                return false;
-            }
-        } catch (IOException e)
-        {
-            UltimateManhunt.LOGGER.info("ERROR CREATING FILE: " + this.fileName + "!");
-            e.printStackTrace();
-        }
-        return false;
+        this.store.put(this.fileName, this.createJsonNotNull(this.jsonObject));
+        UltimateManhunt.LOGGER.info("Created File: " + this.fileName);
+        return true;
     }
 
     public final boolean deleteFile()
     {
-        return this.file.delete();
+        return this.store.delete(this.fileName);
     }
 
     public boolean writeJsonToFile()
     {
-        try (FileWriter fileWriter = new FileWriter(this.file))
-        {
-            fileWriter.write(this.jsonObjectPrettyPrint(this.jsonObject));
-            return true;
-        } catch (IOException e)
-        {
-            UltimateManhunt.LOGGER.info("ERROR WRITING JSON OBJECT: " + this.jsonObject.toString() + " TO FILE " + this.file + "!");
-            e.printStackTrace();
-        }
-        return false;
+        this.store.put(this.fileName, this.jsonObject); // Written in the background
+        return true;
     }
 
     public boolean isJsonNotNull(String key)
@@ -130,11 +93,4 @@ public abstract class JsonConfig {
         }
         return jsonObject;
     }
-
-    protected final String jsonObjectPrettyPrint(JsonObject jsonObject)
-    {
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        JsonElement prettyJson = JsonParser.parseString(jsonObject.toString());
-        return gson.toJson(prettyJson);
-    }
 }
@@ -0,0 +1,294 @@
+package net.laserdiamond.ultimatemanhunt.util.file;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * In-memory cache of the JSON files in one of the mod's folders.
+ * <p>The folder is read once, and then kept up to date by a watcher thread, so files edited by hand are picked up without a restart.
+ * Lookups never touch the disk. Writes update the cache right away and are written to disk on a background thread,
+ * to a temporary file that is synced and then renamed over the old file, so a crash never leaves a file half written.</p>
+ * <p>Cached objects are never handed out directly. Callers always receive their own copy.</p>
+ */
+@Mod.EventBusSubscriber(modid = UltimateManhunt.MODID)
+public final class JsonFileStore {
+
+    private static final String EXTENSION = ".json";
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    private static final Map<String, JsonFileStore> STORES = new ConcurrentHashMap<>();
+
+    /**
+     * Every store writes on the same thread, so writes to a file always land in the order they were made
+     */
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable ->
+    {
+        Thread thread = new Thread(runnable, "Ultimate Manhunt File Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path directory;
+    private final Map<String, JsonObject> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Number of writes not yet on disk for each file. The watcher ignores changes to these files, as they are the store's own writes.
+     */
+    private final Map<String, Integer> pendingWrites = new ConcurrentHashMap<>();
+
+    private JsonFileStore(Path directory)
+    {
+        this.directory = directory;
+        this.loadAll();
+        this.startWatcher();
+    }
+
+    /**
+     * Gets the store of a folder, reading the folder the first time it is asked for
+     * @param folderName The name of the folder in the mod's directory
+     * @return The {@linkplain JsonFileStore store} of the folder
+     */
+    public static JsonFileStore of(String folderName)
+    {
+        return STORES.computeIfAbsent(folderName, name -> new JsonFileStore(Path.of(UltimateManhunt.MODID, name)));
+    }
+
+    /**
+     * @param fileName The name of the file, without the extension
+     * @return True if the file exists
+     */
+    public boolean contains(String fileName)
+    {
+        return this.cache.containsKey(fileName);
+    }
+
+    /**
+     * @param fileName The name of the file, without the extension
+     * @return A copy of the contents of the file, or null if it does not exist
+     */
+    public JsonObject get(String fileName)
+    {
+        JsonObject jsonObject = this.cache.get(fileName);
+        return jsonObject == null ? null : jsonObject.deepCopy();
+    }
+
+    /**
+     * Replaces the contents of the file. The file is written in the background.
+     * @param fileName The name of the file, without the extension
+     * @param jsonObject The new contents of the file
+     */
+    public void put(String fileName, JsonObject jsonObject)
+    {
+        JsonObject copy = jsonObject.deepCopy();
+        this.cache.put(fileName, copy);
+        String json = JsonConfig.GSON.toJson(copy);
+        this.submit(fileName, () -> this.writeAtomically(fileName, json));
+    }
+
+    /**
+     * Deletes the file. The file is deleted in the background.
+     * @param fileName The name of the file, without the extension
+     * @return True if the file existed
+     */
+    public boolean delete(String fileName)
+    {
+        if (this.cache.remove(fileName) == null)
+        {
+            return false;
+        }
+        this.submit(fileName, () -> Files.deleteIfExists(this.pathOf(fileName)));
+        return true;
+    }
+
+    private Path pathOf(String fileName)
+    {
+        return this.directory.resolve(fileName + EXTENSION);
+    }
+
+    private void submit(String fileName, IOTask task)
+    {
+        this.pendingWrites.merge(fileName, 1, Integer::sum);
+        WRITER.execute(() ->
+        {
+            try
+            {
+                task.run();
+            } catch (IOException e)
+            {
+                UltimateManhunt.LOGGER.error("Could not write file: " + this.pathOf(fileName), e);
+            } finally
+            {
+                this.pendingWrites.computeIfPresent(fileName, (key, count) -> count == 1 ? null : count - 1);
+            }
+        });
+    }
+
+    private void writeAtomically(String fileName, String json) throws IOException
+    {
+        Files.createDirectories(this.directory);
+        Path path = this.pathOf(fileName);
+        Path temp = this.directory.resolve(fileName + EXTENSION + TEMP_EXTENSION);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            ByteBuffer buffer = ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        try
+        {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e)
+        {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void loadAll()
+    {
+        if (!Files.isDirectory(this.directory))
+        {
+            return;
+        }
+        try (Stream<Path> files = Files.list(this.directory))
+        {
+            files.forEach(this::load);
+        } catch (IOException e)
+        {
+            UltimateManhunt.LOGGER.error("Could not read folder: " + this.directory, e);
+        }
+    }
+
+    /**
+     * Reads a file into the cache. Files that cannot be parsed keep their last good contents.
+     * @param path The path of the file
+     */
+    private void load(Path path)
+    {
+        String fileName = fileNameOf(path);
+        if (fileName == null || this.pendingWrites.containsKey(fileName))
+        {
+            return; // Not a JSON file, or the store is about to overwrite it anyway
+        }
+        if (!Files.exists(path))
+        {
+            this.cache.remove(fileName);
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+        {
+            JsonElement jsonElement = JsonParser.parseReader(reader);
+            if (jsonElement.isJsonNull())
+            {
+                return; // Empty. Usually an editor part way through saving, which raises another change once it is done
+            }
+            this.cache.put(fileName, jsonElement.getAsJsonObject());
+        } catch (IOException | JsonParseException | IllegalStateException e)
+        {
+            UltimateManhunt.LOGGER.warn("Could not read file: " + path + ". Keeping its last contents", e);
+        }
+    }
+
+    private static String fileNameOf(Path path)
+    {
+        String name = path.getFileName().toString();
+        if (!name.endsWith(EXTENSION))
+        {
+            return null;
+        }
+        return name.substring(0, name.length() - EXTENSION.length());
+    }
+
+    private void startWatcher()
+    {
+        WatchService watchService;
+        try
+        {
+            Files.createDirectories(this.directory);
+            watchService = this.directory.getFileSystem().newWatchService();
+            this.directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e)
+        {
+            UltimateManhunt.LOGGER.warn("Could not watch folder: " + this.directory + ". Files edited by hand will only be picked up after a restart", e);
+            return;
+        }
+        Thread watcher = new Thread(() -> this.watch(watchService), "Ultimate Manhunt File Watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watch(WatchService watchService)
+    {
+        while (true)
+        {
+            WatchKey key;
+            try
+            {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e)
+            {
+                return;
+            }
+            for (WatchEvent<?> event : key.pollEvents())
+            {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+                {
+                    this.loadAll(); // Missed some changes. Read everything again
+                    continue;
+                }
+                this.load(this.directory.resolve((Path) event.context()));
+            }
+            if (!key.reset())
+            {
+                return; // The folder was deleted
+            }
+        }
+    }
+
+    /**
+     * Waits for every pending write to reach the disk
+     */
+    public static void flush()
+    {
+        try
+        {
+            WRITER.submit(() -> {}).get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e)
+        {
+            UltimateManhunt.LOGGER.warn("Timed out writing files", e);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event)
+    {
+        flush(); // The writer thread does not keep the game open, so finish writing before it can close
+    }
+
+    @FunctionalInterface
+    private interface IOTask
+    {
+        void run() throws IOException;
+    }
+}
@@ -3,16 +3,17 @@ package net.laserdiamond.ultimatemanhunt.util.file;
 import net.laserdiamond.ultimatemanhunt.UMGame;
 import net.laserdiamond.ultimatemanhunt.UltimateManhunt;
 import net.laserdiamond.ultimatemanhunt.capability.UMPlayer;
-
-import java.io.File;
+import net.laserdiamond.ultimatemanhunt.game.UMGameSettings;
+import net.laserdiamond.ultimatemanhunt.game.UMHunterBuffs;
 
 public final class UMGameSettingProfileConfig extends JsonConfig
 {
 
+    private static final String FOLDER_NAME = "game_profiles";
+
     public static boolean doesGameProfileFileExist(String fileName)
     {
-        File file = new File(UltimateManhunt.MODID + File.separator + "game_profiles" + File.separator + fileName + ".json");
-        return file.exists();
+        return JsonFileStore.of(FOLDER_NAME).contains(fileName); // Cached. Does not touch the disk
     }
 
     public UMGameSettingProfileConfig(String fileName)
@@ -22,35 +23,62 @@ public final class UMGameSettingProfileConfig extends JsonConfig
 
     public boolean saveSettingsToFile()
     {
-        this.jsonObject.addProperty("hunter_grace_period_ticks", UMGame.getHunterGracePeriod());
-        this.jsonObject.addProperty("speed_runner_grace_period_ticks", UMGame.getSpeedRunnerGracePeriod());
-        this.jsonObject.addProperty("friendly_fire", UMGame.isFriendlyFire());
-        this.jsonObject.addProperty("hardcore", UMGame.isHardcore());
-        this.jsonObject.addProperty("wind_torch_enabled", UMGame.isWindTorchEnabled());
-        this.jsonObject.addProperty("buffed_hunters_on_final_death", UMPlayer.getIsBuffedHunterOnFinalDeath());
-        this.jsonObject.addProperty("speed_runner_max_lives", UMPlayer.getMaxLives());
-
-        this.jsonObject.addProperty("new_player_role", UMGame.getNewPlayerRole().toString());
-        this.jsonObject.addProperty("dead_speed_runner_role", UMGame.getDeadSpeedRunnerRole().toString());
+        UMGameSettings settings = UMGame.getSettings(); // Save one consistent set of settings
+        this.jsonObject.addProperty("hunter_grace_period_ticks", settings.hunterGracePeriodTicks());
+        this.jsonObject.addProperty("speed_runner_grace_period_ticks", settings.speedRunnerGracePeriodTicks());
+        this.jsonObject.addProperty("friendly_fire", settings.friendlyFire());
+        this.jsonObject.addProperty("hardcore", settings.hardcore());
+        this.jsonObject.addProperty("wind_torch_enabled", settings.windTorchEnabled());
+        this.jsonObject.addProperty("buffed_hunters_on_final_death", settings.buffedHunterOnFinalDeath());
+        this.jsonObject.addProperty("speed_runner_max_lives", settings.maxLives());
+
+        this.jsonObject.addProperty("new_player_role", settings.newPlayerRole().toString());
+        this.jsonObject.addProperty("dead_speed_runner_role", settings.deadSpeedRunnerRole().toString());
+        this.jsonObject.add("hunter_buffs", settings.hunterBuffs().toJson());
 
         return this.writeJsonToFile();
     }
 
+    /**
+     * Builds the {@linkplain UMGameSettings settings} of the profile, and puts them all into effect at once.
+     * Once a game has been started, the speed runner max lives and the hunter buffs of the game in progress are kept.
+     */
     public void applySettingsToGame()
     {
-        UMGame.setHunterGracePeriod(this.getHunterGracePeriodTicks());
-        UMGame.setSpeedRunnerGracePeriod(this.getSpeedRunnerGracePeriodTicks());
-        UMGame.setFriendlyFire(this.getIsFriendlyFireEnabled());
-        UMGame.setHardcore(this.getIsHardcore());
-        UMGame.setWindTorchEnabled(this.getIsWindTorchEnabled());
-        UMPlayer.setIsBuffedHunterOnFinalDeath(this.getIsBuffedHuntersOnFinalDeath());
-        UMPlayer.setMaxLives(this.getMaxSpeedRunnerLives());
-
-        UMGame.setNewPlayerRole(this.getNewPlayerRole());
-        if (!UMGame.setDeadSpeedRunnerRole(this.getDeadSpeedRunnerRole()))
+        UMGameSettings current = UMGame.getSettings();
+        UMGame.PlayerRole deadSpeedRunnerRole = this.getDeadSpeedRunnerRole();
+        if (deadSpeedRunnerRole == UMGame.PlayerRole.SPEED_RUNNER)
         {
             UltimateManhunt.LOGGER.info("Dead Speed Runners cannot become Speed Runners again. The role assigned to Dead Speed Runners will not change");
+            deadSpeedRunnerRole = current.deadSpeedRunnerRole();
+        }
+        int hunterGracePeriodTicks = this.getHunterGracePeriodTicks();
+        int speedRunnerGracePeriodTicks = this.getSpeedRunnerGracePeriodTicks();
+        int maxLives = current.maxLives();
+        boolean buffedHunterOnFinalDeath = current.buffedHunterOnFinalDeath();
+        UMHunterBuffs hunterBuffs = current.hunterBuffs();
+        if (UMGame.State.hasGameBeenStarted())
+        {
+            UltimateManhunt.LOGGER.info("A game has already been started. Speed Runner max lives and hunter buffs will not change");
+        } else
+        {
+            maxLives = this.getMaxSpeedRunnerLives();
+            buffedHunterOnFinalDeath = this.getIsBuffedHuntersOnFinalDeath();
+            hunterBuffs = this.getHunterBuffs();
         }
+
+        UMGame.publishSettings(new UMGameSettings(
+                hunterGracePeriodTicks > 0 ? hunterGracePeriodTicks : current.hunterGracePeriodTicks(),
+                speedRunnerGracePeriodTicks > 0 ? speedRunnerGracePeriodTicks : current.speedRunnerGracePeriodTicks(),
+                this.getIsFriendlyFireEnabled(),
+                this.getIsHardcore(),
+                this.getIsWindTorchEnabled(),
+                this.getNewPlayerRole(),
+                deadSpeedRunnerRole,
+                maxLives,
+                buffedHunterOnFinalDeath,
+                hunterBuffs
+        ));
     }
 
     public int getHunterGracePeriodTicks()
@@ -113,6 +141,16 @@ public final class UMGameSettingProfileConfig extends JsonConfig
         return UMPlayer.getIsBuffedHunterOnFinalDeath();
     }
 
+    public UMHunterBuffs getHunterBuffs()
+    {
+        if (this.isJsonNotNull("hunter_buffs") && this.jsonObject.get("hunter_buffs").isJsonArray())
+        {
+            return UMHunterBuffs.fromJson(this.jsonObject.getAsJsonArray("hunter_buffs"));
+        }
+        UltimateManhunt.LOGGER.info("Could not find \"hunter_buffs\" from file");
+        return UMGame.getSettings().hunterBuffs();
+    }
+
     public int getMaxSpeedRunnerLives()
     {
         if (this.isJsonNotNull("speed_runner_max_lives"))
@@ -159,6 +197,6 @@ public final class UMGameSettingProfileConfig extends JsonConfig
 
     @Override
     protected String folderName() {
-        return "game_profiles";
+        return FOLDER_NAME;
     }
 }